@@ -28,6 +28,7 @@ dependencies {
 	implementation("org.springframework.boot:spring-boot-starter-validation")
 	implementation("org.springframework.boot:spring-boot-starter-data-jpa")
 	implementation("org.springframework.boot:spring-boot-starter-web")
+	implementation("org.springframework.boot:spring-boot-starter-actuator")
 	implementation("org.springdoc:springdoc-openapi-starter-webmvc-ui:2.8.9")
 	implementation("org.apache.commons:commons-csv:1.10.0")
 	implementation ("org.springframework.boot:spring-boot-starter-mail")
@@ -44,4 +45,9 @@ dependencies {
 
 tasks.withType<Test> {
 	useJUnitPlatform()
+	// 부하 테스트(VirtualThreadLoadTest)는 -DloadTest=true 일 때만 실행
+	systemProperty("loadTest", System.getProperty("loadTest", "false"))
+	listOf("loadTest.concurrency", "loadTest.requests").forEach { key ->
+		System.getProperty(key)?.let { systemProperty(key, it) }
+	}
 }
\ No newline at end of file
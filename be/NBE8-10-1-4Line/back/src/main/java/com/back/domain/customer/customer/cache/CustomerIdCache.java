@@ -0,0 +1,47 @@
+package com.back.domain.customer.customer.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * email -> 고객 id 캐시 (LRU, 최대 maxSize 건)
+ * 커밋된 고객만 넣어야 한다. (롤백된 고객이 남으면 주문 저장 시 FK 오류)
+ */
+@Component
+public class CustomerIdCache {
+    private final Map<String, Long> cache;
+
+    public CustomerIdCache(@Value("${custom.customer.id-cache-size:10000}") int maxSize) {
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<String, Long>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    public Optional<Long> get(String email) {
+        return Optional.ofNullable(cache.get(email));
+    }
+
+    public void put(String email, Long id) {
+        cache.put(email, id);
+    }
+
+    public void evict(String email) {
+        cache.remove(email);
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+}
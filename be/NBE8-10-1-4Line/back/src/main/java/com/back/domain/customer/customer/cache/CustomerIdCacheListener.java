@@ -0,0 +1,34 @@
+package com.back.domain.customer.customer.cache;
+
+import com.back.domain.customer.customer.entity.Customer;
+import jakarta.persistence.PostRemove;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 고객이 삭제되면 CustomerIdCache 에서 뺀다 (Customer 의 엔티티 리스너, 빈 주입은 Spring 의 Hibernate BeanContainer)
+ * 삭제가 커밋되기 전에 다른 트랜잭션이 아직 남아 있는 행을 보고 다시 넣을 수 있으므로 커밋 후에 한 번 더 뺀다.
+ * JPQL / 네이티브 벌크 삭제는 리스너를 거치지 않으므로 evict 를 직접 호출해야 한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class CustomerIdCacheListener {
+    private final CustomerIdCache customerIdCache;
+
+    @PostRemove
+    void evict(Customer customer) {
+        String email = customer.getEmail();
+        customerIdCache.evict(email);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                customerIdCache.evict(email);
+            }
+        });
+    }
+}
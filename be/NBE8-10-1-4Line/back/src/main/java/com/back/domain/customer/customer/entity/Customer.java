@@ -1,8 +1,10 @@
 package com.back.domain.customer.customer.entity;
 
+import com.back.domain.customer.customer.cache.CustomerIdCacheListener;
 import com.back.global.jpa.entity.BaseEntity;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -13,6 +15,7 @@ import lombok.Setter;
 @Entity
 @NoArgsConstructor
 @Table(name = "customer")
+@EntityListeners(CustomerIdCacheListener.class)
 public class Customer extends BaseEntity {
 
     @Column(nullable = false, unique = true, length = 100)
@@ -21,4 +24,11 @@ public class Customer extends BaseEntity {
     public Customer(String email) {
         this.email = email;
     }
+
+    // 이미 저장된 고객을 조회 없이 주문에 연결할 때 사용 (주문의 FK 는 email 이라 id/email 만 있으면 된다)
+    public static Customer reference(Long id, String email) {
+        Customer customer = new Customer(email);
+        customer.setId(id);
+        return customer;
+    }
 }
\ No newline at end of file
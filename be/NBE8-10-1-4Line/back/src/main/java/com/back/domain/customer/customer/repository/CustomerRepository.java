@@ -1,12 +1,40 @@
 package com.back.domain.customer.customer.repository;
 
 import com.back.domain.customer.customer.entity.Customer;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
     Optional<Customer> findByEmail(String email);
     // 이메일 존재 여부 확인
     boolean existsByEmail(String email);
+
+    // 이메일이 이미 있으면 아무것도 바꾸지 않음 (MySQL, H2 MySQL 모드 공통)
+    // INSERT IGNORE 와 달리 중복 키 외의 오류(컬럼 길이 초과 등)는 그대로 예외가 난다
+    // 중복일 때 반환값이 드라이버 설정(useAffectedRows)에 따라 0 / 1 로 달라지므로 반환값으로 신규 여부를 판단하지 않는다
+    @Modifying
+    @Query(value = """
+        INSERT INTO customer (id, email, created_at, updated_at)
+        VALUES (:id, :email, :now, :now)
+        ON DUPLICATE KEY UPDATE id = id
+    """, nativeQuery = true)
+    void insertIfAbsent(@Param("id") Long id, @Param("email") String email, @Param("now") LocalDateTime now);
+
+    // 이메일 keyset 페이지 (요약 읽기 모델 재구성 / 검사용)
+    @Query("select c.email from Customer c where c.email > :after order by c.email")
+    List<String> findEmailsAfter(@Param("after") String after, Pageable pageable);
+
+    // 다른 트랜잭션이 방금 커밋한 행도 보이도록 잠금 읽기 (MySQL: FOR SHARE)
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select c from Customer c where c.email = :email")
+    Optional<Customer> findByEmailForShare(@Param("email") String email);
 }
\ No newline at end of file
@@ -1,20 +1,65 @@
 package com.back.domain.customer.customer.service;
 
+import com.back.domain.customer.customer.cache.CustomerIdCache;
 import com.back.domain.customer.customer.dto.CustomerEmailExistsResponse;
+import com.back.domain.customer.customer.entity.Customer;
 import com.back.domain.customer.customer.repository.CustomerRepository;
+import com.back.global.jpa.PooledIdAllocator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class CustomerService {
 
     private final CustomerRepository customerRepository;
+    private final CustomerIdCache customerIdCache;
+    private final PooledIdAllocator pooledIdAllocator;
 
     @Transactional(readOnly = true)
     public CustomerEmailExistsResponse existsByEmail(String email) {
         boolean exists = customerRepository.existsByEmail(email);
         return new CustomerEmailExistsResponse(exists);
     }
+
+    /**
+     * 이메일로 고객을 찾거나 만든다. (동시에 같은 이메일로 첫 주문이 들어와도 unique 제약 오류가 나지 않음)
+     * - 캐시 적중: 쿼리 없음
+     * - 캐시 미적중: INSERT ... ON DUPLICATE KEY UPDATE(기존 고객이면 변경 없음) + 잠금 조회
+     */
+    @Transactional
+    public Customer getOrCreate(String email) {
+        Optional<Long> cachedId = customerIdCache.get(email);
+        if (cachedId.isPresent()) {
+            return Customer.reference(cachedId.get(), email);
+        }
+
+        customerRepository.insertIfAbsent(pooledIdAllocator.nextId(Customer.class), email, LocalDateTime.now());
+
+        Customer customer = customerRepository.findByEmailForShare(email)
+                .orElseThrow(() -> new IllegalStateException("고객 정보를 저장하지 못했습니다: " + email));
+        cacheAfterCommit(email, customer.getId());
+        return customer;
+    }
+
+    // 롤백된 고객이 캐시에 남지 않도록 커밋 이후에만 캐시에 넣음
+    private void cacheAfterCommit(String email, Long id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            customerIdCache.put(email, id);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                customerIdCache.put(email, id);
+            }
+        });
+    }
 }
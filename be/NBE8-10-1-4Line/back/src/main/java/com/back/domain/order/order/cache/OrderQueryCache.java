@@ -0,0 +1,222 @@
+package com.back.domain.order.order.cache;
+
+import com.back.domain.order.order.dto.OrderProductDetailDto;
+import com.back.domain.order.order.dto.OrderProductSummaryDto;
+import com.back.domain.order.order.entity.OrderStatus;
+import com.back.global.singleFlight.SingleFlight;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * 주문 페이지 조회 캐시: 요약 바(email) / 상품별 주문 상세 기본 크기 첫 페이지(email, 상품 id)
+ * 영역마다 LRU(최대 maxSize 건) + TTL 로 밀어내고, 주문 생성 / 삭제 / 배송 정보 / 상태 변경과 배치 일괄 상태 변경이 해당 키만 지운다.
+ * 무효화는 커밋 이후에 적용한다. (롤백된 변경으로 지우지 않고, 커밋 전에 지우면 그 사이 조회가 옛 값을 다시 넣는다)
+ * 조회 중에 무효화가 한 번이라도 있었으면 읽은 값을 넣지 않는다. (커밋 전 값을 읽은 조회가 무효화 뒤에 넣는 경우 방지)
+ * 미적중 조회는 키마다 SingleFlight 로 합치고, 무효화 때 진행 중인 조회와 끊는다. (캐시를 꺼도 합치기는 한다)
+ * 지표: order.query.cache.gets(result=hit|miss), order.query.cache.evictions(cause=size|expired|invalidated), order.query.cache.size
+ */
+@Component
+public class OrderQueryCache {
+    private final boolean enabled;
+    private final Region<String, OrderProductSummaryDto> summaries;
+    private final Region<DetailKey, OrderProductDetailDto> details;
+
+    // 무효화 횟수 (조회 시작 시점과 다르면 읽은 값을 넣지 않음)
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public OrderQueryCache(
+            @Value("${custom.order.query-cache.enabled:true}") boolean enabled,
+            @Value("${custom.order.query-cache.max-size:10000}") int maxSize,
+            @Value("${custom.order.query-cache.ttl-seconds:30}") long ttlSeconds,
+            MeterRegistry meterRegistry
+    ) {
+        this.enabled = enabled;
+        long ttlNanos = Duration.ofSeconds(ttlSeconds).toNanos();
+        this.summaries = new Region<>("summary", maxSize, ttlNanos, meterRegistry);
+        this.details = new Region<>("detail", maxSize, ttlNanos, meterRegistry);
+    }
+
+    public List<OrderProductSummaryDto> getSummaries(String email, Supplier<List<OrderProductSummaryDto>> loader) {
+        return get(summaries, email, loader);
+    }
+
+    public List<OrderProductDetailDto> getDetails(String email, Long productId, Supplier<List<OrderProductDetailDto>> loader) {
+        return get(details, new DetailKey(email, productId), loader);
+    }
+
+    // 주문 생성 / 삭제: 요약 바와 주문에 든 상품의 상세
+    public void evictOrder(String email, Collection<Long> productIds) {
+        afterCommit(() -> {
+            summaries.evict(email);
+            productIds.forEach(productId -> details.evict(new DetailKey(email, productId)));
+        });
+    }
+
+    // 배송 정보 / 상태 변경: 요약 바는 모든 상태의 합계라 바뀌지 않으므로 상세만
+    public void evictDetails(String email, Collection<Long> productIds) {
+        afterCommit(() -> productIds.forEach(productId -> details.evict(new DetailKey(email, productId))));
+    }
+
+    // 요약 읽기 모델 재구성
+    public void evictSummary(String email) {
+        afterCommit(() -> summaries.evict(email));
+    }
+
+    public void evictAllSummaries() {
+        afterCommit(summaries::clear);
+    }
+
+    // 배치 선점: cutoff 이전 ORDERED 주문이 들어 있는 상세만 (선점 대상을 다시 조회하지 않고 캐시된 행으로 판단)
+    public void evictClaimable(LocalDateTime cutoff) {
+        afterCommit(() -> details.evictIf(rows -> rows.stream().anyMatch(row ->
+                row.orderStatus() == OrderStatus.ORDERED && row.orderTime().isBefore(cutoff))));
+    }
+
+    // 배치 청크 완료: 상태가 바뀐 주문이 들어 있는 상세만
+    public void evictDetailsOfOrders(Collection<Long> orderIds) {
+        Set<Long> ids = Set.copyOf(orderIds);
+        afterCommit(() -> details.evictIf(rows -> rows.stream().anyMatch(row -> ids.contains(row.orderId()))));
+    }
+
+    public void clear() {
+        summaries.clear();
+        details.clear();
+    }
+
+    private <K, V> List<V> get(Region<K, V> region, K key, Supplier<List<V>> loader) {
+        if (!enabled) return region.flight.run(key, loader);
+
+        List<V> cached = region.get(key);
+        if (cached != null) return cached;
+
+        // 같은 키의 동시 미적중은 leader 한 명만 조회하고 넣는다
+        return region.flight.run(key, () -> {
+            long version = invalidations.get();
+            List<V> loaded = List.copyOf(loader.get());
+            region.putIf(key, loaded, () -> invalidations.get() == version);
+            return loaded;
+        });
+    }
+
+    private void afterCommit(Runnable eviction) {
+        // 무효화 이후 호출이 그 전에 시작된 조회에 붙지 않도록 진행 중인 조회와도 끊는다
+        Runnable invalidate = () -> {
+            invalidations.incrementAndGet();
+            summaries.flight.forgetAll();
+            details.flight.forgetAll();
+            eviction.run();
+        };
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate.run();
+            }
+        });
+    }
+
+    private record DetailKey(String email, Long productId) {
+    }
+
+    private record Entry<V>(List<V> value, long expiresAt) {
+    }
+
+    private static class Region<K, V> {
+        private final SingleFlight<K, List<V>> flight;
+        private final long ttlNanos;
+        private final Map<K, Entry<V>> entries;
+        private final Counter hits;
+        private final Counter misses;
+        private final Counter sizeEvictions;
+        private final Counter expiredEvictions;
+        private final Counter invalidatedEvictions;
+
+        Region(String name, int maxSize, long ttlNanos, MeterRegistry meterRegistry) {
+            this.flight = new SingleFlight<>("order.query." + name, meterRegistry);
+            this.ttlNanos = ttlNanos;
+            this.hits = Counter.builder("order.query.cache.gets").tag("cache", name).tag("result", "hit").register(meterRegistry);
+            this.misses = Counter.builder("order.query.cache.gets").tag("cache", name).tag("result", "miss").register(meterRegistry);
+            this.sizeEvictions = evictions(meterRegistry, name, "size");
+            this.expiredEvictions = evictions(meterRegistry, name, "expired");
+            this.invalidatedEvictions = evictions(meterRegistry, name, "invalidated");
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                    if (size() <= maxSize) return false;
+                    sizeEvictions.increment();
+                    return true;
+                }
+            };
+            Gauge.builder("order.query.cache.size", this, Region::size)
+                    .tag("cache", name)
+                    .register(meterRegistry);
+        }
+
+        private static Counter evictions(MeterRegistry meterRegistry, String name, String cause) {
+            return Counter.builder("order.query.cache.evictions").tag("cache", name).tag("cause", cause).register(meterRegistry);
+        }
+
+        synchronized List<V> get(K key) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && entry.expiresAt() - System.nanoTime() <= 0) {
+                entries.remove(key);
+                expiredEvictions.increment();
+                entry = null;
+            }
+
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.value();
+        }
+
+        // 조건은 잠금 안에서 확인 (무효화와 넣기가 엇갈리지 않도록)
+        synchronized void putIf(K key, List<V> value, BooleanSupplier condition) {
+            if (!condition.getAsBoolean()) return;
+            entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+        }
+
+        synchronized void evict(K key) {
+            if (entries.remove(key) != null) invalidatedEvictions.increment();
+        }
+
+        synchronized void evictIf(Predicate<List<V>> predicate) {
+            Iterator<Entry<V>> it = entries.values().iterator();
+            while (it.hasNext()) {
+                if (predicate.test(it.next().value())) {
+                    it.remove();
+                    invalidatedEvictions.increment();
+                }
+            }
+        }
+
+        synchronized void clear() {
+            invalidatedEvictions.increment(entries.size());
+            entries.clear();
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.back.domain.order.order.controller;
+
+import com.back.domain.order.order.dto.CustomerProductSummaryCheckDto;
+import com.back.domain.order.order.service.CustomerProductSummaryService;
+import com.back.global.rsData.RsData;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/order-summaries")
+@RequiredArgsConstructor
+@Tag(name = "CustomerProductSummaryController", description = "API 관리자 주문 요약 읽기 모델 컨트롤러")
+public class CustomerProductSummaryController {
+    private final CustomerProductSummaryService customerProductSummaryService;
+
+    // 예: POST /api/admin/order-summaries/rebuild?email=test@test.com (email 이 없으면 전체, 한 트랜잭션이므로 한가할 때)
+    @PostMapping("/rebuild")
+    @Operation(summary = "주문 요약 읽기 모델 재구성", description = "주문 테이블에서 다시 집계해 덮어쓴다")
+    public RsData<Integer> rebuild(@RequestParam(required = false) String email) {
+        if (email != null) {
+            customerProductSummaryService.rebuild(email);
+            return new RsData<>("200-1", "%s 고객의 주문 요약을 재구성했습니다.".formatted(email), 1);
+        }
+
+        int customers = customerProductSummaryService.rebuildAll();
+        return new RsData<>("200-1", "고객 %d명의 주문 요약을 재구성했습니다.".formatted(customers), customers);
+    }
+
+    // 예: GET /api/admin/order-summaries/check?email=test@test.com (email 이 없으면 전체)
+    @GetMapping("/check")
+    @Operation(summary = "주문 요약 읽기 모델 정합성 검사", description = "주문 테이블 집계와 다른 (이메일, 상품) 행을 보고")
+    public RsData<CustomerProductSummaryCheckDto> check(@RequestParam(required = false) String email) {
+        CustomerProductSummaryCheckDto result = email != null
+                ? customerProductSummaryService.check(email)
+                : customerProductSummaryService.checkAll();
+
+        return new RsData<>(
+                "200-1",
+                result.mismatchCount() == 0 ? "주문 요약이 주문 내역과 일치합니다." : "불일치 %d건".formatted(result.mismatchCount()),
+                result
+        );
+    }
+}
@@ -2,14 +2,20 @@ package com.back.domain.order.order.controller;
 
 import com.back.domain.order.order.dto.*;
 import com.back.domain.order.order.entity.Order;
+import com.back.domain.order.order.service.OrderGroupCommitWriter;
+import com.back.domain.order.order.service.OrderImportService;
 import com.back.domain.order.order.service.OrderService;
+import com.back.domain.order.order.service.OrderSpoolService;
 import com.back.global.rsData.RsData;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -18,6 +24,9 @@ import java.util.List;
 @Tag(name = "OrderController", description = "API 주문 컨트롤러")
 public class OrderController {
     private final OrderService orderService;
+    private final OrderImportService orderImportService;
+    private final OrderGroupCommitWriter orderGroupCommitWriter;
+    private final OrderSpoolService orderSpoolService;
 
     @DeleteMapping("/{orderId}")
     @Operation(summary = "주문 취소")
@@ -29,17 +38,66 @@ public class OrderController {
     @PostMapping
     @Operation(summary = "주문 생성")
     public RsData<OrderDto> create(@Valid @RequestBody OrderCreateRequestDto req) {
-        Order order = orderService.create(
-                req.email(),
-                req.shippingAddress(),
-                req.shippingCode(),
-                req.items()
+        if (orderSpoolService.shouldSpool()) {
+            return spool(req);
+        }
+
+        try {
+            // 그룹 커밋 모드면 다른 주문들과 묶여 한 트랜잭션으로 커밋될 때까지 대기
+            if (orderGroupCommitWriter.isEnabled()) {
+                return new RsData<>(
+                        "201-1",
+                        "주문이 생성되었습니다.",
+                        orderGroupCommitWriter.submit(req)
+                );
+            }
+
+            Order order = orderService.create(
+                    req.email(),
+                    req.shippingAddress(),
+                    req.shippingCode(),
+                    req.items()
+            );
+
+            return new RsData<>(
+                    "201-1",
+                    "주문이 생성되었습니다.",
+                    new OrderDto(order)
+            );
+        } catch (RuntimeException e) {
+            if (!orderSpoolService.isEnabled() || !OrderSpoolService.isDatabaseUnavailable(e)) throw e;
+
+            orderSpoolService.markDatabaseDown();
+            return spool(req);
+        }
+    }
+
+    // DB 장애 중에는 로컬 spool 에 적재하고, 복구 후 OrderSpoolScheduler 가 재처리
+    private RsData<OrderDto> spool(OrderCreateRequestDto req) {
+        orderSpoolService.append(req);
+
+        return new RsData<>(
+                "202-1",
+                "주문이 접수되었습니다. 잠시 후 주문 내역에 반영됩니다.",
+                null
         );
+    }
+
+    // 예: POST /api/orders/import (Content-Type: application/x-ndjson 또는 text/csv)
+    // 본문 전체를 메모리에 올리지 않고 스트림으로 읽으면서 청크 단위로 커밋
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    @Operation(summary = "주문 일괄 등록", description = "NDJSON 또는 CSV(email,shippingAddress,shippingCode,items) 본문을 청크 단위로 저장")
+    public RsData<OrderImportResultDto> importOrders(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body
+    ) {
+        boolean csv = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType("text/csv"));
+        OrderImportResultDto result = orderImportService.importOrders(body, csv);
 
         return new RsData<>(
-                "201-1",
-                "주문이 생성되었습니다.",
-                new OrderDto(order)
+                "200-1",
+                "주문 %d건이 등록되었습니다. (거부 %d건)".formatted(result.importedCount(), result.rejectedCount()),
+                result
         );
     }
 
@@ -52,16 +110,30 @@ public class OrderController {
                 orderService.getProductSummaries(email));
     }
 
-    // ✅ 바 클릭 시 상세 리스트
-    // 예: GET /api/orders/summary/3?email=test@test.com
+    // ✅ 바 클릭 시 상세 리스트 (최근 주문부터 페이지 단위, 다음 페이지는 응답의 nextCursor 로)
+    // 예: GET /api/orders/summary/3?email=test@test.com&cursor=...&size=20
     @GetMapping("/summary/{productId}")
-    @Operation(summary = "주문 상세 조회")
-    public RsData<List<OrderProductDetailDto>> details(
+    @Operation(summary = "주문 상세 조회", description = "cursor 가 없으면 첫 페이지, size 가 없으면 기본 페이지 크기")
+    public RsData<OrderProductDetailPageDto> details(
             @RequestParam String email,
-            @PathVariable Long productId
+            @PathVariable Long productId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
     ) {
         return new RsData<>("200-1", "주문 상세(상품별) 조회 성공",
-                orderService.getProductDetails(email, productId));
+                orderService.getProductDetails(email, productId, cursor, size));
+    }
+
+    // 주문 하나 조회 (수정 화면용, 상세 페이지를 훑지 않고 id 로 바로)
+    // 예: GET /api/orders/3?email=test@test.com
+    @GetMapping("/{orderId}")
+    @Operation(summary = "주문 단건 조회", description = "email 이 주문 고객과 다르면 찾을 수 없는 주문으로 처리")
+    public RsData<OrderDto> getOrder(
+            @PathVariable Long orderId,
+            @RequestParam String email
+    ) {
+        return new RsData<>("200-1", "%d번 주문 조회 성공".formatted(orderId),
+                orderService.getOrder(orderId, email));
     }
 
     @PutMapping("/{orderId}")
@@ -0,0 +1,63 @@
+package com.back.domain.order.order.controller;
+
+import com.back.domain.order.order.dto.OrderReportJobDto;
+import com.back.domain.order.order.service.OrderReportService;
+import com.back.global.rsData.RsData;
+import com.back.global.web.RangeFileSender;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@RestController
+@RequestMapping("/api/admin/reports")
+@RequiredArgsConstructor
+@Tag(name = "OrderReportController", description = "API 관리자 리포트 컨트롤러")
+public class OrderReportController {
+    private final OrderReportService orderReportService;
+
+    // 일일 배치를 일정 밖에서 실행: 작업 id 를 바로 반환하고 내보내기는 백그라운드에서 진행
+    @PostMapping
+    @Operation(summary = "리포트 작업 시작", description = "지금까지 들어온 주문으로 일일 배치를 바로 실행")
+    public RsData<OrderReportJobDto> start() {
+        OrderReportJobDto job = orderReportService.start();
+
+        return new RsData<>(
+                "202-1",
+                "%d번 리포트 작업이 시작되었습니다.".formatted(job.id()),
+                job
+        );
+    }
+
+    // 예: GET /api/admin/reports/12
+    @GetMapping("/{jobId}")
+    @Operation(summary = "리포트 작업 진행 상황 조회", description = "처리 건수 / 초당 처리량, 완료되면 파일 목록")
+    public RsData<OrderReportJobDto> get(@PathVariable Long jobId) {
+        return new RsData<>("200-1", "리포트 작업 조회 성공", orderReportService.getJob(jobId));
+    }
+
+    // 예: GET /api/admin/reports/12/files/order_report_20260101_140000.csv (Range / If-None-Match 지원)
+    @GetMapping("/{jobId}/files/{fileName}")
+    @Operation(summary = "리포트 파일 다운로드")
+    public void download(
+            @PathVariable Long jobId,
+            @PathVariable String fileName,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        Path file = orderReportService.getReportFile(jobId, fileName);
+        RangeFileSender.send(request, response, file, contentType(fileName));
+    }
+
+    private static String contentType(String fileName) {
+        if (fileName.endsWith(".gz")) return "application/gzip";
+        if (fileName.endsWith(".csv")) return "text/csv; charset=UTF-8";
+        return MediaType.APPLICATION_OCTET_STREAM_VALUE;
+    }
+}
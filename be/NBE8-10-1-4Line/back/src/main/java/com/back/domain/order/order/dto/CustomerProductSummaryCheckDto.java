@@ -0,0 +1,22 @@
+package com.back.domain.order.order.dto;
+
+import java.util.List;
+
+public record CustomerProductSummaryCheckDto(
+        int checkedCustomers,
+        int mismatchCount,
+        List<Mismatch> mismatches // 최대 CustomerProductSummaryService.MAX_REPORTED_MISMATCHES 건까지만 담김
+) {
+    // 행이 없으면 수량 / 금액 / 주문 수는 0
+    public record Mismatch(
+            String email,
+            Long productId,
+            long expectedQuantity,
+            long actualQuantity,
+            long expectedAmount,
+            long actualAmount,
+            long expectedOrders,
+            long actualOrders
+    ) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.back.domain.order.order.dto;
+
+// 주문 테이블에서 집계한 (이메일, 상품) 합계: 요약 읽기 모델의 변화량 / 정합성 검사 기준값
+public record CustomerProductTotalsDto(
+        String email,
+        Long productId,
+        Long totalQuantity,
+        Long totalAmount,
+        Long orderCount
+) {
+}
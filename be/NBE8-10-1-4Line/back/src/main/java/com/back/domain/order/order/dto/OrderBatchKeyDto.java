@@ -0,0 +1,12 @@
+package com.back.domain.order.order.dto;
+
+import java.time.LocalDateTime;
+
+// 배치 keyset 페이지 키: (이메일, 주소, 주문시간, 주문 id)
+public record OrderBatchKeyDto(
+        Long orderId,
+        String email,
+        String shippingAddress,
+        LocalDateTime orderTime
+) {
+}
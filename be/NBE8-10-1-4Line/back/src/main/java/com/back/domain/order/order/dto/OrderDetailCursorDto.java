@@ -0,0 +1,30 @@
+package com.back.domain.order.order.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// 주문 상세 keyset 페이지 키: (주문시간, 주문 id), 클라이언트에는 내용을 알 수 없는 문자열로 내려간다
+public record OrderDetailCursorDto(
+        LocalDateTime orderTime,
+        Long orderId
+) {
+    public String encode() {
+        String raw = orderTime + "|" + orderId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static OrderDetailCursorDto decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            return new OrderDetailCursorDto(
+                    LocalDateTime.parse(raw.substring(0, sep)),
+                    Long.parseLong(raw.substring(sep + 1))
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다: " + cursor);
+        }
+    }
+}
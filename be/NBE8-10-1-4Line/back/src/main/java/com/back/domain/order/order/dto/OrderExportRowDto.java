@@ -0,0 +1,17 @@
+package com.back.domain.order.order.dto;
+
+import java.time.LocalDateTime;
+
+// 배치 CSV 한 행 = 주문 품목 1개 (CSV에 필요한 컬럼을 조인 쿼리 한 번으로 가져온다)
+public record OrderExportRowDto(
+        Long orderId,
+        String email,
+        String shippingAddress,
+        String shippingCode,
+        String productName,
+        Integer quantity,
+        Integer pricePerItem,
+        Long subTotal,        // quantity * pricePerItem
+        LocalDateTime orderTime
+) {
+}
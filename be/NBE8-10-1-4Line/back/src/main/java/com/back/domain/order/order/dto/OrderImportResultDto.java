@@ -0,0 +1,27 @@
+package com.back.domain.order.order.dto;
+
+import java.util.List;
+
+public record OrderImportResultDto(
+        long totalLines,      // 읽은 데이터 행 수 (CSV는 헤더 제외)
+        long importedCount,
+        long rejectedCount,
+        List<ChunkResult> chunks,
+        List<RejectedLine> rejectedLines // 최대 OrderImportService.MAX_REJECTED_LINES 건까지만 담김
+) {
+    public record ChunkResult(
+            int chunkNo,
+            long firstLine,
+            long lastLine,
+            int size,
+            boolean committed,
+            String msg
+    ) {
+    }
+
+    public record RejectedLine(
+            long lineNo,
+            String reason
+    ) {
+    }
+}
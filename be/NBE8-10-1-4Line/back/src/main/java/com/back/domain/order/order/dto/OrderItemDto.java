@@ -6,17 +6,17 @@ public record OrderItemDto(
         long productId,
         String productName,
         int quantity,
-        int pricePerItem, // Product의 price와 동일
+        int pricePerItem, // 주문 시점의 상품 가격
         long subTotal
 ) {
-    // 💡 OrderItem 엔티티를 받아 DTO를 생성하는 생성자
+    // 💡 OrderItem 엔티티를 받아 DTO를 생성하는 생성자 (상품 id 는 FK 값이라 상품을 로딩하지 않음)
     public OrderItemDto(OrderItem item) {
         this(
                 item.getProduct().getId(),
-                item.getProduct().getName(),
+                item.getProductName(),
                 item.getQuantity(),
-                item.getProduct().getPrice(), // Product 엔티티에서 가격 가져오기
-                (long) item.getProduct().getPrice() * item.getQuantity()
+                item.getUnitPrice(), // 품목에 저장된 주문 시점 가격
+                item.getSubTotal()
         );
     }
 }
\ No newline at end of file
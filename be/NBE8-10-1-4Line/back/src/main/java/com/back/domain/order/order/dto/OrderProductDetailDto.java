@@ -11,7 +11,7 @@ public record OrderProductDetailDto(
         String shippingAddress,
         String shippingCode,
         Integer quantity,     // 이 주문에서 해당 상품 수량
-        Integer pricePerItem, // 현재는 Product.price 기준
+        Integer pricePerItem, // 주문 시점의 상품 가격 (OrderItem.unitPrice)
         Long subTotal         // quantity * pricePerItem
 ) {
 }
@@ -0,0 +1,10 @@
+package com.back.domain.order.order.dto;
+
+import java.util.List;
+
+// 주문 상세 한 페이지 (nextCursor 가 null 이면 마지막 페이지)
+public record OrderProductDetailPageDto(
+        List<OrderProductDetailDto> items,
+        String nextCursor
+) {
+}
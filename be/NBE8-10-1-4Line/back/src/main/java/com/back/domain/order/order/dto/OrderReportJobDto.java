@@ -0,0 +1,69 @@
+package com.back.domain.order.order.dto;
+
+import com.back.domain.order.order.entity.OrderBatchJob;
+import com.back.domain.order.order.entity.OrderBatchJobFile;
+import com.back.domain.order.order.entity.OrderBatchJobMode;
+import com.back.domain.order.order.entity.OrderBatchJobStatus;
+import com.back.domain.order.order.util.OrderReport;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// 배치 작업 진행 상황 (처리 건수 / 초당 처리량은 시작부터 종료 또는 지금까지 기준)
+public record OrderReportJobDto(
+        long id,
+        OrderBatchJobStatus status,
+        OrderBatchJobMode mode,
+        LocalDateTime cutoff,
+        int claimedOrders,
+        int processedOrders,
+        long writtenRows,      // 리포트에 쓴 품목 행 수 (컬럼형 파일 제외)
+        int chunkCount,
+        double ordersPerSecond,
+        double rowsPerSecond,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt,
+        String failureMsg,
+        List<String> files     // 완료된 작업만 (다운로드 가능한 파일 이름)
+) {
+    public OrderReportJobDto(OrderBatchJob job, List<String> files) {
+        this(job, writtenRows(job), elapsedSeconds(job), files);
+    }
+
+    private OrderReportJobDto(OrderBatchJob job, long writtenRows, double elapsedSeconds, List<String> files) {
+        this(
+                job.getId(),
+                job.getStatus(),
+                job.getMode() == null ? OrderBatchJobMode.DAILY : job.getMode(),
+                job.getCutoff(),
+                job.getClaimedOrders(),
+                job.getProcessedOrders(),
+                writtenRows,
+                job.getChunkCount(),
+                perSecond(job.getProcessedOrders(), elapsedSeconds),
+                perSecond(writtenRows, elapsedSeconds),
+                job.getCreatedAt(),
+                job.getFinishedAt(),
+                job.getFailureMsg(),
+                files
+        );
+    }
+
+    private static long writtenRows(OrderBatchJob job) {
+        return job.getFiles().stream()
+                .filter(file -> !file.getPartitionName().equals(OrderReport.COLUMNAR_PARTITION))
+                .mapToLong(OrderBatchJobFile::getRowCount)
+                .sum();
+    }
+
+    private static double elapsedSeconds(OrderBatchJob job) {
+        LocalDateTime end = job.getFinishedAt() != null ? job.getFinishedAt() : LocalDateTime.now();
+        return Duration.between(job.getCreatedAt(), end).toMillis() / 1000.0;
+    }
+
+    private static double perSecond(long count, double seconds) {
+        if (seconds <= 0) return 0;
+        return Math.round(count / seconds * 10) / 10.0;
+    }
+}
@@ -0,0 +1,54 @@
+package com.back.domain.order.order.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * 고객(이메일) x 상품 주문 요약 읽기 모델
+ * 요약 바 조회가 주문 이력 전체를 조인 / 집계하지 않고 (email, product_id) 기본키로 이 테이블만 읽는다.
+ * 행은 CustomerProductSummaryService 가 주문 생성 / 삭제와 같은 트랜잭션에서 네이티브 UPDATE / INSERT IGNORE 로 갱신한다.
+ * (동시에 같은 행을 갱신해도 증감이 원자적으로 적용되도록 엔티티로 읽어 고치지 않는다)
+ */
+@Getter
+@Entity
+@NoArgsConstructor
+@IdClass(CustomerProductSummary.Key.class)
+@Table(name = "customer_product_summary")
+public class CustomerProductSummary {
+
+    @Id
+    @Column(length = 100)
+    private String email;
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    // 주문 시점 상품명 (OrderItem.productName), 요약 바가 product 를 조인하지 않도록
+    @Column(name = "product_name", length = 100)
+    private String productName;
+
+    @Column(name = "total_quantity", nullable = false)
+    private long totalQuantity;
+
+    @Column(name = "total_amount", nullable = false)
+    private long totalAmount;
+
+    // 이 상품이 들어 있는 주문 수
+    @Column(name = "order_count", nullable = false)
+    private int orderCount;
+
+    @Getter
+    @EqualsAndHashCode
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String email;
+        private Long productId;
+    }
+}
@@ -17,13 +17,25 @@ import static jakarta.persistence.FetchType.LAZY;
 @Setter
 @Entity
 @NoArgsConstructor
-@Table(name = "orders")
+@Table(
+        name = "orders",
+        indexes = {
+                @Index(name = "idx_orders_status_time", columnList = "order_status, order_time"),
+                // 배치 keyset 페이지: 작업 / 상태로 좁힌 뒤 정렬 키 순서 그대로 인덱스를 따라 읽는다
+                @Index(name = "idx_orders_batch_job_key", columnList = "batch_job_id, order_status, customer_email, shipping_address, order_time, id"),
+                @Index(name = "idx_orders_batch_job_time", columnList = "batch_job_id, order_status, order_time, id")
+        }
+)
 public class Order extends BaseEntity {
 
     @ManyToOne(fetch = LAZY, optional = false)
     @JoinColumn(name = "customer_email", referencedColumnName = "email")
     private Customer customer;
 
+    // 같은 customer_email 컬럼의 읽기 전용 매핑: 배치 keyset 정렬을 고객 조인 없이 주문 테이블에서 끝낸다
+    @Column(name = "customer_email", insertable = false, updatable = false)
+    private String customerEmail;
+
     @Column(name = "order_time", nullable = false)
     private LocalDateTime orderTime;
 
@@ -40,6 +52,10 @@ public class Order extends BaseEntity {
     @Column(name = "shipping_code", nullable = false)
     private String shippingCode;
 
+    // 이 주문을 선점한 일일 배치 작업 id (OrderBatchJob)
+    @Column(name = "batch_job_id")
+    private Long batchJobId;
+
     @OneToMany(mappedBy = "order", fetch = LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
     private List<OrderItem> orderItems = new ArrayList<>();
 
@@ -51,6 +67,7 @@ public class Order extends BaseEntity {
     public static Order create(Customer customer, String shippingAddress, String shippingCode, List<OrderItem> orderItems) {
         Order order = new Order();
         order.customer = customer;
+        order.customerEmail = customer.getEmail();
         order.orderTime = LocalDateTime.now();
         order.orderStatus = OrderStatus.ORDERED;
         order.shippingAddress = shippingAddress;
@@ -66,7 +83,7 @@ public class Order extends BaseEntity {
 
     private void calculateTotalAmount() {
         this.totalAmount = this.orderItems.stream()
-                .mapToInt(item -> item.getProduct().getPrice() * item.getQuantity())
+                .mapToInt(item -> item.getUnitPrice() * item.getQuantity())
                 .sum();
     }
 }
\ No newline at end of file
@@ -0,0 +1,175 @@
+package com.back.domain.order.order.entity;
+
+import com.back.domain.order.order.dto.OrderBatchKeyDto;
+import com.back.domain.order.order.util.OrderReportPart;
+import com.back.global.jpa.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static jakarta.persistence.FetchType.LAZY;
+
+/**
+ * 일일 배치 작업 1회 실행 기록 + 체크포인트
+ * 청크마다 주문 상태 변경과 같은 트랜잭션에서 마지막 처리 키 / 파일 위치를 저장하므로
+ * 도중에 프로세스가 죽어도 CSV 와 DB 가 어긋나지 않고 마지막 체크포인트부터 재개할 수 있다.
+ * 마이크로 배치 작업(MICRO)은 하루(기준 시간까지)에 하나이며, 주기마다 claimedUntil(워터마크)까지 새 주문을 선점해 이어 쓴다.
+ */
+@Getter
+@Entity
+@NoArgsConstructor
+@Table(name = "order_batch_job")
+public class OrderBatchJob extends BaseEntity {
+
+    @Column(nullable = false)
+    private LocalDateTime cutoff;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OrderBatchJobStatus status;
+
+    // null 이면 DAILY (모드 도입 전 작업)
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private OrderBatchJobMode mode;
+
+    // 워터마크: 이 시각 이전의 ORDERED 주문은 모두 이 작업이 선점했다 (마이크로 배치는 주기마다 앞으로 이동)
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+
+    // 리포트 파일 경로 (확장자 / 파티션 접미사 제외)
+    @Column(name = "report_base", nullable = false)
+    private String reportBase;
+
+    // 넘겨받은 노드에 이전 파일이 없어 새 파일로 이어 쓴 경우, 체크포인트까지의 행이 있는 이전 리포트 경로 (원래 노드의 출력 디렉터리)
+    @Column(name = "previous_report_base")
+    private String previousReportBase;
+
+    // 마지막으로 커밋된 주문 키 (keyset 재개 위치), 아직 처리한 청크가 없으면 null
+    @Column(name = "last_email")
+    private String lastEmail;
+
+    @Column(name = "last_shipping_address")
+    private String lastShippingAddress;
+
+    @Column(name = "last_order_time")
+    private LocalDateTime lastOrderTime;
+
+    @Column(name = "last_order_id")
+    private Long lastOrderId;
+
+    // 작업 시작 시 선점한 주문 수
+    @Column(name = "claimed_orders", nullable = false)
+    private int claimedOrders;
+
+    @Column(name = "processed_orders", nullable = false)
+    private int processedOrders;
+
+    @Column(name = "chunk_count", nullable = false)
+    private int chunkCount;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "failure_msg", length = 500)
+    private String failureMsg;
+
+    @OneToMany(mappedBy = "job", fetch = LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("partitionName, partNo")
+    private List<OrderBatchJobFile> files = new ArrayList<>();
+
+    public static OrderBatchJob create(LocalDateTime cutoff, String reportBase) {
+        OrderBatchJob job = new OrderBatchJob();
+        job.cutoff = cutoff;
+        job.reportBase = reportBase;
+        job.status = OrderBatchJobStatus.RUNNING;
+        job.mode = OrderBatchJobMode.DAILY;
+        job.claimedUntil = cutoff;
+        return job;
+    }
+
+    // 마이크로 배치 작업: 선점은 주기마다 claimMore 로
+    public static OrderBatchJob createMicro(LocalDateTime cutoff, String reportBase) {
+        OrderBatchJob job = create(cutoff, reportBase);
+        job.mode = OrderBatchJobMode.MICRO;
+        job.claimedUntil = null;
+        job.status = OrderBatchJobStatus.OPEN;
+        return job;
+    }
+
+    public boolean isMicro() {
+        return mode == OrderBatchJobMode.MICRO;
+    }
+
+    public void claimed(int claimedOrders) {
+        this.claimedOrders = claimedOrders;
+    }
+
+    // 마이크로 배치 주기 시작: 워터마크를 until 로 옮기고 그사이 선점한 주문 수를 더한다
+    public void claimedMore(int claimedOrders, LocalDateTime until) {
+        this.claimedOrders += claimedOrders;
+        if (claimedUntil == null || until.isAfter(claimedUntil)) this.claimedUntil = until;
+        this.status = OrderBatchJobStatus.RUNNING;
+    }
+
+    // 마이크로 배치 주기 끝: 마감 전까지 다음 주기를 기다린다
+    public void pause() {
+        if (this.status == OrderBatchJobStatus.COMPLETED) return;
+        this.status = OrderBatchJobStatus.OPEN;
+    }
+
+    public OrderBatchKeyDto resumeKey() {
+        if (lastOrderId == null) return null;
+        return new OrderBatchKeyDto(lastOrderId, lastEmail, lastShippingAddress, lastOrderTime);
+    }
+
+    public List<OrderReportPart> reportParts() {
+        return files.stream().map(OrderBatchJobFile::toReportPart).toList();
+    }
+
+    // 마지막 키 / 처리 수는 그대로 두고 파일 기록 위치만 비운다: 남은 주문을 새 리포트 파일에 쓴다
+    public void restartReport(String reportBase) {
+        this.previousReportBase = this.reportBase;
+        this.reportBase = reportBase;
+        this.files.clear();
+    }
+
+    // 청크 하나를 커밋할 때 호출: 마지막 키와 파일별 기록 위치를 갱신
+    public void checkpoint(OrderBatchKeyDto lastKey, int orderCount, List<OrderReportPart> parts) {
+        this.lastEmail = lastKey.email();
+        this.lastShippingAddress = lastKey.shippingAddress();
+        this.lastOrderTime = lastKey.orderTime();
+        this.lastOrderId = lastKey.orderId();
+        this.processedOrders += orderCount;
+        this.chunkCount++;
+        this.status = OrderBatchJobStatus.RUNNING;
+
+        for (OrderReportPart part : parts) {
+            files.stream()
+                    .filter(file -> file.getPartitionName().equals(part.partition()) && file.getPartNo() == part.partNo())
+                    .findFirst()
+                    .ifPresentOrElse(
+                            file -> file.update(part),
+                            () -> files.add(OrderBatchJobFile.create(this, part))
+                    );
+        }
+    }
+
+    public void complete() {
+        this.status = OrderBatchJobStatus.COMPLETED;
+        this.finishedAt = LocalDateTime.now();
+        this.failureMsg = null;
+    }
+
+    public void fail(String msg) {
+        // lease 를 잃은 노드가 뒤늦게 실패 처리해도 넘겨받은 노드가 끝낸 작업은 그대로 둔다
+        if (this.status == OrderBatchJobStatus.COMPLETED) return;
+
+        this.status = OrderBatchJobStatus.FAILED;
+        this.failureMsg = msg != null && msg.length() > 500 ? msg.substring(0, 500) : msg;
+    }
+}
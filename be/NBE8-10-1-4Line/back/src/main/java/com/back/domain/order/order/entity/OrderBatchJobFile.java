@@ -0,0 +1,59 @@
+package com.back.domain.order.order.entity;
+
+import com.back.domain.order.order.util.OrderReportPart;
+import com.back.global.jpa.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import static jakarta.persistence.FetchType.LAZY;
+
+// 배치 작업의 리포트 파일(파티션 x 회전 번호)별 체크포인트: 재개 시 마지막 파일을 이 위치까지 자르고 이어서 쓴다
+@Getter
+@Entity
+@NoArgsConstructor
+@Table(
+        name = "order_batch_job_file",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"job_id", "partition_name", "part_no"})
+)
+public class OrderBatchJobFile extends BaseEntity {
+
+    @ManyToOne(fetch = LAZY, optional = false)
+    @JoinColumn(name = "job_id")
+    private OrderBatchJob job;
+
+    @Column(name = "partition_name", nullable = false, length = 50)
+    private String partitionName;
+
+    @Column(name = "part_no", nullable = false)
+    private int partNo;
+
+    // fsync 까지 끝난 파일 크기
+    @Column(name = "byte_offset", nullable = false)
+    private long byteOffset;
+
+    @Column(name = "row_count", nullable = false)
+    private long rowCount;
+
+    @Column(name = "order_count", nullable = false)
+    private int orderCount;
+
+    static OrderBatchJobFile create(OrderBatchJob job, OrderReportPart part) {
+        OrderBatchJobFile file = new OrderBatchJobFile();
+        file.job = job;
+        file.partitionName = part.partition();
+        file.partNo = part.partNo();
+        file.update(part);
+        return file;
+    }
+
+    void update(OrderReportPart part) {
+        this.byteOffset = part.bytes();
+        this.rowCount = part.rows();
+        this.orderCount = part.orders();
+    }
+
+    OrderReportPart toReportPart() {
+        return new OrderReportPart(partitionName, partNo, byteOffset, rowCount, orderCount);
+    }
+}
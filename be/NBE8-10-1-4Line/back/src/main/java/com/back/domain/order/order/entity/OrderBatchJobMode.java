@@ -0,0 +1,6 @@
+package com.back.domain.order.order.entity;
+
+public enum OrderBatchJobMode {
+    DAILY,  // 14:00 에 기준 시간 이전 주문을 한 번에 선점해 (이메일, 주소, 주문시간, id) 순으로 내보냄
+    MICRO   // N 분마다 새 주문을 선점해 (주문시간, id) 순으로 이어 쓰고, 14:00 에 마감
+}
@@ -0,0 +1,8 @@
+package com.back.domain.order.order.entity;
+
+public enum OrderBatchJobStatus {
+    RUNNING,    // 진행 중 (프로세스가 죽으면 이 상태로 남아 다음 실행 때 이어서 처리)
+    OPEN,       // 마이크로 배치: 이번 주기분을 내보내고 다음 주기를 기다리는 중 (14:00 마감 때 완료)
+    FAILED,     // 실패 (다음 실행 때 마지막 체크포인트부터 재개)
+    COMPLETED   // 완료
+}
@@ -25,13 +25,34 @@ public class OrderItem extends BaseEntity {
     @Column(nullable = false)
     private int quantity;
 
+    // 주문 시점의 상품 가격 / 이름 (이후 가격이 바뀌어도 주문 금액이 그대로)
+    // 컬럼 추가 전 행은 기동 시 OrderItemSnapshotMigration 이 채운 뒤 NOT NULL 로 바꾼다
+    @Column(name = "unit_price", nullable = false)
+    private int unitPrice;
+
+    @Column(name = "product_name", nullable = false, length = 100)
+    private String productName;
+
     public static OrderItem create(Product product, int quantity) {
         OrderItem item = new OrderItem();
         item.product = product;
         item.quantity = quantity;
+        item.snapshotProduct();
         return item;
     }
 
+    public long getSubTotal() {
+        return 1L * unitPrice * quantity;
+    }
+
+    // create 를 거치지 않고 setProduct 로 만든 품목도 저장 시점의 상품 값으로 채운다 (상품명이 비어 있으면 스냅숏 전)
+    @PrePersist
+    void snapshotProduct() {
+        if (product == null || productName != null) return;
+        unitPrice = product.getPrice();
+        productName = product.getName();
+    }
+
     protected void assignOrder(Order order) {
         this.order = order;
     }
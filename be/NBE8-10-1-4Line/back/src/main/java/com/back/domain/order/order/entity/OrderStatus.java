@@ -2,6 +2,7 @@ package com.back.domain.order.order.entity;
 
 public enum OrderStatus {
     ORDERED,    // 주문 완료
+    PROCESSING, // 일일 배치가 선점해 처리 중 (배송 정보 수정 / 취소 불가)
     PAID,       // 결제 완료
     PREPARING,  // 배송 준비 중
     SHIPPING,   // 배송 중
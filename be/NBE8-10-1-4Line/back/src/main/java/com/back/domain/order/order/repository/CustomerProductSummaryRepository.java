@@ -0,0 +1,104 @@
+package com.back.domain.order.order.repository;
+
+import com.back.domain.order.order.dto.OrderProductSummaryDto;
+import com.back.domain.order.order.entity.CustomerProductSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface CustomerProductSummaryRepository extends JpaRepository<CustomerProductSummary, CustomerProductSummary.Key> {
+
+    // 요약 바: 기본키 (email, product_id) 범위 조회만 (상품명도 행에 있으므로 product 를 조인하지 않음)
+    @Query("""
+        select new com.back.domain.order.order.dto.OrderProductSummaryDto(
+            s.productId,
+            s.productName,
+            s.totalQuantity,
+            s.totalAmount
+        )
+        from CustomerProductSummary s
+        where s.email = :email
+    """)
+    List<OrderProductSummaryDto> findSummaries(@Param("email") String email);
+
+    List<CustomerProductSummary> findAllByEmailIn(List<String> emails);
+
+    // 스냅숏 도입 전에 만들어져 상품명이 없는 행이 있는지 (있으면 재구성)
+    boolean existsByProductNameIsNull();
+
+    // 변화량을 더한다 (행이 없으면 0 반환 -> insertIgnore), 상품명은 새 주문의 이름으로
+    @Modifying
+    @Query(value = """
+        UPDATE customer_product_summary
+        SET total_quantity = total_quantity + :quantity,
+            total_amount = total_amount + :amount,
+            order_count = order_count + :orders,
+            product_name = :productName
+        WHERE email = :email AND product_id = :productId
+    """, nativeQuery = true)
+    int addTotals(
+            @Param("email") String email,
+            @Param("productId") Long productId,
+            @Param("productName") String productName,
+            @Param("quantity") long quantity,
+            @Param("amount") long amount,
+            @Param("orders") long orders
+    );
+
+    // 다른 트랜잭션이 같은 행을 먼저 만들었으면 무시됨 (MySQL, H2 MySQL 모드 공통) -> 저장된 행 수 반환
+    @Modifying
+    @Query(value = """
+        INSERT IGNORE INTO customer_product_summary (email, product_id, product_name, total_quantity, total_amount, order_count)
+        VALUES (:email, :productId, :productName, :quantity, :amount, :orders)
+    """, nativeQuery = true)
+    int insertIgnore(
+            @Param("email") String email,
+            @Param("productId") Long productId,
+            @Param("productName") String productName,
+            @Param("quantity") long quantity,
+            @Param("amount") long amount,
+            @Param("orders") long orders
+    );
+
+    // 주문 삭제: 변화량을 뺀다 (상품명은 유지)
+    @Modifying
+    @Query(value = """
+        UPDATE customer_product_summary
+        SET total_quantity = total_quantity - :quantity,
+            total_amount = total_amount - :amount,
+            order_count = order_count - :orders
+        WHERE email = :email AND product_id = :productId
+    """, nativeQuery = true)
+    int subtractTotals(
+            @Param("email") String email,
+            @Param("productId") Long productId,
+            @Param("quantity") long quantity,
+            @Param("amount") long amount,
+            @Param("orders") long orders
+    );
+
+    // 주문 삭제로 더 이상 주문이 없는 상품 행 정리
+    @Modifying
+    @Query(value = "DELETE FROM customer_product_summary WHERE email = :email AND order_count <= 0", nativeQuery = true)
+    int deleteEmpty(@Param("email") String email);
+
+    @Modifying
+    @Query("delete from CustomerProductSummary s where s.email in :emails")
+    int deleteByEmails(@Param("emails") List<String> emails);
+
+    // 재구성: 주문 테이블에서 한 번에 집계해 넣는다 (금액 / 상품명은 품목의 주문 시점 값)
+    @Modifying
+    @Query(value = """
+        INSERT INTO customer_product_summary (email, product_id, product_name, total_quantity, total_amount, order_count)
+        SELECT o.customer_email, oi.product_id, MAX(oi.product_name), SUM(oi.quantity),
+               SUM(oi.quantity * oi.unit_price), COUNT(DISTINCT o.id)
+        FROM order_item oi
+        JOIN orders o ON o.id = oi.order_id
+        WHERE o.customer_email IN (:emails)
+        GROUP BY o.customer_email, oi.product_id
+    """, nativeQuery = true)
+    int insertFromOrders(@Param("emails") List<String> emails);
+}
@@ -0,0 +1,31 @@
+package com.back.domain.order.order.repository;
+
+import com.back.domain.order.order.entity.OrderBatchJob;
+import com.back.domain.order.order.entity.OrderBatchJobMode;
+import com.back.domain.order.order.entity.OrderBatchJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface OrderBatchJobRepository extends JpaRepository<OrderBatchJob, Long> {
+
+    Optional<OrderBatchJob> findFirstByStatusOrderByIdDesc(OrderBatchJobStatus status);
+
+    boolean existsByStatus(OrderBatchJobStatus status);
+
+    // 재시도 대상 실패 작업: 실패한 지 일정 시간이 지난 작업 (오래된 순)
+    Optional<OrderBatchJob> findFirstByStatusAndUpdatedAtBeforeOrderByIdAsc(
+            OrderBatchJobStatus status, LocalDateTime updatedBefore);
+
+    boolean existsByStatusAndUpdatedAtBefore(OrderBatchJobStatus status, LocalDateTime updatedBefore);
+
+    // 기준 시간(마감 시각)별 마이크로 배치 작업은 하나
+    Optional<OrderBatchJob> findFirstByModeAndCutoffAndStatusNot(
+            OrderBatchJobMode mode, LocalDateTime cutoff, OrderBatchJobStatus status);
+
+    // 마감 대상: 기준 시간이 지난 끝나지 않은 작업 (오래된 순)
+    List<OrderBatchJob> findAllByStatusNotAndCutoffLessThanEqualOrderByIdAsc(
+            OrderBatchJobStatus status, LocalDateTime cutoff);
+}
@@ -1,34 +1,54 @@
 package com.back.domain.order.order.repository;
 
+import com.back.domain.order.order.dto.CustomerProductTotalsDto;
+import com.back.domain.order.order.dto.OrderExportRowDto;
 import com.back.domain.order.order.dto.OrderProductDetailDto;
-import com.back.domain.order.order.dto.OrderProductSummaryDto;
 import com.back.domain.order.order.entity.OrderItem;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+// 금액 / 상품명은 품목에 저장된 주문 시점 값만 읽는다 (상품 테이블은 조인하지 않음)
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
 
-    // 상품별 요약 바: (상품id, 이름, 총수량, 총금액)
+    // 요약 읽기 모델 정합성 검사 기준값: 고객 여러 명의 (이메일, 상품) 합계
     @Query("""
-        select new com.back.domain.order.order.dto.OrderProductSummaryDto(
-            p.id,
-            p.name,
+        select new com.back.domain.order.order.dto.CustomerProductTotalsDto(
+            o.customer.email,
+            oi.product.id,
             sum(oi.quantity),
-            sum(1L * oi.quantity * p.price)
+            sum(1L * oi.quantity * oi.unitPrice),
+            count(distinct o.id)
         )
         from OrderItem oi
-        join oi.product p
         join oi.order o
-        join o.customer c
-        where c.email = :email
-        group by p.id, p.name
+        where o.customer.email in :emails
+        group by o.customer.email, oi.product.id
     """)
-    List<OrderProductSummaryDto> findProductSummaries(@Param("email") String email);
+    List<CustomerProductTotalsDto> findProductTotals(@Param("emails") List<String> emails);
 
-    // 바 클릭 상세: (주문정보 + 해당 상품 수량/소계)
+    // 주문 하나의 상품별 합계 (주문 삭제 시 요약 읽기 모델에서 뺄 값)
+    @Query("""
+        select new com.back.domain.order.order.dto.CustomerProductTotalsDto(
+            o.customer.email,
+            oi.product.id,
+            sum(oi.quantity),
+            sum(1L * oi.quantity * oi.unitPrice),
+            count(distinct o.id)
+        )
+        from OrderItem oi
+        join oi.order o
+        where o.id = :orderId
+        group by o.customer.email, oi.product.id
+    """)
+    List<CustomerProductTotalsDto> findProductTotalsByOrderId(@Param("orderId") Long orderId);
+
+    // 바 클릭 상세 keyset 페이지: (주문정보 + 해당 상품 수량/소계), 최근 주문부터, 첫 페이지
+    // 한 주문에 같은 상품 품목이 여러 개면 합쳐서 주문당 한 행 (페이지 키 (주문시간, id) 가 행마다 유일하도록)
     @Query("""
         select new com.back.domain.order.order.dto.OrderProductDetailDto(
             o.id,
@@ -36,20 +56,71 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
             o.orderStatus,
             o.shippingAddress,
             o.shippingCode,
-            oi.quantity,
-            p.price,
-            (1L * oi.quantity * p.price)
+            cast(sum(oi.quantity) as Integer),
+            oi.unitPrice,
+            sum(1L * oi.quantity * oi.unitPrice)
+        )
+        from OrderItem oi
+        join oi.order o
+        where o.customer.email = :email
+          and oi.product.id = :productId
+        group by o.id, o.orderTime, o.orderStatus, o.shippingAddress, o.shippingCode, oi.unitPrice
+        order by o.orderTime desc, o.id desc
+    """)
+    List<OrderProductDetailDto> findProductDetailsFirstPage(
+            @Param("email") String email,
+            @Param("productId") Long productId,
+            Pageable pageable
+    );
+
+    // 바 클릭 상세 keyset 페이지: 이전 페이지 마지막 주문 다음부터
+    @Query("""
+        select new com.back.domain.order.order.dto.OrderProductDetailDto(
+            o.id,
+            o.orderTime,
+            o.orderStatus,
+            o.shippingAddress,
+            o.shippingCode,
+            cast(sum(oi.quantity) as Integer),
+            oi.unitPrice,
+            sum(1L * oi.quantity * oi.unitPrice)
         )
         from OrderItem oi
-        join oi.product p
         join oi.order o
-        join o.customer c
-        where c.email = :email
-          and p.id = :productId
-        order by o.orderTime desc
+        where o.customer.email = :email
+          and oi.product.id = :productId
+          and (
+                o.orderTime < :orderTime
+             or (o.orderTime = :orderTime and o.id < :id)
+          )
+        group by o.id, o.orderTime, o.orderStatus, o.shippingAddress, o.shippingCode, oi.unitPrice
+        order by o.orderTime desc, o.id desc
     """)
-    List<OrderProductDetailDto> findProductDetails(
+    List<OrderProductDetailDto> findProductDetailsAfter(
             @Param("email") String email,
-            @Param("productId") Long productId
+            @Param("productId") Long productId,
+            @Param("orderTime") LocalDateTime orderTime,
+            @Param("id") Long id,
+            Pageable pageable
     );
+
+    // 배치 CSV 행: 주문 품목 1개당 1행, 주문 / 품목만 조인 (이메일은 주문의 FK, 상품명 / 가격은 품목의 스냅숏)
+    @Query("""
+        select new com.back.domain.order.order.dto.OrderExportRowDto(
+            o.id,
+            o.customer.email,
+            o.shippingAddress,
+            o.shippingCode,
+            oi.productName,
+            oi.quantity,
+            oi.unitPrice,
+            (1L * oi.quantity * oi.unitPrice),
+            o.orderTime
+        )
+        from OrderItem oi
+        join oi.order o
+        where o.id in :orderIds
+        order by o.customer.email, o.shippingAddress, o.orderTime, o.id, oi.id
+    """)
+    List<OrderExportRowDto> findExportRows(@Param("orderIds") List<Long> orderIds);
 }
@@ -1,8 +1,12 @@
 package com.back.domain.order.order.repository;
 
+import com.back.domain.order.order.dto.OrderBatchKeyDto;
 import com.back.domain.order.order.entity.Order;
 import com.back.domain.order.order.entity.OrderStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -14,9 +18,116 @@ import java.util.Optional;
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
     Optional<Order> findTopByOrderByIdDesc();
-    List<Order> findAllByOrderStatusAndOrderTimeBefore(OrderStatus orderStatus, LocalDateTime time);
 
-    @Modifying(clearAutomatically = true)
-    @Query("UPDATE Order o SET o.orderStatus = :status WHERE o.id IN :ids")
-    void updateStatusByIds(@Param("ids") List<Long> ids, @Param("status") OrderStatus status);
-}
\ No newline at end of file
+    boolean existsByOrderStatusAndOrderTimeBefore(OrderStatus orderStatus, LocalDateTime time);
+
+    // 온라인 수정 / 취소용 잠금 읽기: 배치 선점(claimForBatch)과 같은 행을 동시에 바꾸지 않도록 한다
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o from Order o where o.id = :id")
+    Optional<Order> findByIdForUpdate(@Param("id") Long id);
+
+    // 배치 선점: 기준 시간 이전 ORDERED 주문을 조건부 UPDATE 한 번으로 PROCESSING + 작업 id 로 바꾼다
+    // 이후 배치는 선점한 행만 읽고 쓰므로, 조회와 상태 변경 사이에 온라인 수정이 끼어들 수 없다
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        update Order o
+        set o.orderStatus = com.back.domain.order.order.entity.OrderStatus.PROCESSING,
+            o.batchJobId = :jobId
+        where o.orderStatus = com.back.domain.order.order.entity.OrderStatus.ORDERED
+          and o.orderTime < :cutoff
+    """)
+    int claimForBatch(@Param("jobId") Long jobId, @Param("cutoff") LocalDateTime cutoff);
+
+    // 배치 keyset 페이지: 작업이 선점한 주문을 (이메일, 주소, 주문시간, id) 순으로, 첫 페이지
+    // 정렬 키가 모두 주문 컬럼이라 idx_orders_batch_job_key 순서로 읽고 filesort 없이 limit 에서 멈춘다
+    @Query("""
+        select new com.back.domain.order.order.dto.OrderBatchKeyDto(
+            o.id,
+            o.customerEmail,
+            o.shippingAddress,
+            o.orderTime
+        )
+        from Order o
+        where o.batchJobId = :jobId
+          and o.orderStatus = com.back.domain.order.order.entity.OrderStatus.PROCESSING
+        order by o.customerEmail, o.shippingAddress, o.orderTime, o.id
+    """)
+    List<OrderBatchKeyDto> findClaimedKeysFirstPage(
+            @Param("jobId") Long jobId,
+            Pageable pageable
+    );
+
+    // 배치 keyset 페이지: 이전 페이지 마지막 주문 다음부터 (행 값 비교로 인덱스 범위 탐색)
+    @Query("""
+        select new com.back.domain.order.order.dto.OrderBatchKeyDto(
+            o.id,
+            o.customerEmail,
+            o.shippingAddress,
+            o.orderTime
+        )
+        from Order o
+        where o.batchJobId = :jobId
+          and o.orderStatus = com.back.domain.order.order.entity.OrderStatus.PROCESSING
+          and (o.customerEmail, o.shippingAddress, o.orderTime, o.id) > (:email, :address, :orderTime, :id)
+        order by o.customerEmail, o.shippingAddress, o.orderTime, o.id
+    """)
+    List<OrderBatchKeyDto> findClaimedKeysAfter(
+            @Param("jobId") Long jobId,
+            @Param("email") String email,
+            @Param("address") String address,
+            @Param("orderTime") LocalDateTime orderTime,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+
+    // 마이크로 배치 keyset 페이지: 작업이 선점한 주문을 (주문시간, id) 순으로, 첫 페이지
+    @Query("""
+        select new com.back.domain.order.order.dto.OrderBatchKeyDto(
+            o.id,
+            o.customerEmail,
+            o.shippingAddress,
+            o.orderTime
+        )
+        from Order o
+        where o.batchJobId = :jobId
+          and o.orderStatus = com.back.domain.order.order.entity.OrderStatus.PROCESSING
+        order by o.orderTime, o.id
+    """)
+    List<OrderBatchKeyDto> findClaimedKeysByTimeFirstPage(
+            @Param("jobId") Long jobId,
+            Pageable pageable
+    );
+
+    // 마이크로 배치 keyset 페이지: 이전 페이지 마지막 주문 다음부터
+    @Query("""
+        select new com.back.domain.order.order.dto.OrderBatchKeyDto(
+            o.id,
+            o.customerEmail,
+            o.shippingAddress,
+            o.orderTime
+        )
+        from Order o
+        where o.batchJobId = :jobId
+          and o.orderStatus = com.back.domain.order.order.entity.OrderStatus.PROCESSING
+          and (o.orderTime, o.id) > (:orderTime, :id)
+        order by o.orderTime, o.id
+    """)
+    List<OrderBatchKeyDto> findClaimedKeysByTimeAfter(
+            @Param("jobId") Long jobId,
+            @Param("orderTime") LocalDateTime orderTime,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+
+    // 배치 청크 완료: 이 작업이 선점한 주문만 SHIPPING 으로
+    // 같은 트랜잭션에서 변경한 엔티티(배치 체크포인트 등)가 clear 로 사라지지 않도록 먼저 flush
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        update Order o
+        set o.orderStatus = com.back.domain.order.order.entity.OrderStatus.SHIPPING
+        where o.id in :ids
+          and o.batchJobId = :jobId
+          and o.orderStatus = com.back.domain.order.order.entity.OrderStatus.PROCESSING
+    """)
+    int shipClaimed(@Param("jobId") Long jobId, @Param("ids") List<Long> ids);
+}
@@ -10,9 +10,22 @@ import org.springframework.stereotype.Component;
 public class OrderBatchScheduler {
     private final OrderBatchService orderBatchService;
 
+    // 모든 노드에서 실행되지만 배치 lease 를 얻은 노드 하나만 처리한다 (마이크로 배치 모드에서는 그날 리포트 마감)
     // @Scheduled(cron = "0 */1 * * * *", zone = "Asia/Seoul") // test
     @Scheduled(cron = "0 0 14 * * *", zone = "Asia/Seoul")
     public void runOrderBatch() {
         orderBatchService.processDailyOrderBatch();
     }
+
+    // 마이크로 배치 모드일 때만 동작 (꺼져 있으면 바로 반환)
+    @Scheduled(fixedDelayString = "${custom.order.batch.micro.interval-ms:300000}")
+    public void exportNewOrders() {
+        orderBatchService.exportNewOrders();
+    }
+
+    // 배치를 실행하던 노드가 죽으면 lease 만료 후 다른 노드가 넘겨받는다
+    @Scheduled(fixedDelayString = "${custom.order.batch.takeover-check-ms:60000}")
+    public void resumeRunningOrderBatch() {
+        orderBatchService.resumeRunningJob();
+    }
 }
\ No newline at end of file
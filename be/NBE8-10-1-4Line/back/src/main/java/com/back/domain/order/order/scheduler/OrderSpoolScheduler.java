@@ -0,0 +1,19 @@
+package com.back.domain.order.order.scheduler;
+
+import com.back.domain.order.order.service.OrderSpoolService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class OrderSpoolScheduler {
+    private final OrderSpoolService orderSpoolService;
+
+    // DB 장애 중 spool 에 쌓인 주문 재처리
+    @Scheduled(fixedDelayString = "${custom.order.spool.replay-interval-ms:5000}")
+    public void replaySpooledOrders() {
+        orderSpoolService.replay();
+        orderSpoolService.refreshProductIds();
+    }
+}
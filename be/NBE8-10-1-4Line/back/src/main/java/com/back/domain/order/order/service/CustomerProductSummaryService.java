@@ -0,0 +1,168 @@
+package com.back.domain.order.order.service;
+
+import com.back.domain.customer.customer.repository.CustomerRepository;
+import com.back.domain.order.order.cache.OrderQueryCache;
+import com.back.domain.order.order.dto.CustomerProductSummaryCheckDto;
+import com.back.domain.order.order.dto.CustomerProductTotalsDto;
+import com.back.domain.order.order.dto.OrderProductSummaryDto;
+import com.back.domain.order.order.entity.CustomerProductSummary;
+import com.back.domain.order.order.entity.Order;
+import com.back.domain.order.order.entity.OrderItem;
+import com.back.domain.order.order.repository.CustomerProductSummaryRepository;
+import com.back.domain.order.order.repository.OrderItemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 고객별 상품 요약 읽기 모델(customer_product_summary) 유지
+ * 주문 생성 / 삭제와 같은 트랜잭션에서 (이메일, 상품) 행에 수량 / 금액 / 주문 수 변화량을 더한다.
+ * 요약은 주문 상태와 관계없이 모든 주문을 합치므로 상태 변경(배치의 일괄 변경 포함)은 반영할 것이 없다.
+ * 주문을 서비스 밖에서 직접 넣거나 지운 경우를 위해 재구성(rebuild)과 정합성 검사(check)를 제공한다.
+ */
+@Slf4j
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class CustomerProductSummaryService {
+    public static final int MAX_REPORTED_MISMATCHES = 100;
+    private static final int CUSTOMER_PAGE_SIZE = 500;
+
+    private final CustomerProductSummaryRepository customerProductSummaryRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final CustomerRepository customerRepository;
+    private final OrderQueryCache orderQueryCache;
+
+    @Transactional(readOnly = true)
+    public List<OrderProductSummaryDto> getSummaries(String email) {
+        return customerProductSummaryRepository.findSummaries(email);
+    }
+
+    // 새 주문의 품목을 (이메일, 상품)별로 모아 더한다 (금액 / 상품명은 품목의 주문 시점 값)
+    public void addOrders(List<Order> orders) {
+        Map<CustomerProductSummary.Key, long[]> deltas = new LinkedHashMap<>();
+        Map<CustomerProductSummary.Key, String> names = new HashMap<>();
+        for (Order order : orders) {
+            String email = order.getCustomer().getEmail();
+            Set<Long> productsInOrder = new HashSet<>();
+            for (OrderItem item : order.getOrderItems()) {
+                Long productId = item.getProduct().getId();
+                CustomerProductSummary.Key key = new CustomerProductSummary.Key(email, productId);
+                long[] delta = deltas.computeIfAbsent(key, k -> new long[3]);
+                delta[0] += item.getQuantity();
+                delta[1] += item.getSubTotal();
+                if (productsInOrder.add(productId)) delta[2]++;
+                names.put(key, item.getProductName());
+            }
+        }
+
+        deltas.forEach((key, delta) -> add(key.getEmail(), key.getProductId(), names.get(key), delta[0], delta[1], delta[2]));
+    }
+
+    // 삭제할 주문의 합계를 뺀다 (주문을 지우기 전에 호출)
+    public void removeOrder(Long orderId) {
+        List<CustomerProductTotalsDto> totals = orderItemRepository.findProductTotalsByOrderId(orderId);
+        for (CustomerProductTotalsDto total : totals) {
+            customerProductSummaryRepository.subtractTotals(
+                    total.email(), total.productId(), total.totalQuantity(), total.totalAmount(), total.orderCount());
+        }
+        if (!totals.isEmpty()) customerProductSummaryRepository.deleteEmpty(totals.get(0).email());
+    }
+
+    // 고객 한 명의 요약을 주문 테이블에서 다시 만든다
+    public void rebuild(String email) {
+        rebuild(List.of(email));
+        orderQueryCache.evictSummary(email);
+    }
+
+    // 전체 재구성: 고객을 이메일 순으로 나눠 페이지마다 지우고 다시 집계한다 (재구성한 고객 수 반환)
+    public int rebuildAll() {
+        int customers = 0;
+        String after = "";
+        for (List<String> emails; !(emails = nextEmails(after)).isEmpty(); after = emails.get(emails.size() - 1)) {
+            rebuild(emails);
+            customers += emails.size();
+        }
+        orderQueryCache.evictAllSummaries();
+        log.info("주문 요약 읽기 모델 재구성 완료 - 고객: {}명", customers);
+        return customers;
+    }
+
+    @Transactional(readOnly = true)
+    public CustomerProductSummaryCheckDto check(String email) {
+        List<CustomerProductSummaryCheckDto.Mismatch> mismatches = new ArrayList<>();
+        int count = compare(List.of(email), mismatches);
+        return new CustomerProductSummaryCheckDto(1, count, mismatches);
+    }
+
+    @Transactional(readOnly = true)
+    public CustomerProductSummaryCheckDto checkAll() {
+        List<CustomerProductSummaryCheckDto.Mismatch> mismatches = new ArrayList<>();
+        int customers = 0;
+        int count = 0;
+        String after = "";
+        for (List<String> emails; !(emails = nextEmails(after)).isEmpty(); after = emails.get(emails.size() - 1)) {
+            count += compare(emails, mismatches);
+            customers += emails.size();
+        }
+        if (count > 0) log.warn("주문 요약 읽기 모델 불일치 - 고객: {}명 중 {}건", customers, count);
+        return new CustomerProductSummaryCheckDto(customers, count, mismatches);
+    }
+
+    // 행이 있으면 더하고, 없으면 만든다 (동시에 만들어졌으면 다시 더한다)
+    private void add(String email, Long productId, String productName, long quantity, long amount, long orders) {
+        if (customerProductSummaryRepository.addTotals(email, productId, productName, quantity, amount, orders) > 0) return;
+        if (customerProductSummaryRepository.insertIgnore(email, productId, productName, quantity, amount, orders) > 0) return;
+        customerProductSummaryRepository.addTotals(email, productId, productName, quantity, amount, orders);
+    }
+
+    private void rebuild(List<String> emails) {
+        customerProductSummaryRepository.deleteByEmails(emails);
+        customerProductSummaryRepository.insertFromOrders(emails);
+    }
+
+    private List<String> nextEmails(String after) {
+        return customerRepository.findEmailsAfter(after, PageRequest.ofSize(CUSTOMER_PAGE_SIZE));
+    }
+
+    // 불일치 수 반환, 내용은 MAX_REPORTED_MISMATCHES 건까지만 담는다
+    private int compare(List<String> emails, List<CustomerProductSummaryCheckDto.Mismatch> mismatches) {
+        Map<CustomerProductSummary.Key, CustomerProductTotalsDto> expected = orderItemRepository.findProductTotals(emails)
+                .stream()
+                .collect(Collectors.toMap(total -> new CustomerProductSummary.Key(total.email(), total.productId()), Function.identity()));
+        Map<CustomerProductSummary.Key, CustomerProductSummary> actual = customerProductSummaryRepository.findAllByEmailIn(emails)
+                .stream()
+                .collect(Collectors.toMap(row -> new CustomerProductSummary.Key(row.getEmail(), row.getProductId()), Function.identity()));
+
+        Set<CustomerProductSummary.Key> keys = new LinkedHashSet<>(expected.keySet());
+        keys.addAll(actual.keySet());
+
+        int count = 0;
+        for (CustomerProductSummary.Key key : keys) {
+            CustomerProductTotalsDto want = expected.get(key);
+            CustomerProductSummary have = actual.get(key);
+
+            long expectedQuantity = want == null ? 0 : want.totalQuantity();
+            long expectedAmount = want == null ? 0 : want.totalAmount();
+            long expectedOrders = want == null ? 0 : want.orderCount();
+            long actualQuantity = have == null ? 0 : have.getTotalQuantity();
+            long actualAmount = have == null ? 0 : have.getTotalAmount();
+            long actualOrders = have == null ? 0 : have.getOrderCount();
+
+            if (expectedQuantity == actualQuantity && expectedAmount == actualAmount && expectedOrders == actualOrders) continue;
+
+            count++;
+            if (mismatches.size() < MAX_REPORTED_MISMATCHES) {
+                mismatches.add(new CustomerProductSummaryCheckDto.Mismatch(key.getEmail(), key.getProductId(),
+                        expectedQuantity, actualQuantity, expectedAmount, actualAmount, expectedOrders, actualOrders));
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,177 @@
+package com.back.domain.order.order.service;
+
+import com.back.global.jpa.QueryCountInspector;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 일일 배치 단계별 계측 (Micrometer + JFR)
+ * 단계(stage 태그)마다 소요 시간(order.batch.stage), 처리 행 / 기록 바이트 / 실행 쿼리 수(order.batch.stage.rows|bytes|queries)를 남기고,
+ * 같은 값을 JFR 이벤트(OrderBatchStageEvent)로도 남겨 느린 실행을 녹화본으로 분석할 수 있게 한다.
+ * 쿼리 수는 QueryCountInspector 가 센 현재 스레드의 SQL 수 차이라 단계 안의 지연 로딩도 여기에 잡힌다.
+ * 실행(beginRun ~ endRun)마다 단계별 합계와 초당 행 수를 로그로 남기고 order.batch.rows.per.second 게이지를 갱신한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderBatchMetrics {
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Stage, StageMeters> meters = new EnumMap<>(Stage.class);
+    private final AtomicLong lastRowsPerSecond = new AtomicLong();
+    private Counter dailyDeferred;
+
+    // 배치는 실행 하나를 스레드 하나에서 처리한다
+    private final ThreadLocal<Run> currentRun = new ThreadLocal<>();
+
+    public enum Stage {
+        QUERY("query"),
+        MAPPING("mapping"),
+        CSV_WRITE("csv_write"),
+        STATUS_UPDATE("status_update"),
+        FILE_FLUSH("file_flush");
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    @PostConstruct
+    void registerMeters() {
+        for (Stage stage : Stage.values()) {
+            meters.put(stage, new StageMeters(
+                    Timer.builder("order.batch.stage")
+                            .description("일일 배치 단계별 소요 시간")
+                            .tag("stage", stage.tag)
+                            .register(meterRegistry),
+                    Counter.builder("order.batch.stage.rows").tag("stage", stage.tag).register(meterRegistry),
+                    Counter.builder("order.batch.stage.bytes").baseUnit("bytes").tag("stage", stage.tag).register(meterRegistry),
+                    Counter.builder("order.batch.stage.queries").tag("stage", stage.tag).register(meterRegistry)
+            ));
+        }
+        Gauge.builder("order.batch.rows.per.second", lastRowsPerSecond, AtomicLong::get)
+                .description("마지막으로 끝난 배치 실행의 초당 기록 행 수")
+                .register(meterRegistry);
+        dailyDeferred = Counter.builder("order.batch.daily.deferred")
+                .description("14:00 실행이 lease 를 얻지 못해 재개 주기로 미뤄진 횟수")
+                .register(meterRegistry);
+    }
+
+    public void dailyDeferred() {
+        dailyDeferred.increment();
+    }
+
+    public void beginRun(Long jobId) {
+        currentRun.set(new Run(jobId));
+    }
+
+    public void endRun() {
+        Run run = currentRun.get();
+        if (run == null) return;
+        currentRun.remove();
+
+        double seconds = (System.nanoTime() - run.startNanos) / 1e9;
+        long rows = run.rows[Stage.CSV_WRITE.ordinal()];
+        long rowsPerSecond = seconds > 0 ? Math.round(rows / seconds) : 0;
+        lastRowsPerSecond.set(rowsPerSecond);
+
+        StringJoiner stages = new StringJoiner(", ");
+        for (Stage stage : Stage.values()) {
+            int i = stage.ordinal();
+            stages.add("%s: %dms / %d쿼리 / %dB".formatted(
+                    stage.tag, TimeUnit.NANOSECONDS.toMillis(run.nanos[i]), run.queries[i], run.bytes[i]));
+        }
+        log.info("배치 단계별 소요 (jobId: {}) - {} | {}행, {}초, 초당 {}행",
+                run.jobId, stages, rows, String.format("%.1f", seconds), rowsPerSecond);
+    }
+
+    // 지금부터 단계 시작 (stop 에서 기록)
+    public Sample start(Stage stage, Long jobId) {
+        return new Sample(stage, jobId);
+    }
+
+    // 다른 곳에서 잰 시간을 기록 (OrderReport 의 인코딩 / flush 시간)
+    public void record(Stage stage, Long jobId, long nanos, long rows, long bytes) {
+        OrderBatchStageEvent event = new OrderBatchStageEvent();
+        record(stage, jobId, nanos, rows, bytes, 0, event);
+    }
+
+    private void record(Stage stage, Long jobId, long nanos, long rows, long bytes, long queries, OrderBatchStageEvent event) {
+        StageMeters stageMeters = meters.get(stage);
+        stageMeters.timer.record(nanos, TimeUnit.NANOSECONDS);
+        stageMeters.rows.increment(rows);
+        stageMeters.bytes.increment(bytes);
+        stageMeters.queries.increment(queries);
+
+        Run run = currentRun.get();
+        if (run != null) run.add(stage, nanos, rows, bytes, queries);
+
+        if (event.shouldCommit()) {
+            event.jobId = jobId;
+            event.stage = stage.tag;
+            event.elapsed = nanos;
+            event.rows = rows;
+            event.bytes = bytes;
+            event.queries = queries;
+            event.commit();
+        }
+    }
+
+    public final class Sample {
+        private final Stage stage;
+        private final Long jobId;
+        private final long startNanos = System.nanoTime();
+        private final long startQueries = QueryCountInspector.count();
+        private final OrderBatchStageEvent event = new OrderBatchStageEvent();
+
+        private Sample(Stage stage, Long jobId) {
+            this.stage = stage;
+            this.jobId = jobId;
+            event.begin();
+        }
+
+        public void stop(long rows, long bytes) {
+            event.end();
+            record(stage, jobId, System.nanoTime() - startNanos, rows, bytes,
+                    QueryCountInspector.count() - startQueries, event);
+        }
+    }
+
+    private record StageMeters(Timer timer, Counter rows, Counter bytes, Counter queries) {
+    }
+
+    private static class Run {
+        private final Long jobId;
+        private final long startNanos = System.nanoTime();
+        private final long[] nanos = new long[Stage.values().length];
+        private final long[] rows = new long[Stage.values().length];
+        private final long[] bytes = new long[Stage.values().length];
+        private final long[] queries = new long[Stage.values().length];
+
+        Run(Long jobId) {
+            this.jobId = jobId;
+        }
+
+        void add(Stage stage, long nanos, long rows, long bytes, long queries) {
+            int i = stage.ordinal();
+            this.nanos[i] += nanos;
+            this.rows[i] += rows;
+            this.bytes[i] += bytes;
+            this.queries[i] += queries;
+        }
+    }
+}
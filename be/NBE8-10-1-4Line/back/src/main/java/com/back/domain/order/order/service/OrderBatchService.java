@@ -1,44 +1,298 @@
 package com.back.domain.order.order.service;
 
-import com.back.domain.order.order.entity.Order;
+import com.back.domain.order.order.dto.OrderBatchKeyDto;
+import com.back.domain.order.order.entity.OrderBatchJob;
+import com.back.domain.order.order.entity.OrderBatchJobStatus;
 import com.back.domain.order.order.entity.OrderStatus;
-import com.back.domain.order.order.repository.OrderRepository;
 import com.back.domain.order.order.util.OrderFileHandler;
+import com.back.domain.order.order.util.OrderReport;
+import com.back.domain.order.order.util.OrderReportPart;
+import com.back.global.lease.SchedulerLeaseService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
+/**
+ * 일일 주문 배치
+ * 대상 주문을 PROCESSING 으로 선점한 뒤 청크마다 리포트 기록 -> 상태 변경 + 체크포인트 커밋 순으로 진행한다.
+ * DB lease(order-batch)를 얻은 노드 하나만 실행하고, 중단 / 실패한 작업은 resumeRunningJob 이 체크포인트부터 이어서 처리한다.
+ */
 @Slf4j
 @Service
-@Transactional
 @RequiredArgsConstructor
 public class OrderBatchService {
-    private final OrderRepository orderRepository;
+    public static final String LEASE_NAME = "order-batch";
+
+    private final OrderBatchStepService orderBatchStepService;
     private final OrderFileHandler orderFileHandler;
+    private final SchedulerLeaseService schedulerLeaseService;
+    private final OrderBatchThrottle orderBatchThrottle;
+    private final OrderBatchMetrics orderBatchMetrics;
+
+    @Value("${custom.order.batch.page-size:500}")
+    private int pageSize;
+
+    // 청크 하나를 처리하는 시간보다 충분히 길게 (소유 노드가 죽었을 때 넘겨받기까지 걸리는 최대 시간)
+    @Value("${custom.order.batch.lease-ttl-seconds:120}")
+    private long leaseTtlSeconds;
+
+    @Value("${custom.order.batch.micro.enabled:false}")
+    private boolean microEnabled;
+
+    // 실패한 작업을 재시도하기까지 기다리는 시간 (같은 원인으로 매 주기 다시 실패하지 않도록)
+    @Value("${custom.order.batch.failed-retry-minutes:10}")
+    private long failedRetryMinutes;
 
     public void processDailyOrderBatch() {
+        Optional<SchedulerLeaseService.Lease> lease = acquireLease();
+        if (lease.isEmpty()) {
+            // 관리자 요청 / 마이크로 배치 주기 / 넘겨받은 작업이 lease 를 쥐고 있으면 그 작업이 끝난 뒤 재개 주기가 실행한다
+            orderBatchMetrics.dailyDeferred();
+            log.warn("배치 lease 를 다른 작업이 사용 중이라 일일 배치를 재개 주기(resumeRunningJob)로 미룹니다.");
+            return;
+        }
+
+        try {
+            processDailyOrderBatch(LocalDate.now().atTime(14, 0), lease.get());
+        } finally {
+            schedulerLeaseService.release(lease.get());
+        }
+    }
+
+    // 마이크로 배치 주기: 마감 시각(다음 14:00)별 작업 하나에 지금까지 들어온 ORDERED 주문을 이어 쓴다
+    public void exportNewOrders() {
+        if (!microEnabled) return;
+        exportNewOrders(LocalDateTime.now());
+    }
+
+    void exportNewOrders(LocalDateTime now) {
+        Optional<SchedulerLeaseService.Lease> lease = acquireLease();
+        if (lease.isEmpty()) return;
+
+        try {
+            // 14:00 실행이 다른 주기와 겹쳐 건너뛰어졌어도 마감이 밀리지 않도록 지난 작업부터 마감
+            sealJobs(now, lease.get());
+            exportNewOrders(now, lease.get());
+        } finally {
+            schedulerLeaseService.release(lease.get());
+        }
+    }
+
+    // 관리자 요청: 지금까지 들어온 ORDERED 주문을 선점한 작업을 만들어 반환하고, 내보내기는 가상 스레드에서 진행
+    // (요청 스레드를 붙잡지 않는다, 진행 상황은 작업의 처리 건수로 확인)
+    public OrderBatchJob startOnDemandBatch() {
+        SchedulerLeaseService.Lease lease = schedulerLeaseService
+                .tryAcquire(LEASE_NAME, Duration.ofSeconds(leaseTtlSeconds))
+                .orElseThrow(() -> new IllegalStateException("다른 배치 작업이 실행 중입니다. 잠시 후 다시 시도해 주세요."));
+
+        boolean started = false;
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            if (!orderBatchStepService.hasTargets(now)) {
+                throw new IllegalStateException("리포트로 내보낼 주문이 없습니다.");
+            }
+
+            OrderBatchJob job = orderBatchStepService.startJob(now, orderFileHandler.newReportBase(), lease);
+            log.info("관리자 요청 배치 작업 시작 - jobId: {}, 선점한 주문: {}건", job.getId(), job.getClaimedOrders());
+
+            // 중단된 작업이 있으면 먼저 마감된 뒤 새 작업(기준 시간 now)까지 id 순으로 처리된다
+            Thread.ofVirtual().name("order-batch-on-demand-" + job.getId()).start(() -> {
+                try {
+                    sealJobs(now, lease);
+                } catch (RuntimeException e) {
+                    // 실패한 작업은 재시도 주기(resumeRunningJob)에 마지막 체크포인트부터 재개된다
+                    log.error("관리자 요청 배치 작업 실패 - jobId: {}", job.getId(), e);
+                } finally {
+                    schedulerLeaseService.release(lease);
+                }
+            });
+            started = true;
+            return job;
+        } finally {
+            if (!started) schedulerLeaseService.release(lease);
+        }
+    }
+
+    // 소유 노드가 죽어 RUNNING 으로 남은 작업 / 실패한 작업을 넘겨받아 이어서 처리 (lease 가 만료되기 전에는 아무것도 하지 않음)
+    // 넘겨받을 작업이 없고 마지막 14:00 이전 ORDERED 주문이 남아 있으면 (14:00 실행이 lease 를 얻지 못함) 일일 배치를 대신 실행
+    public void resumeRunningJob() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime failedBefore = now.minusMinutes(failedRetryMinutes);
+        LocalDateTime dailyCutoff = lastDailyCutoff(now);
+        if (!orderBatchStepService.hasResumableJob(failedBefore) && !orderBatchStepService.hasTargets(dailyCutoff)) return;
+
+        Optional<SchedulerLeaseService.Lease> lease = acquireLease();
+        if (lease.isEmpty()) return;
+
+        try {
+            // lease 를 얻기 전에 원래 노드가 끝냈을 수 있으므로 다시 확인
+            Optional<OrderBatchJob> resumable = orderBatchStepService.findResumableJob(failedBefore);
+            if (resumable.isPresent()) {
+                OrderBatchJob job = resumable.get();
+                log.info("{} 배치 작업을 넘겨받아 재개 - jobId: {}, 처리된 주문: {}건",
+                        job.getStatus() == OrderBatchJobStatus.FAILED ? "실패한" : "다른 노드가 처리하던",
+                        job.getId(), job.getProcessedOrders());
+                runJob(job, lease.get(), !job.isMicro());
+            } else if (orderBatchStepService.hasTargets(dailyCutoff)) {
+                log.info("미뤄진 일일 배치 실행 - 기준 시간: {}", dailyCutoff);
+                processDailyOrderBatch(dailyCutoff, lease.get());
+            }
+        } finally {
+            schedulerLeaseService.release(lease.get());
+        }
+    }
+
+    // 지금 기준으로 가장 최근에 지난 14:00
+    private static LocalDateTime lastDailyCutoff(LocalDateTime now) {
+        LocalDateTime today = now.toLocalDate().atTime(14, 0);
+        return now.isBefore(today) ? today.minusDays(1) : today;
+    }
+
+    private Optional<SchedulerLeaseService.Lease> acquireLease() {
+        Optional<SchedulerLeaseService.Lease> lease =
+                schedulerLeaseService.tryAcquire(LEASE_NAME, Duration.ofSeconds(leaseTtlSeconds));
+        if (lease.isEmpty()) {
+            log.info("다른 작업이 배치 lease 를 사용 중이라 건너뜁니다.");
+        }
+        return lease;
+    }
+
+    private void processDailyOrderBatch(LocalDateTime twoPm, SchedulerLeaseService.Lease lease) {
+        // 중단된 작업 / 마이크로 배치 작업이 있으면 마지막 체크포인트부터 이어서 처리하고 마감
+        sealJobs(twoPm, lease);
+
         // 상태 ORDERED인 내역 찾기
-        LocalDateTime twoPmToday = LocalDate.now().atTime(14, 0);
-        log.info("배치 조회 시작 - 기준 시간: {}, 상태: {}", twoPmToday, OrderStatus.ORDERED);
-        List<Order> targetOrders = orderRepository.findAllByOrderStatusAndOrderTimeBefore(
-                OrderStatus.ORDERED,
-                twoPmToday
-        );
-        log.info("조회된 주문 건수: {}건", targetOrders.size());
-
-        if (targetOrders.isEmpty()) {
+        log.info("배치 조회 시작 - 기준 시간: {}, 상태: {}", twoPm, OrderStatus.ORDERED);
+        if (!orderBatchStepService.hasTargets(twoPm)) {
             log.info("처리할 대상이 없어 배치를 종료합니다.");
             return;
         }
 
-        // CSV 파일 저장
-        orderFileHandler.createOrderCsv(targetOrders);
-        List<Long> ids = targetOrders.stream().map(Order::getId).toList();
-        orderRepository.updateStatusByIds(ids, OrderStatus.SHIPPING);
+        // 대상 주문을 PROCESSING 으로 선점한 뒤에는 선점한 행만 내보낸다
+        // (마이크로 배치 모드에서 주기가 한 번도 돌지 않았으면 같은 형식의 작업을 만들어 바로 마감)
+        OrderBatchJob job;
+        if (microEnabled) {
+            job = orderBatchStepService.startMicroJob(twoPm, orderFileHandler.newReportBase(), lease);
+            job = orderBatchStepService.claimMore(job.getId(), twoPm, lease);
+        } else {
+            job = orderBatchStepService.startJob(twoPm, orderFileHandler.newReportBase(), lease);
+        }
+        log.info("배치 작업 시작 - jobId: {}, 선점한 주문: {}건", job.getId(), job.getClaimedOrders());
+        runJob(job, lease, true);
+    }
+
+    // 기준 시간이 cutoff 이전인 끝나지 않은 작업을 모두 마감 (마이크로 배치 작업은 기준 시간까지 남은 주문을 선점한 뒤)
+    private void sealJobs(LocalDateTime cutoff, SchedulerLeaseService.Lease lease) {
+        for (OrderBatchJob job : orderBatchStepService.findJobsToSeal(cutoff)) {
+            log.info("끝나지 않은 배치 작업 마감 - jobId: {}, 기준 시간: {}, 처리된 주문: {}건",
+                    job.getId(), job.getCutoff(), job.getProcessedOrders());
+            if (job.isMicro()) {
+                job = orderBatchStepService.claimMore(job.getId(), job.getCutoff(), lease);
+            }
+            runJob(job, lease, true);
+        }
+    }
+
+    private void exportNewOrders(LocalDateTime now, SchedulerLeaseService.Lease lease) {
+        LocalDateTime today = now.toLocalDate().atTime(14, 0);
+        LocalDateTime cutoff = now.isBefore(today) ? today : today.plusDays(1);
+
+        Optional<OrderBatchJob> open = orderBatchStepService.findOpenMicroJob(cutoff);
+        if (open.isEmpty() && !orderBatchStepService.hasTargets(now)) return;
+
+        Long jobId = open.isPresent()
+                ? open.get().getId()
+                : orderBatchStepService.startMicroJob(cutoff, orderFileHandler.newReportBase(), lease).getId();
+
+        // 워터마크를 지금으로 옮기며 새 주문을 선점
+        OrderBatchJob job = orderBatchStepService.claimMore(jobId, now, lease);
+        log.info("마이크로 배치 주기 시작 - jobId: {}, 마감: {}, 워터마크: {}, 누적 선점: {}건",
+                job.getId(), cutoff, job.getClaimedUntil(), job.getClaimedOrders());
+        runJob(job, lease, false);
+    }
+
+    // seal 이 false 면 (마이크로 배치 주기) 파일을 마감하지 않고 다음 주기에 체크포인트부터 이어 쓴다
+    private void runJob(OrderBatchJob job, SchedulerLeaseService.Lease lease, boolean seal) {
+        // 출력 디렉터리를 노드끼리 공유하지 않으면 다른 노드가 쓰던 파일이 없다
+        // 체크포인트까지의 행은 원래 노드의 파일에 남겨 두고, 남은 주문은 체크포인트 다음부터 새 파일에 쓴다
+        if (!orderFileHandler.canResume(job.getReportBase(), job.reportParts())) {
+            String previous = job.getReportBase();
+            job = orderBatchStepService.restartReport(job.getId(), previous + "_resumed" + job.getChunkCount(), lease);
+            log.warn("체크포인트의 리포트 파일이 이 노드에 없어 새 파일로 이어 씁니다 - jobId: {}, 이전 파일: {} ({}건, 원래 노드), 새 파일: {}",
+                    job.getId(), previous, job.getProcessedOrders(), job.getReportBase());
+        }
+
+        orderBatchMetrics.beginRun(job.getId());
+        try (OrderReport report = orderFileHandler.openReport(job.getReportBase(), job.reportParts())) {
+            // 전체를 한 번에 올리지 않고 keyset 청크로 읽는다
+            // 일일 작업: (이메일, 주소, 주문시간, id) 순, 마지막 체크포인트 다음부터
+            // 마이크로 배치: (주문시간, id) 순, 커밋된 주문은 SHIPPING 이라 다시 읽히지 않으므로 처음부터
+            // (워터마크보다 이른 주문시간으로 늦게 커밋된 주문도 빠지지 않는다)
+            OrderBatchKeyDto after = job.isMicro() ? null : job.resumeKey();
+            long writtenBytes = totalBytes(job.reportParts());
+
+            while (true) {
+                // 온라인 요청이 밀리면 청크 간격을 늘린다
+                orderBatchThrottle.beforeChunk();
+
+                OrderBatchStepService.Chunk chunk =
+                        orderBatchStepService.readChunk(job.getId(), job.getMode(), after, pageSize);
+                if (chunk.isEmpty()) break;
+
+                // lease 를 잃은 뒤에는 넘겨받은 노드와 같은 파일에 쓰지 않는다
+                orderBatchStepService.checkLease(lease);
+                List<OrderReportPart> parts = report.write(chunk.rows());
+                long bytes = totalBytes(parts);
+                OrderReport.WriteTimes times = report.takeWriteTimes();
+                orderBatchMetrics.record(OrderBatchMetrics.Stage.CSV_WRITE, job.getId(),
+                        times.encodeNanos(), chunk.rows().size(), bytes - writtenBytes);
+                orderBatchMetrics.record(OrderBatchMetrics.Stage.FILE_FLUSH, job.getId(), times.flushNanos(), 0, 0);
+                writtenBytes = bytes;
+
+                // 트랜잭션 커밋(체크포인트 flush)까지 포함
+                OrderBatchMetrics.Sample statusUpdate =
+                        orderBatchMetrics.start(OrderBatchMetrics.Stage.STATUS_UPDATE, job.getId());
+                orderBatchStepService.commitChunk(job.getId(), chunk, parts, lease);
+                statusUpdate.stop(chunk.keys().size(), 0);
+                after = chunk.lastKey();
+            }
+
+            if (!seal) {
+                orderBatchStepService.pauseJob(job.getId(), lease);
+                log.info("마이크로 배치 주기 완료 (jobId: {})", job.getId());
+                return;
+            }
+
+            // CSV 파일 저장 (파일 닫기 / 병합 / manifest 까지 flush 단계로 잰다)
+            orderBatchStepService.checkLease(lease);
+            OrderBatchMetrics.Sample finishing = orderBatchMetrics.start(OrderBatchMetrics.Stage.FILE_FLUSH, job.getId());
+            int orderCount = report.finish();
+            finishing.stop(0, 0);
+            orderBatchStepService.completeJob(job.getId(), lease);
+            log.info("처리된 주문 건수: {}건 (jobId: {})", orderCount, job.getId());
+        } catch (RuntimeException e) {
+            log.error("배치 작업 실패 - jobId: {}, 재시도 주기에 마지막 체크포인트부터 재개합니다.", job.getId(), e);
+            try {
+                orderBatchStepService.failJob(job.getId(), e.getMessage(), lease);
+            } catch (RuntimeException leaseLost) {
+                log.warn("lease 를 잃어 작업을 실패로 기록하지 않습니다 (넘겨받은 노드가 처리) - jobId: {}", job.getId());
+                e.addSuppressed(leaseLost);
+            }
+            throw e;
+        } finally {
+            orderBatchMetrics.endRun();
+        }
+    }
+
+    // 모든 리포트 파일의 기록 위치 합 (청크마다 늘어난 만큼이 기록 바이트)
+    private static long totalBytes(List<OrderReportPart> parts) {
+        return parts.stream().mapToLong(OrderReportPart::bytes).sum();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,36 @@
+package com.back.domain.order.order.service;
+
+import jdk.jfr.*;
+
+/**
+ * 일일 배치 단계 하나의 JFR 이벤트 (OrderBatchMetrics 가 기록)
+ * 녹화: -XX:StartFlightRecording 또는 jcmd <pid> JFR.start, JMC 에서 "Order / Batch" 분류로 확인
+ * 직접 잰 단계는 이벤트 구간 = 단계 구간이고, elapsed 는 병렬 파티션 기록처럼 스레드별 시간을 합친 값일 수 있다.
+ */
+@Name("com.back.OrderBatchStage")
+@Label("Order Batch Stage")
+@Category({"Order", "Batch"})
+@Description("일일 주문 배치의 단계별 소요 시간 / 처리 행 / 기록 바이트 / 실행 쿼리 수")
+@StackTrace(false)
+final class OrderBatchStageEvent extends Event {
+
+    @Label("Job Id")
+    long jobId;
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Elapsed")
+    @Timespan(Timespan.NANOSECONDS)
+    long elapsed;
+
+    @Label("Rows")
+    long rows;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    @Label("Queries")
+    long queries;
+}
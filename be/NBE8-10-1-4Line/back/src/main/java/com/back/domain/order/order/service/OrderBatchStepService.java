@@ -0,0 +1,218 @@
+package com.back.domain.order.order.service;
+
+import com.back.domain.order.order.cache.OrderQueryCache;
+import com.back.domain.order.order.dto.OrderBatchKeyDto;
+import com.back.domain.order.order.dto.OrderExportRowDto;
+import com.back.domain.order.order.entity.OrderBatchJob;
+import com.back.domain.order.order.entity.OrderBatchJobMode;
+import com.back.domain.order.order.entity.OrderBatchJobStatus;
+import com.back.domain.order.order.entity.OrderStatus;
+import com.back.domain.order.order.repository.OrderBatchJobRepository;
+import com.back.domain.order.order.repository.OrderItemRepository;
+import com.back.domain.order.order.repository.OrderRepository;
+import com.back.domain.order.order.util.OrderReportPart;
+import com.back.global.lease.SchedulerLeaseService;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 일일 배치의 트랜잭션 단위 작업 (OrderBatchService 가 청크마다 호출)
+ * 메서드 하나가 트랜잭션 하나이므로, 청크의 상태 변경과 체크포인트는 함께 커밋되거나 함께 롤백된다.
+ * 상태를 바꾸는 메서드는 같은 트랜잭션에서 배치 lease 를 갱신하므로, lease 를 잃은 노드의 변경은 커밋되지 않는다.
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class OrderBatchStepService {
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final OrderBatchJobRepository orderBatchJobRepository;
+    private final SchedulerLeaseService schedulerLeaseService;
+    private final OrderBatchMetrics orderBatchMetrics;
+    private final OrderQueryCache orderQueryCache;
+
+    // 넘겨받아 재개할 작업: 소유 노드가 죽어 RUNNING 으로 남은 작업, 없으면 failedBefore 이전에 실패한 작업
+    // (실패한 작업이 선점한 주문은 PROCESSING 으로 묶여 있으므로 다음 정기 실행까지 두지 않는다)
+    @Transactional(readOnly = true)
+    public Optional<OrderBatchJob> findResumableJob(LocalDateTime failedBefore) {
+        Optional<OrderBatchJob> job = orderBatchJobRepository.findFirstByStatusOrderByIdDesc(OrderBatchJobStatus.RUNNING)
+                .or(() -> orderBatchJobRepository.findFirstByStatusAndUpdatedAtBeforeOrderByIdAsc(
+                        OrderBatchJobStatus.FAILED, failedBefore));
+        // 트랜잭션 밖에서 파일별 재개 위치를 읽으므로 미리 로딩
+        job.ifPresent(found -> Hibernate.initialize(found.getFiles()));
+        return job;
+    }
+
+    @Transactional(readOnly = true)
+    public boolean hasResumableJob(LocalDateTime failedBefore) {
+        return orderBatchJobRepository.existsByStatus(OrderBatchJobStatus.RUNNING)
+                || orderBatchJobRepository.existsByStatusAndUpdatedAtBefore(OrderBatchJobStatus.FAILED, failedBefore);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<OrderBatchJob> findOpenMicroJob(LocalDateTime cutoff) {
+        Optional<OrderBatchJob> job = orderBatchJobRepository.findFirstByModeAndCutoffAndStatusNot(
+                OrderBatchJobMode.MICRO, cutoff, OrderBatchJobStatus.COMPLETED);
+        job.ifPresent(found -> Hibernate.initialize(found.getFiles()));
+        return job;
+    }
+
+    // 마감할 작업: 기준 시간이 지난 끝나지 않은 작업 (오래된 순)
+    @Transactional(readOnly = true)
+    public List<OrderBatchJob> findJobsToSeal(LocalDateTime cutoff) {
+        List<OrderBatchJob> jobs = orderBatchJobRepository.findAllByStatusNotAndCutoffLessThanEqualOrderByIdAsc(
+                OrderBatchJobStatus.COMPLETED, cutoff);
+        jobs.forEach(job -> Hibernate.initialize(job.getFiles()));
+        return jobs;
+    }
+
+    @Transactional(readOnly = true)
+    public boolean hasTargets(LocalDateTime cutoff) {
+        return orderRepository.existsByOrderStatusAndOrderTimeBefore(OrderStatus.ORDERED, cutoff);
+    }
+
+    // 작업을 만들고 같은 트랜잭션에서 대상 주문을 선점한다 (조건부 UPDATE 한 번, 행 잠금은 커밋까지만)
+    public OrderBatchJob startJob(LocalDateTime cutoff, String reportBase, SchedulerLeaseService.Lease lease) {
+        schedulerLeaseService.renew(lease);
+        OrderBatchJob job = orderBatchJobRepository.save(OrderBatchJob.create(cutoff, reportBase));
+        int claimed = orderRepository.claimForBatch(job.getId(), cutoff);
+        orderQueryCache.evictClaimable(cutoff);
+
+        // 선점 UPDATE 가 영속성 컨텍스트를 비우므로 다시 읽는다 (재개 위치는 트랜잭션 밖에서 읽으므로 미리 로딩)
+        job = getJob(job.getId());
+        job.claimed(claimed);
+        Hibernate.initialize(job.getFiles());
+        return job;
+    }
+
+    // 마이크로 배치 작업 생성 (선점은 주기마다 claimMore 로)
+    public OrderBatchJob startMicroJob(LocalDateTime cutoff, String reportBase, SchedulerLeaseService.Lease lease) {
+        schedulerLeaseService.renew(lease);
+        return orderBatchJobRepository.save(OrderBatchJob.createMicro(cutoff, reportBase));
+    }
+
+    // 마이크로 배치 주기: 워터마크(until) 이전의 새 ORDERED 주문을 선점 (이미 내보낸 주문은 SHIPPING 이라 다시 잡히지 않음)
+    public OrderBatchJob claimMore(Long jobId, LocalDateTime until, SchedulerLeaseService.Lease lease) {
+        schedulerLeaseService.renew(lease);
+        int claimed = orderRepository.claimForBatch(jobId, until);
+        orderQueryCache.evictClaimable(until);
+
+        OrderBatchJob job = getJob(jobId);
+        job.claimedMore(claimed, until);
+        Hibernate.initialize(job.getFiles());
+        return job;
+    }
+
+    // 체크포인트의 리포트 파일이 이 노드에 없을 때 (출력 디렉터리를 공유하지 않는 다른 노드의 작업을 넘겨받음)
+    public OrderBatchJob restartReport(Long jobId, String reportBase, SchedulerLeaseService.Lease lease) {
+        schedulerLeaseService.renew(lease);
+        OrderBatchJob job = getJob(jobId);
+        job.restartReport(reportBase);
+        Hibernate.initialize(job.getFiles());
+        return job;
+    }
+
+    public void pauseJob(Long jobId, SchedulerLeaseService.Lease lease) {
+        schedulerLeaseService.renew(lease);
+        getJob(jobId).pause();
+    }
+
+    @Transactional(readOnly = true)
+    public Chunk readChunk(Long jobId, OrderBatchKeyDto after, int size) {
+        return readChunk(jobId, OrderBatchJobMode.DAILY, after, size);
+    }
+
+    // 주문 단위로 청크를 자른 뒤 품목 행은 조인 쿼리 한 번으로 가져온다
+    // (품목 행 단위로 자르면 한 주문이 두 청크에 걸쳐 상태 변경 후 나머지 품목이 조회되지 않는다)
+    @Transactional(readOnly = true)
+    public Chunk readChunk(Long jobId, OrderBatchJobMode mode, OrderBatchKeyDto after, int size) {
+        PageRequest page = PageRequest.ofSize(size);
+        boolean byTime = mode == OrderBatchJobMode.MICRO;
+        OrderBatchMetrics.Sample query = orderBatchMetrics.start(OrderBatchMetrics.Stage.QUERY, jobId);
+
+        List<OrderBatchKeyDto> keys;
+        if (after == null) {
+            keys = byTime
+                    ? orderRepository.findClaimedKeysByTimeFirstPage(jobId, page)
+                    : orderRepository.findClaimedKeysFirstPage(jobId, page);
+        } else {
+            keys = byTime
+                    ? orderRepository.findClaimedKeysByTimeAfter(jobId, after.orderTime(), after.orderId(), page)
+                    : orderRepository.findClaimedKeysAfter(
+                            jobId,
+                            after.email(), after.shippingAddress(), after.orderTime(), after.orderId(),
+                            page);
+        }
+
+        if (keys.isEmpty()) {
+            query.stop(0, 0);
+            return new Chunk(keys, List.of());
+        }
+
+        List<Long> ids = keys.stream().map(OrderBatchKeyDto::orderId).toList();
+        List<OrderExportRowDto> rows = orderItemRepository.findExportRows(ids);
+        query.stop(rows.size(), 0);
+
+        // 행은 조회 쿼리에서 바로 DTO 로 만들어지므로 여기서는 메모리 정렬만 (쿼리가 잡히면 지연 로딩이 생긴 것)
+        OrderBatchMetrics.Sample mapping = orderBatchMetrics.start(OrderBatchMetrics.Stage.MAPPING, jobId);
+        if (byTime) {
+            // 조회는 이메일 순이므로 키와 같은 (주문시간, id) 순으로 다시 정렬 (안정 정렬이라 주문 안의 품목 순서는 유지)
+            rows = new ArrayList<>(rows);
+            rows.sort(Comparator.comparing(OrderExportRowDto::orderTime).thenComparing(OrderExportRowDto::orderId));
+        }
+        Chunk chunk = new Chunk(keys, rows);
+        mapping.stop(rows.size(), 0);
+        return chunk;
+    }
+
+    // 파일에 fsync 까지 끝난 청크의 상태 변경과 체크포인트를 한 트랜잭션으로 커밋
+    public void commitChunk(Long jobId, Chunk chunk, List<OrderReportPart> parts, SchedulerLeaseService.Lease lease) {
+        schedulerLeaseService.renew(lease);
+        List<Long> ids = chunk.keys().stream().map(OrderBatchKeyDto::orderId).toList();
+        orderRepository.shipClaimed(jobId, ids);
+        orderQueryCache.evictDetailsOfOrders(ids);
+
+        OrderBatchJob job = getJob(jobId);
+        job.checkpoint(chunk.lastKey(), ids.size(), parts);
+    }
+
+    public void completeJob(Long jobId, SchedulerLeaseService.Lease lease) {
+        schedulerLeaseService.renew(lease);
+        getJob(jobId).complete();
+    }
+
+    // lease 를 잃은 노드는 넘겨받은 노드가 처리 중인 작업을 실패로 덮어쓰지 않는다 (renew 예외로 롤백)
+    public void failJob(Long jobId, String msg, SchedulerLeaseService.Lease lease) {
+        schedulerLeaseService.renew(lease);
+        getJob(jobId).fail(msg);
+    }
+
+    // 파일 쓰기처럼 트랜잭션 밖의 부수 효과 전에 lease 를 확인하고 연장 (잃었으면 예외)
+    public void checkLease(SchedulerLeaseService.Lease lease) {
+        schedulerLeaseService.renew(lease);
+    }
+
+    private OrderBatchJob getJob(Long jobId) {
+        return orderBatchJobRepository.findById(jobId)
+                .orElseThrow(() -> new IllegalStateException("배치 작업을 찾을 수 없습니다: " + jobId));
+    }
+
+    public record Chunk(List<OrderBatchKeyDto> keys, List<OrderExportRowDto> rows) {
+        public boolean isEmpty() {
+            return keys.isEmpty();
+        }
+
+        public OrderBatchKeyDto lastKey() {
+            return keys.get(keys.size() - 1);
+        }
+    }
+}
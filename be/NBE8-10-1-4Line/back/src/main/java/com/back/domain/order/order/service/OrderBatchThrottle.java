@@ -0,0 +1,110 @@
+package com.back.domain.order.order.service;
+
+import com.back.global.monitor.ApiLatencyMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 일일 배치 청크 속도 조절 (AIMD)
+ * 청크를 시작하기 전에 지난 청크 동안의 API 평균 지연과 Hikari 커넥션 대기 수를 보고,
+ * 온라인 요청이 밀리면 속도를 backoff-factor 배로 줄이고, 괜찮으면 increase-step 씩 늘린다.
+ * 속도는 [min, max] 초당 청크 수 안에서 움직이며, 청크 시작 간격을 1 / 속도 초로 맞춘다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderBatchThrottle {
+    private final ApiLatencyMonitor apiLatencyMonitor;
+    private final DataSource dataSource;
+
+    @Value("${custom.order.batch.throttle.enabled:true}")
+    private boolean enabled;
+
+    @Value("${custom.order.batch.throttle.min-chunks-per-second:1}")
+    private double minRate;
+
+    @Value("${custom.order.batch.throttle.max-chunks-per-second:20}")
+    private double maxRate;
+
+    @Value("${custom.order.batch.throttle.target-latency-ms:200}")
+    private long targetLatencyMs;
+
+    @Value("${custom.order.batch.throttle.max-pending-connections:0}")
+    private int maxPendingConnections;
+
+    @Value("${custom.order.batch.throttle.increase-step:1}")
+    private double increaseStep;
+
+    @Value("${custom.order.batch.throttle.backoff-factor:0.5}")
+    private double backoffFactor;
+
+    // 0 이면 아직 조정 전 (최대 속도로 시작)
+    private double rate;
+    private long nextChunkAt;
+
+    // 청크를 읽기 전에 호출: 속도를 조정하고 이전 청크 시작부터 간격이 될 때까지 기다린다
+    public void beforeChunk() {
+        if (!enabled) return;
+
+        long waitNanos = reserve();
+        if (waitNanos <= 0) return;
+
+        // 잠금 밖에서 기다린다 (가상 스레드에서 synchronized 안에 잠들면 캐리어 스레드가 고정됨)
+        try {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("배치 속도 조절 중 중단되었습니다.", e);
+        }
+    }
+
+    public synchronized double currentRate() {
+        return rate > 0 ? rate : maxRate;
+    }
+
+    private synchronized long reserve() {
+        adjust();
+
+        long now = System.nanoTime();
+        long start = Math.max(now, nextChunkAt);
+        nextChunkAt = start + (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        return start - now;
+    }
+
+    private void adjust() {
+        ApiLatencyMonitor.Window window = apiLatencyMonitor.drain();
+        int pending = pendingConnections();
+        double previous = currentRate();
+
+        boolean congested = window.avgMillis() > targetLatencyMs || pending > maxPendingConnections;
+        rate = congested
+                ? Math.max(minRate, previous * backoffFactor)
+                : Math.min(maxRate, previous + increaseStep);
+
+        if (congested && rate < previous) {
+            log.info("온라인 요청 지연으로 배치 속도 감소 - API 평균: {}ms (최대 {}ms, {}건), 커넥션 대기: {}, 속도: {} -> {} 청크/초",
+                    window.avgMillis(), window.maxMillis(), window.requests(), pending,
+                    String.format("%.2f", previous), String.format("%.2f", rate));
+        }
+    }
+
+    // 커넥션을 기다리는 스레드 수 (Hikari 가 아니거나 풀이 아직 없으면 0)
+    private int pendingConnections() {
+        try {
+            if (!dataSource.isWrapperFor(HikariDataSource.class)) return 0;
+
+            HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+            return pool == null ? 0 : pool.getThreadsAwaitingConnection();
+        } catch (SQLException e) {
+            return 0;
+        }
+    }
+}
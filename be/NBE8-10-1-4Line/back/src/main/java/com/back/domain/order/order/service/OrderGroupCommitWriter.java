@@ -0,0 +1,201 @@
+package com.back.domain.order.order.service;
+
+import com.back.domain.order.order.dto.OrderCreateRequestDto;
+import com.back.domain.order.order.dto.OrderDto;
+import com.back.domain.order.order.entity.Order;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 주문 생성 그룹 커밋 (custom.order.group-commit.enabled=true 일 때만 사용)
+ * 검증된 주문을 bounded 큐에 넣고, 전용 writer 스레드가 여러 건을 모아 한 트랜잭션으로 커밋한다.
+ * 호출자는 자기 주문이 포함된 배치가 커밋되면 CompletableFuture 로 결과를 받는다.
+ * 대기 시간을 넘긴 주문은 writer 가 가져가기 전이면 취소되어 커밋되지 않는다.
+ */
+@Slf4j
+@Component
+public class OrderGroupCommitWriter {
+    private final OrderService orderService;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final long callerTimeoutMs;
+    private final BlockingQueue<PendingOrder> queue;
+
+    private final AtomicLong committedBatches = new AtomicLong();
+    private final AtomicLong committedOrders = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public OrderGroupCommitWriter(
+            OrderService orderService,
+            @Value("${custom.order.group-commit.enabled:false}") boolean enabled,
+            @Value("${custom.order.group-commit.queue-capacity:10000}") int queueCapacity,
+            @Value("${custom.order.group-commit.max-batch-size:200}") int maxBatchSize,
+            @Value("${custom.order.group-commit.max-wait-ms:5}") long maxWaitMs,
+            @Value("${custom.order.group-commit.caller-timeout-ms:5000}") long callerTimeoutMs
+    ) {
+        this.orderService = orderService;
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        this.callerTimeoutMs = callerTimeoutMs;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) return;
+
+        running = true;
+        writerThread = Thread.ofPlatform()
+                .name("order-group-commit")
+                .daemon(true)
+                .start(this::runLoop);
+        log.info("주문 그룹 커밋 시작 - 최대 배치: {}건, 대기열: {}건", maxBatchSize, queue.remainingCapacity());
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writerThread == null) return;
+
+        // 남은 주문은 모두 커밋한 뒤 종료
+        running = false;
+        writerThread.interrupt();
+        writerThread.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public OrderDto submit(OrderCreateRequestDto request) {
+        PendingOrder pending = new PendingOrder(request, new CompletableFuture<>(), new AtomicBoolean());
+
+        if (!running || !queue.offer(pending)) {
+            throw new IllegalStateException("주문 접수 대기열이 가득 찼습니다. 잠시 후 다시 시도해 주세요.");
+        }
+
+        try {
+            try {
+                return pending.future().get(callerTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // writer 가 아직 가져가지 않았으면 취소 -> writer 가 건너뛰므로 나중에 커밋되지 않는다
+                if (pending.take()) {
+                    pending.future().cancel(false);
+                    throw new IllegalStateException("주문 처리 시간이 초과되었습니다. 잠시 후 다시 시도해 주세요.");
+                }
+
+                // 이미 커밋 중인 배치에 포함됐으면 그 결과를 그대로 돌려준다
+                return pending.future().get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new RuntimeException("주문 생성 실패", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (pending.take()) {
+                pending.future().cancel(false);
+                throw new IllegalStateException("주문 처리가 중단되었습니다.");
+            }
+            throw new IllegalStateException("주문 처리가 중단되었습니다. 주문 내역을 확인해 주세요.");
+        }
+    }
+
+    public long committedBatches() {
+        return committedBatches.get();
+    }
+
+    public long committedOrders() {
+        return committedOrders.get();
+    }
+
+    private void runLoop() {
+        List<PendingOrder> batch = new ArrayList<>(maxBatchSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                try {
+                    PendingOrder first = running ? queue.poll(100, TimeUnit.MILLISECONDS) : queue.poll();
+                    if (first == null) continue;
+
+                    batch.add(first);
+                    fillBatch(batch);
+                } catch (InterruptedException e) {
+                    // stop() 호출: 큐가 빌 때까지 계속 처리
+                    if (batch.isEmpty()) continue;
+                }
+
+                // 호출자가 시간 초과로 취소한 주문은 빼고 커밋한다
+                batch.removeIf(pending -> !pending.take());
+                if (!batch.isEmpty()) commit(batch);
+            } catch (Throwable e) {
+                // Error 등으로 배치를 끝내지 못했으면 남은 호출자를 모두 실패시키고 writer 는 계속 돈다
+                log.error("주문 그룹 커밋 writer 오류 - {}건 실패 처리", batch.size(), e);
+                batch.forEach(pending -> pending.future().completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // 최대 maxWait 동안 배치를 채운다
+    private void fillBatch(List<PendingOrder> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + maxWaitNanos;
+
+        while (batch.size() < maxBatchSize) {
+            if (queue.drainTo(batch, maxBatchSize - batch.size()) > 0) continue;
+
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0 || !running) return;
+
+            PendingOrder next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) return;
+            batch.add(next);
+        }
+    }
+
+    private void commit(List<PendingOrder> batch) {
+        try {
+            List<Order> orders = orderService.createAll(batch.stream().map(PendingOrder::request).toList());
+            committedBatches.incrementAndGet();
+            committedOrders.addAndGet(orders.size());
+
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).future().complete(new OrderDto(orders.get(i)));
+            }
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).future().completeExceptionally(e);
+                return;
+            }
+
+            // 한 건 때문에 배치 전체가 롤백됐으므로 한 건씩 다시 커밋해서 실패 주문만 골라낸다
+            log.warn("주문 그룹 커밋 실패 - {}건을 개별 커밋으로 재시도", batch.size(), e);
+            for (PendingOrder pending : batch) {
+                commit(List.of(pending));
+            }
+        }
+    }
+
+    private record PendingOrder(
+            OrderCreateRequestDto request,
+            CompletableFuture<OrderDto> future,
+            AtomicBoolean taken
+    ) {
+        // writer(커밋) 와 호출자(취소) 중 먼저 가져간 쪽만 true
+        boolean take() {
+            return taken.compareAndSet(false, true);
+        }
+    }
+}
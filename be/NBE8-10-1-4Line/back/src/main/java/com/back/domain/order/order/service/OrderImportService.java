@@ -0,0 +1,276 @@
+package com.back.domain.order.order.service;
+
+import com.back.domain.order.order.dto.OrderCreateRequestDto;
+import com.back.domain.order.order.dto.OrderImportResultDto;
+import com.back.domain.product.product.entity.Product;
+import com.back.domain.product.product.repository.ProductRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 대량 주문 일괄 등록
+ * 요청 본문(NDJSON / CSV)을 한 줄씩 읽어 검증하고, chunkSize 건씩 OrderService.createAll 로 저장한다.
+ * 이 서비스는 트랜잭션을 열지 않으므로 청크마다 별도 트랜잭션으로 커밋된다.
+ * 없는 상품을 가리키는 행은 저장 전에 걸러내고, 그래도 청크 저장이 실패하면 한 건씩 다시 저장해서 실패한 행만 거부한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderImportService {
+    public static final int MAX_REJECTED_LINES = 1000;
+
+    // CSV 헤더: items 는 "상품ID:수량;상품ID:수량" 형식
+    private static final List<String> CSV_HEADERS = List.of("email", "shippingAddress", "shippingCode", "items");
+
+    private final OrderService orderService;
+    private final ProductRepository productRepository;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final EntityManager entityManager;
+
+    @Value("${custom.order.import.chunk-size:500}")
+    private int chunkSize;
+
+    public OrderImportResultDto importOrders(InputStream body, boolean csv) {
+        ImportContext context = new ImportContext();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            skipBom(reader);
+
+            if (csv) readCsv(reader, context);
+            else readNdjson(reader, context);
+        } catch (IOException e) {
+            log.error("주문 일괄 등록 파일 읽기 중 에러 발생", e);
+            throw new RuntimeException("주문 일괄 등록 파일 읽기 실패", e);
+        }
+
+        context.flush();
+        log.info("주문 일괄 등록 완료 - 전체: {}건, 등록: {}건, 거부: {}건",
+                context.lineNo, context.importedCount, context.rejectedCount);
+
+        return context.toResult();
+    }
+
+    private void readNdjson(BufferedReader reader, ImportContext context) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            long lineNo = ++context.lineNo;
+            if (line.isBlank()) {
+                context.reject(lineNo, "빈 줄입니다.");
+                continue;
+            }
+
+            try {
+                context.accept(lineNo, objectMapper.readValue(line, OrderCreateRequestDto.class));
+            } catch (JsonProcessingException e) {
+                context.reject(lineNo, "JSON 형식이 올바르지 않습니다.");
+            }
+        }
+    }
+
+    private void readCsv(BufferedReader reader, ImportContext context) throws IOException {
+        CSVFormat format = CSVFormat.DEFAULT.builder()
+                .setHeader()
+                .setSkipHeaderRecord(true)
+                .setTrim(true)
+                .build();
+
+        try (CSVParser parser = format.parse(reader)) {
+            if (!parser.getHeaderNames().containsAll(CSV_HEADERS)) {
+                throw new IllegalArgumentException("CSV 헤더는 " + String.join(",", CSV_HEADERS) + " 를 포함해야 합니다.");
+            }
+
+            for (CSVRecord record : parser) {
+                long lineNo = ++context.lineNo;
+                if (!CSV_HEADERS.stream().allMatch(record::isSet)) {
+                    context.reject(lineNo, "CSV 컬럼 수가 올바르지 않습니다.");
+                    continue;
+                }
+
+                try {
+                    context.accept(lineNo, new OrderCreateRequestDto(
+                            record.get("email"),
+                            record.get("shippingAddress"),
+                            record.get("shippingCode"),
+                            parseCsvItems(record.get("items"))
+                    ));
+                } catch (NumberFormatException e) {
+                    context.reject(lineNo, "items 형식이 올바르지 않습니다. (상품ID:수량;상품ID:수량)");
+                }
+            }
+        }
+    }
+
+    private List<OrderCreateRequestDto.OrderItemRequest> parseCsvItems(String value) {
+        List<OrderCreateRequestDto.OrderItemRequest> items = new ArrayList<>();
+
+        for (String token : value.split(";")) {
+            if (token.isBlank()) continue;
+
+            String[] pair = token.split(":", 2);
+            if (pair.length != 2) throw new NumberFormatException(token);
+
+            items.add(new OrderCreateRequestDto.OrderItemRequest(
+                    Long.parseLong(pair[0].trim()),
+                    Integer.parseInt(pair[1].trim())
+            ));
+        }
+
+        return items;
+    }
+
+    // 엑셀에서 저장한 CSV 는 UTF-8 BOM 으로 시작할 수 있음
+    private void skipBom(BufferedReader reader) throws IOException {
+        reader.mark(1);
+        if (reader.read() != '\uFEFF') reader.reset();
+    }
+
+    private String validate(OrderCreateRequestDto request) {
+        Set<ConstraintViolation<OrderCreateRequestDto>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.iterator().next().getMessage();
+        }
+
+        if (request.items() == null || request.items().isEmpty()) {
+            return "주문 품목은 1개 이상이어야 합니다.";
+        }
+
+        return null;
+    }
+
+    private class ImportContext {
+        private final List<OrderCreateRequestDto> chunk = new ArrayList<>();
+        private final List<Long> chunkLines = new ArrayList<>();
+        private final List<OrderImportResultDto.ChunkResult> chunkResults = new ArrayList<>();
+        private final List<OrderImportResultDto.RejectedLine> rejectedLines = new ArrayList<>();
+
+        private long lineNo;
+        private long importedCount;
+        private long rejectedCount;
+
+        void accept(long lineNo, OrderCreateRequestDto request) {
+            String error = validate(request);
+            if (error != null) {
+                reject(lineNo, error);
+                return;
+            }
+
+            chunk.add(request);
+            chunkLines.add(lineNo);
+
+            if (chunk.size() >= chunkSize) flush();
+        }
+
+        void reject(long lineNo, String reason) {
+            rejectedCount++;
+            if (rejectedLines.size() < MAX_REJECTED_LINES) {
+                rejectedLines.add(new OrderImportResultDto.RejectedLine(lineNo, reason));
+            }
+        }
+
+        void flush() {
+            if (chunk.isEmpty()) return;
+
+            int chunkNo = chunkResults.size() + 1;
+            long firstLine = chunkLines.get(0);
+            long lastLine = chunkLines.get(chunkLines.size() - 1);
+
+            try {
+                rejectUnknownProducts();
+                if (chunk.isEmpty()) {
+                    chunkResults.add(new OrderImportResultDto.ChunkResult(chunkNo, firstLine, lastLine, 0, false, "저장할 행 없음"));
+                    return;
+                }
+
+                int saved = orderService.createAll(chunk).size();
+                importedCount += saved;
+                chunkResults.add(new OrderImportResultDto.ChunkResult(chunkNo, firstLine, lastLine, saved, true, "저장 완료"));
+            } catch (RuntimeException e) {
+                // 한 건 때문에 청크 전체가 롤백됐으므로 한 건씩 다시 저장해서 실패한 행만 거부한다
+                log.warn("주문 일괄 등록 {}번 청크 저장 실패 ({}~{}행) - {}건을 개별 저장으로 재시도",
+                        chunkNo, firstLine, lastLine, chunk.size(), e);
+                entityManager.clear();
+                int saved = saveOneByOne();
+                importedCount += saved;
+                chunkResults.add(new OrderImportResultDto.ChunkResult(chunkNo, firstLine, lastLine, saved, saved > 0, "개별 저장으로 재시도"));
+            } finally {
+                // open-in-view 로 요청 내내 같은 영속성 컨텍스트가 유지되므로 청크마다 비워서 메모리를 일정하게 유지
+                entityManager.clear();
+                chunk.clear();
+                chunkLines.clear();
+            }
+        }
+
+        // 청크의 상품 id 를 IN 쿼리 한 번으로 확인해서 없는(삭제된) 상품을 가리키는 행만 뺀다
+        private void rejectUnknownProducts() {
+            Set<Long> productIds = chunk.stream()
+                    .flatMap(req -> req.items().stream())
+                    .map(OrderCreateRequestDto.OrderItemRequest::productId)
+                    .collect(Collectors.toSet());
+
+            Set<Long> knownIds = productRepository.findAllById(productIds).stream()
+                    .map(Product::getId)
+                    .collect(Collectors.toSet());
+            if (knownIds.size() == productIds.size()) return;
+
+            for (int i = chunk.size() - 1; i >= 0; i--) {
+                Long unknownId = chunk.get(i).items().stream()
+                        .map(OrderCreateRequestDto.OrderItemRequest::productId)
+                        .filter(id -> !knownIds.contains(id))
+                        .findFirst()
+                        .orElse(null);
+                if (unknownId == null) continue;
+
+                reject(chunkLines.get(i), "존재하지 않는 상품입니다: " + unknownId);
+                chunk.remove(i);
+                chunkLines.remove(i);
+            }
+        }
+
+        private int saveOneByOne() {
+            int saved = 0;
+            for (int i = 0; i < chunk.size(); i++) {
+                try {
+                    orderService.createAll(List.of(chunk.get(i)));
+                    saved++;
+                } catch (RuntimeException e) {
+                    String msg = e.getMessage() != null ? e.getMessage() : "저장 실패";
+                    reject(chunkLines.get(i), "저장 실패: " + msg);
+                } finally {
+                    entityManager.clear();
+                }
+            }
+            return saved;
+        }
+
+        OrderImportResultDto toResult() {
+            return new OrderImportResultDto(
+                    lineNo,
+                    importedCount,
+                    rejectedCount,
+                    chunkResults,
+                    rejectedLines
+            );
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.back.domain.order.order.service;
+
+import com.back.domain.order.order.dto.OrderReportJobDto;
+import com.back.domain.order.order.entity.OrderBatchJob;
+import com.back.domain.order.order.entity.OrderBatchJobStatus;
+import com.back.domain.order.order.repository.OrderBatchJobRepository;
+import com.back.domain.order.order.util.OrderFileHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.file.Path;
+import java.util.List;
+
+// 관리자용 리포트 작업: 일정 밖 실행 / 진행 상황 / 완료된 파일 조회
+@Service
+@RequiredArgsConstructor
+public class OrderReportService {
+    private final OrderBatchService orderBatchService;
+    private final OrderBatchJobRepository orderBatchJobRepository;
+    private final OrderFileHandler orderFileHandler;
+
+    public OrderReportJobDto start() {
+        OrderBatchJob job = orderBatchService.startOnDemandBatch();
+        return getJob(job.getId());
+    }
+
+    @Transactional(readOnly = true)
+    public OrderReportJobDto getJob(Long jobId) {
+        OrderBatchJob job = findJob(jobId);
+        List<String> files = job.getStatus() == OrderBatchJobStatus.COMPLETED
+                ? orderFileHandler.reportFiles(job.getReportBase()).stream()
+                .map(file -> file.getFileName().toString())
+                .toList()
+                : List.of();
+
+        return new OrderReportJobDto(job, files);
+    }
+
+    // 완료된 작업의 파일만 (목록에 있는 이름과 정확히 같아야 하므로 경로 조작은 걸러진다)
+    @Transactional(readOnly = true)
+    public Path getReportFile(Long jobId, String fileName) {
+        OrderBatchJob job = findJob(jobId);
+        if (job.getStatus() != OrderBatchJobStatus.COMPLETED) {
+            throw new IllegalStateException("%d번 배치 작업이 아직 완료되지 않았습니다. (상태: %s)".formatted(jobId, job.getStatus()));
+        }
+
+        return orderFileHandler.reportFiles(job.getReportBase()).stream()
+                .filter(file -> file.getFileName().toString().equals(fileName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("리포트 파일을 찾을 수 없습니다: " + fileName));
+    }
+
+    private OrderBatchJob findJob(Long jobId) {
+        return orderBatchJobRepository.findById(jobId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 배치 작업입니다: " + jobId));
+    }
+}
@@ -1,39 +1,48 @@
 package com.back.domain.order.order.service;
 
 import com.back.domain.customer.customer.entity.Customer;
-import com.back.domain.customer.customer.repository.CustomerRepository;
+import com.back.domain.customer.customer.service.CustomerService;
+import com.back.domain.order.order.cache.OrderQueryCache;
 import com.back.domain.order.order.dto.*;
 import com.back.domain.order.order.entity.Order;
 import com.back.domain.order.order.entity.OrderItem;
 import com.back.domain.order.order.entity.OrderStatus;
-import com.back.domain.order.order.entity.OrderStatus;
-import com.back.domain.order.order.repository.OrderRepository;
-import com.back.domain.order.order.dto.OrderProductDetailDto;
-import com.back.domain.order.order.dto.OrderProductSummaryDto;
 import com.back.domain.order.order.repository.OrderItemRepository;
 import com.back.domain.order.order.repository.OrderRepository;
 import com.back.domain.product.product.entity.Product;
 import com.back.domain.product.product.repository.ProductRepository;
 import com.back.global.email.EmailService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
-
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class OrderService {
     private final OrderRepository orderRepository;
-    private final CustomerRepository customerRepository;
+    private final CustomerService customerService;
     private final ProductRepository productRepository;
     private final OrderItemRepository orderItemRepository;
     private final EmailService emailService;
+    private final CustomerProductSummaryService customerProductSummaryService;
+    private final OrderQueryCache orderQueryCache;
+
+    @Value("${custom.order.detail.page-size:20}")
+    private int detailPageSize;
+
+    @Value("${custom.order.detail.max-page-size:100}")
+    private int detailMaxPageSize;
 
     private static final Set<OrderStatus> EDITABLE_STATUSES = Set.of(
             OrderStatus.ORDERED,
@@ -42,66 +51,136 @@ public class OrderService {
 
     public Order create(String email, String shippingAddress, String shippingCode, List<OrderCreateRequestDto.OrderItemRequest> items) {
         Customer customer = getOrCreateCustomer(email);
-        List<OrderItem> orderItems = createOrderItems(items);
+        List<OrderItem> orderItems = createOrderItems(items, findProductMap(items));
         Order order = Order.create(
                 customer,
                 shippingAddress,
                 shippingCode,
                 orderItems
         );
-        return orderRepository.save(order);
+        Order saved = orderRepository.save(order);
+        customerProductSummaryService.addOrders(List.of(saved));
+        orderQueryCache.evictOrder(email, productIds(saved));
+        return saved;
+    }
+
+    // 일괄 등록 / 그룹 커밋용: 한 트랜잭션에서 여러 주문을 저장 (상품은 전체를 한 번에 조회)
+    public List<Order> createAll(List<OrderCreateRequestDto> requests) {
+        Map<Long, Product> productMap = findProductMap(
+                requests.stream()
+                        .flatMap(req -> req.items().stream())
+                        .toList()
+        );
+
+        List<Order> orders = requests.stream()
+                .map(req -> Order.create(
+                        getOrCreateCustomer(req.email()),
+                        req.shippingAddress(),
+                        req.shippingCode(),
+                        createOrderItems(req.items(), productMap)
+                ))
+                .toList();
+
+        orderRepository.saveAll(orders);
+        orderRepository.flush();
+        customerProductSummaryService.addOrders(orders);
+        orders.forEach(order -> orderQueryCache.evictOrder(order.getCustomer().getEmail(), productIds(order)));
+        return orders;
     }
 
     private Customer getOrCreateCustomer(String email) {
-        return customerRepository.findByEmail(email)
-                .orElseGet(() -> {
-                    Customer newCustomer = new Customer(email);
-                    return customerRepository.save(newCustomer);
-                });
+        return customerService.getOrCreate(email);
     }
 
-    private List<OrderItem> createOrderItems(List<OrderCreateRequestDto.OrderItemRequest> items) {
+    private List<OrderItem> createOrderItems(List<OrderCreateRequestDto.OrderItemRequest> items, Map<Long, Product> productMap) {
         return items.stream()
                 .<OrderItem>map(itemReq -> {
-                    Long productId = itemReq.productId();
-                    Product product = productRepository.findById(productId)
-                            .orElseThrow(() -> new IllegalArgumentException("Product not found: " + itemReq.productId()));
+                    Product product = productMap.get(itemReq.productId());
+                    if (product == null) {
+                        throw new IllegalArgumentException("Product not found: " + itemReq.productId());
+                    }
                     return OrderItem.create(product, itemReq.quantity());
                 })
                 .toList();
     }
 
+    // 품목마다 findById 하지 않고 IN 쿼리 한 번으로 상품을 모아서 조회
+    private Map<Long, Product> findProductMap(List<OrderCreateRequestDto.OrderItemRequest> items) {
+        Set<Long> productIds = items.stream()
+                .map(OrderCreateRequestDto.OrderItemRequest::productId)
+                .collect(Collectors.toSet());
+
+        return productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+    }
+
     @Transactional(readOnly = true)
     public Optional<Order> findById(long id) {
         return orderRepository.findById(id);
     }
 
+    // 다른 고객의 주문 id 를 넣어도 있는지 알 수 없도록 같은 메시지
+    @Transactional(readOnly = true)
+    public OrderDto getOrder(Long orderId, String email) {
+        return orderRepository.findById(orderId)
+                .filter(order -> order.getCustomer().getEmail().equals(email))
+                .map(OrderDto::new)
+                .orElseThrow(() -> new IllegalArgumentException("주문이 존재하지 않습니다."));
+    }
+
     @Transactional
     public void delete(Long orderId) {
-        Order order = orderRepository.findById(orderId)
+        // 배치 선점과 겹치지 않도록 행을 잠그고 상태를 확인
+        Order order = orderRepository.findByIdForUpdate(orderId)
                 .orElseThrow(() -> new IllegalArgumentException("주문이 존재하지 않습니다."));
 
         if (order.getOrderStatus() != OrderStatus.ORDERED) {
             throw new IllegalStateException("접수 상태의 주문만 취소(삭제)할 수 있습니다.");
         }
 
+        orderQueryCache.evictOrder(order.getCustomer().getEmail(), productIds(order));
+        customerProductSummaryService.removeOrder(orderId);
         orderRepository.delete(order);
     }
 
 
-    @Transactional(readOnly = true)
+    // 주문 이력을 집계하지 않고 요약 읽기 모델(customer_product_summary)에서 읽는다
+    // 캐시 적중 시 커넥션을 잡지 않도록 트랜잭션을 열지 않는다 (미적중 조회는 읽기 전용 트랜잭션 하나)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<OrderProductSummaryDto> getProductSummaries(String email) {
-        return orderItemRepository.findProductSummaries(email);
+        return orderQueryCache.getSummaries(email, () -> customerProductSummaryService.getSummaries(email));
     }
-    @Transactional(readOnly = true)
-    public List<OrderProductDetailDto> getProductDetails(String email, Long productId) {
-        return orderItemRepository.findProductDetails(email, productId);
+    // 상품별 주문 상세 keyset 페이지 (최근 주문부터), 새로고침이 몰리는 기본 크기 첫 페이지만 캐시
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public OrderProductDetailPageDto getProductDetails(String email, Long productId, String cursor, Integer size) {
+        int pageSize = size == null ? detailPageSize : size;
+        if (pageSize < 1 || pageSize > detailMaxPageSize) {
+            throw new IllegalArgumentException("페이지 크기는 1 이상 %d 이하여야 합니다.".formatted(detailMaxPageSize));
+        }
+
+        // 다음 페이지가 있는지 알기 위해 한 행 더 읽는다
+        PageRequest page = PageRequest.ofSize(pageSize + 1);
+        List<OrderProductDetailDto> rows;
+        if (cursor == null) {
+            rows = pageSize == detailPageSize
+                    ? orderQueryCache.getDetails(email, productId, () -> orderItemRepository.findProductDetailsFirstPage(email, productId, page))
+                    : orderItemRepository.findProductDetailsFirstPage(email, productId, page);
+        } else {
+            OrderDetailCursorDto after = OrderDetailCursorDto.decode(cursor);
+            rows = orderItemRepository.findProductDetailsAfter(email, productId, after.orderTime(), after.orderId(), page);
+        }
+
+        if (rows.size() <= pageSize) return new OrderProductDetailPageDto(rows, null);
+
+        List<OrderProductDetailDto> items = rows.subList(0, pageSize);
+        OrderProductDetailDto last = items.get(pageSize - 1);
+        return new OrderProductDetailPageDto(items, new OrderDetailCursorDto(last.orderTime(), last.orderId()).encode());
     }
 
     public OrderDto updateOrderShippingInfo(Long orderId, OrderUpdateDto request) {
 
-        //주문 엔티티 조회
-        Order order = orderRepository.findById(orderId)
+        //주문 엔티티 조회 (배치가 이미 선점했다면 PROCESSING 으로 보여 수정이 거부된다)
+        Order order = orderRepository.findByIdForUpdate(orderId)
                 .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 주문 ID입니다: " + orderId));
 
         //수정 가능 유무 검증
@@ -113,6 +192,7 @@ public class OrderService {
 
         order.setShippingAddress(request.getShippingAddress());
         order.setShippingCode(request.getShippingCode());
+        orderQueryCache.evictDetails(order.getCustomer().getEmail(), productIds(order));
 
         return new OrderDto(order);
     }
@@ -122,8 +202,16 @@ public class OrderService {
                 .orElseThrow(() -> new IllegalArgumentException("주문 없음"));
 
         order.setOrderStatus(newStatus);
+        orderQueryCache.evictDetails(order.getCustomer().getEmail(), productIds(order));
 
         // 이메일 발송 서비스 호출 (비동기)
         emailService.sendStatusEmail(order.getCustomer().getEmail(), newStatus.name());
     }
+
+    // 캐시 무효화 대상 상품 (품목의 상품은 프록시여도 id 만 읽으므로 초기화되지 않음)
+    private Set<Long> productIds(Order order) {
+        return order.getOrderItems().stream()
+                .map(item -> item.getProduct().getId())
+                .collect(Collectors.toSet());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,259 @@
+package com.back.domain.order.order.service;
+
+import com.back.domain.order.order.dto.OrderCreateRequestDto;
+import com.back.domain.order.order.spool.OrderSpool;
+import com.back.domain.product.product.repository.ProductRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLTransientConnectionException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * DB 장애 중 들어온 주문을 로컬 spool 파일(OrderSpool)에 적재하고, DB 가 복구되면 순서대로 배치 재처리한다.
+ * custom.order.spool.enabled=true 일 때만 동작
+ * 적재 전에 DB 가 살아 있을 때 받아 둔 상품 id 목록으로 상품을 검증하고 (목록이 없으면 접수하지 않음),
+ * DB 장애가 아닌 이유로 재처리에 실패한 주문은 버리지 않고 dead-letter 파일(한 줄에 JSON 하나)로 옮긴다.
+ */
+@Slf4j
+@Service
+public class OrderSpoolService {
+    private final OrderService orderService;
+    private final ProductRepository productRepository;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Path path;
+    private final Path deadLetterPath;
+    private final int capacityBytes;
+    private final boolean fsync;
+    private final int replayBatchSize;
+    private final long dbDownMillis;
+    private final ReentrantLock replayLock = new ReentrantLock();
+
+    private OrderSpool spool;
+    private volatile long dbDownUntil;
+
+    // 적재 시 상품 검증용 (DB 가 살아 있을 때 갱신, null 이면 아직 한 번도 읽지 못함)
+    private volatile Set<Long> knownProductIds;
+
+    public OrderSpoolService(
+            OrderService orderService,
+            ProductRepository productRepository,
+            ObjectMapper objectMapper,
+            @Value("${custom.order.spool.enabled:false}") boolean enabled,
+            @Value("${custom.order.spool.path:spool/orders.spool}") String path,
+            @Value("${custom.order.spool.dead-letter-path:spool/orders.dead.ndjson}") String deadLetterPath,
+            @Value("${custom.order.spool.capacity-mb:64}") int capacityMb,
+            @Value("${custom.order.spool.fsync:true}") boolean fsync,
+            @Value("${custom.order.spool.replay-batch-size:100}") int replayBatchSize,
+            @Value("${custom.order.spool.db-down-ms:10000}") long dbDownMillis
+    ) {
+        this.orderService = orderService;
+        this.productRepository = productRepository;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.path = Path.of(path);
+        this.deadLetterPath = Path.of(deadLetterPath);
+        this.capacityBytes = capacityMb * 1024 * 1024;
+        this.fsync = fsync;
+        this.replayBatchSize = replayBatchSize;
+        this.dbDownMillis = dbDownMillis;
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (!enabled) return;
+
+        spool = new OrderSpool(path, capacityBytes, fsync);
+        refreshProductIds();
+        log.info("주문 spool 사용 - 파일: {}, 미처리: {}건", path.toAbsolutePath(), spool.pendingCount());
+    }
+
+    // 상품 id 목록 갱신 (DB 장애 중이면 마지막으로 읽은 목록 유지)
+    public void refreshProductIds() {
+        if (!enabled || System.currentTimeMillis() < dbDownUntil) return;
+
+        try {
+            knownProductIds = Set.copyOf(productRepository.findAllIds());
+        } catch (RuntimeException e) {
+            if (!isDatabaseUnavailable(e)) throw e;
+            markDatabaseDown();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (spool != null) spool.close();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // DB 장애로 판단됐거나 아직 재처리할 주문이 남아 있으면 (순서 보장을 위해) 바로 spool 에 적재
+    public boolean shouldSpool() {
+        return enabled && (System.currentTimeMillis() < dbDownUntil || spool.pendingCount() > 0);
+    }
+
+    public void markDatabaseDown() {
+        dbDownUntil = System.currentTimeMillis() + dbDownMillis;
+    }
+
+    // 접수(202) 전에 OrderService 와 같은 기준으로 상품을 검증한다 (재처리 때 거부될 주문을 받지 않도록)
+    public void append(OrderCreateRequestDto request) {
+        Set<Long> productIds = knownProductIds;
+        if (productIds == null) {
+            throw new IllegalStateException("상품 정보를 확인할 수 없어 주문을 접수하지 못했습니다. 잠시 후 다시 시도해 주세요.");
+        }
+        for (OrderCreateRequestDto.OrderItemRequest item : request.items()) {
+            if (!productIds.contains(item.productId())) {
+                throw new IllegalArgumentException("Product not found: " + item.productId());
+            }
+        }
+
+        try {
+            spool.append(objectMapper.writeValueAsBytes(request));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public int pendingCount() {
+        return enabled ? spool.pendingCount() : 0;
+    }
+
+    // spool 에 쌓인 주문을 replayBatchSize 건씩 한 트랜잭션으로 재처리
+    public int replay() {
+        if (!enabled || spool.pendingCount() == 0 || !replayLock.tryLock()) return 0;
+
+        int replayed = 0;
+        try {
+            while (true) {
+                List<OrderSpool.SpoolRecord> records = spool.read(replayBatchSize);
+                if (records.isEmpty()) break;
+
+                List<OrderCreateRequestDto> requests = new ArrayList<>();
+                records.forEach(record -> requests.add(deserialize(record)));
+
+                try {
+                    if (requests.stream().anyMatch(request -> request == null)) {
+                        throw new IllegalArgumentException("spool 레코드를 읽을 수 없습니다.");
+                    }
+
+                    orderService.createAll(requests);
+                    spool.commit(records.get(records.size() - 1), records.size());
+                    replayed += records.size();
+                } catch (RuntimeException e) {
+                    if (isDatabaseUnavailable(e)) {
+                        markDatabaseDown();
+                        log.warn("주문 spool 재처리 중단 - DB 연결 불가 (미처리: {}건)", spool.pendingCount());
+                        break;
+                    }
+
+                    int done = replayOneByOne(records, requests);
+                    replayed += done;
+                    if (done < records.size()) break;
+                }
+            }
+        } finally {
+            replayLock.unlock();
+        }
+
+        if (replayed > 0) {
+            log.info("주문 spool 재처리 완료 - {}건 (미처리: {}건)", replayed, spool.pendingCount());
+        }
+
+        return replayed;
+    }
+
+    // 배치에 문제 주문이 섞여 있으면 한 건씩 커밋하고, 처리할 수 없는 주문은 dead-letter 파일로 옮긴다
+    // (dead-letter 기록에 실패하면 spool 에서 지우지 않고 멈춤 -> 다음 주기에 다시 시도)
+    private int replayOneByOne(List<OrderSpool.SpoolRecord> records, List<OrderCreateRequestDto> requests) {
+        for (int i = 0; i < records.size(); i++) {
+            OrderSpool.SpoolRecord record = records.get(i);
+            OrderCreateRequestDto request = requests.get(i);
+
+            try {
+                if (request == null) throw new IllegalArgumentException("spool 레코드를 읽을 수 없습니다.");
+                orderService.createAll(List.of(request));
+            } catch (RuntimeException e) {
+                if (isDatabaseUnavailable(e)) {
+                    markDatabaseDown();
+                    return i;
+                }
+
+                try {
+                    deadLetter(record, e);
+                } catch (IOException ioException) {
+                    log.error("주문 spool dead-letter 기록 실패 - 재처리 중단: {}", deadLetterPath.toAbsolutePath(), ioException);
+                    return i;
+                }
+                log.error("주문 spool 재처리 실패 - dead-letter 로 이동 ({}): {}",
+                        deadLetterPath.toAbsolutePath(), new String(record.payload(), StandardCharsets.UTF_8), e);
+            }
+
+            spool.commit(record, 1);
+        }
+
+        return records.size();
+    }
+
+    // 실패한 주문 원문과 사유를 한 줄로 남기고 디스크까지 내린다 (spool 에서 지우기 전에)
+    private void deadLetter(OrderSpool.SpoolRecord record, RuntimeException e) throws IOException {
+        ObjectNode line = objectMapper.createObjectNode();
+        line.put("failedAt", LocalDateTime.now().toString());
+        line.put("error", e.getClass().getSimpleName() + ": " + e.getMessage());
+        line.put("payload", new String(record.payload(), StandardCharsets.UTF_8));
+
+        Path parent = deadLetterPath.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        try (FileChannel channel = FileChannel.open(deadLetterPath,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap((objectMapper.writeValueAsString(line) + "\n").getBytes(StandardCharsets.UTF_8)));
+            channel.force(true);
+        }
+    }
+
+    private OrderCreateRequestDto deserialize(OrderSpool.SpoolRecord record) {
+        try {
+            return objectMapper.readValue(record.payload(), OrderCreateRequestDto.class);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    public static boolean isDatabaseUnavailable(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof CannotCreateTransactionException
+                    || cause instanceof DataAccessResourceFailureException
+                    || cause instanceof TransientDataAccessResourceException
+                    || cause instanceof SQLTransientConnectionException
+                    || cause instanceof ConnectException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
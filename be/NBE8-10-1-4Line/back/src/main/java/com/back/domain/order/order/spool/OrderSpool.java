@@ -0,0 +1,203 @@
+package com.back.domain.order.order.spool;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * 메모리 매핑된 append-only 주문 임시 저장 파일
+ *
+ * 헤더(32바이트): [magic int][epoch int][readOffset long]
+ * 레코드: [length int][epoch int][crc32 int][payload]
+ * - length 를 마지막에 기록하므로, 쓰다 만 레코드는 CRC 불일치로 걸러진다.
+ * - 재시작 시 헤더의 readOffset 부터 유효한 레코드를 스캔해서 writeOffset 을 복구한다.
+ * - 모두 재처리되면 epoch 를 올려 이전 레코드를 무효화하고 파일 처음부터 다시 쓴다.
+ */
+public class OrderSpool implements Closeable {
+    private static final int MAGIC = 0x4F535031; // "OSP1"
+    private static final int HEADER_SIZE = 32;
+    private static final int RECORD_HEADER_SIZE = 12;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final boolean fsync;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private int epoch;
+    private int readOffset;
+    private int writeOffset;
+    private int pendingCount;
+
+    public OrderSpool(Path file, int capacity, boolean fsync) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+
+        this.channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        this.capacity = capacity;
+        this.fsync = fsync;
+
+        recover();
+    }
+
+    public void append(byte[] payload) {
+        lock.lock();
+        try {
+            int size = RECORD_HEADER_SIZE + payload.length;
+            if (writeOffset + size > capacity) {
+                throw new IllegalStateException("주문 임시 저장소(spool)가 가득 찼습니다.");
+            }
+
+            buffer.put(writeOffset + RECORD_HEADER_SIZE, payload);
+            buffer.putInt(writeOffset + 8, checksum(epoch, payload));
+            buffer.putInt(writeOffset + 4, epoch);
+            buffer.putInt(writeOffset, payload.length);
+            if (fsync) buffer.force(writeOffset, size);
+
+            writeOffset += size;
+            pendingCount++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // readOffset 부터 최대 maxCount 건 (읽기만 하고 offset 은 commit 에서 옮긴다)
+    public List<SpoolRecord> read(int maxCount) {
+        lock.lock();
+        try {
+            List<SpoolRecord> records = new ArrayList<>();
+            int offset = readOffset;
+
+            while (records.size() < maxCount && offset < writeOffset) {
+                int length = buffer.getInt(offset);
+                byte[] payload = new byte[length];
+                buffer.get(offset + RECORD_HEADER_SIZE, payload);
+
+                offset += RECORD_HEADER_SIZE + length;
+                records.add(new SpoolRecord(offset, payload));
+            }
+
+            return records;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 재처리가 끝난 레코드까지 readOffset 을 옮기고 디스크에 기록
+    public void commit(SpoolRecord lastProcessed, int count) {
+        lock.lock();
+        try {
+            readOffset = lastProcessed.endOffset();
+            pendingCount -= count;
+            buffer.putLong(8, readOffset);
+
+            if (readOffset == writeOffset) {
+                // epoch 를 먼저 올려야 readOffset 만 초기화된 채로 죽어도 이전 레코드가 다시 재처리되지 않는다
+                epoch++;
+                buffer.putInt(4, epoch);
+                readOffset = HEADER_SIZE;
+                writeOffset = HEADER_SIZE;
+                buffer.putLong(8, readOffset);
+            }
+
+            buffer.force(0, HEADER_SIZE);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int pendingCount() {
+        lock.lock();
+        try {
+            return pendingCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            buffer.force();
+            channel.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void recover() {
+        if (buffer.getInt(0) != MAGIC) {
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, 1);
+            buffer.putLong(8, HEADER_SIZE);
+            buffer.force(0, HEADER_SIZE);
+        }
+
+        epoch = buffer.getInt(4);
+        long savedReadOffset = buffer.getLong(8);
+
+        int offset = HEADER_SIZE;
+        int pending = 0;
+        while (true) {
+            int next = validRecordEnd(offset);
+            if (next < 0) break;
+            if (offset >= savedReadOffset) pending++;
+            offset = next;
+        }
+
+        writeOffset = offset;
+        pendingCount = pending;
+
+        // 헤더가 가리키는 위치가 유효 범위를 벗어나면(초기화 도중 종료 등) 남은 레코드가 없는 것으로 본다
+        if (savedReadOffset < HEADER_SIZE || savedReadOffset > writeOffset) {
+            readOffset = writeOffset;
+            pendingCount = 0;
+            buffer.putLong(8, readOffset);
+            buffer.force(0, HEADER_SIZE);
+        } else {
+            readOffset = (int) savedReadOffset;
+        }
+    }
+
+    private int validRecordEnd(int offset) {
+        if (offset + RECORD_HEADER_SIZE > capacity) return -1;
+
+        int length = buffer.getInt(offset);
+        int recordEpoch = buffer.getInt(offset + 4);
+        int crc = buffer.getInt(offset + 8);
+
+        if (length <= 0 || recordEpoch != epoch || length > capacity - offset - RECORD_HEADER_SIZE) return -1;
+
+        byte[] payload = new byte[length];
+        buffer.get(offset + RECORD_HEADER_SIZE, payload);
+        if (checksum(recordEpoch, payload) != crc) return -1;
+
+        return offset + RECORD_HEADER_SIZE + length;
+    }
+
+    private static int checksum(int epoch, byte[] payload) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(new byte[]{
+                (byte) (epoch >>> 24), (byte) (epoch >>> 16), (byte) (epoch >>> 8), (byte) epoch
+        });
+        crc32.update(payload);
+        return (int) crc32.getValue();
+    }
+
+    public record SpoolRecord(
+            int endOffset,
+            byte[] payload
+    ) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.back.domain.order.order.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 컬럼형 리포트(.ocol)를 지금의 CSV 리포트 형식(UTF-8 BOM, 같은 헤더 / 인코딩 / No 번호)으로 되돌린다
+ * 파티션 / 회전 없이 만든 CSV 리포트와 바이트 단위로 같다
+ */
+public final class OrderColumnarConverter {
+
+    private OrderColumnarConverter() {
+    }
+
+    // 변환한 행 수 반환
+    public static long toCsv(Path source, Path target) throws IOException {
+        try (OrderColumnarReader reader = new OrderColumnarReader(new BufferedInputStream(Files.newInputStream(source)));
+             OutputStream out = new BufferedOutputStream(Files.newOutputStream(target));
+             OrderCsvWriter csvWriter = new OrderCsvWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+
+            out.write(OrderCsvWriter.UTF8_BOM);
+            csvWriter.writeHeader(OrderReport.HEADERS);
+
+            long rowNo = 0;
+            for (OrderColumnarReader.Block block; (block = reader.readBlock()) != null; ) {
+                for (int i = 0; i < block.size(); i++) {
+                    OrderReport.writeRow(csvWriter, block.row(i), ++rowNo);
+                }
+            }
+            return rowNo;
+        }
+    }
+}
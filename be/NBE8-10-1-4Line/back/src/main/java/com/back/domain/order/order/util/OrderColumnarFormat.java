@@ -0,0 +1,158 @@
+package com.back.domain.order.order.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 일일 배치 리포트의 컬럼형 바이너리 형식 (.ocol)
+ * 분석 배치가 CSV 를 매번 다시 파싱하지 않도록, 반복되는 문자열은 사전 번호로, 숫자는 varint 로 저장한다.
+ *
+ * 파일: "OCOL" + 버전(1바이트) + 블록...
+ * 블록: 본문 길이(int32) + 본문 CRC32(int32) + 본문 (배치 청크 하나 = 블록 하나, 블록 경계가 체크포인트 위치)
+ * 본문: 행 수(varint)
+ *      + 사전 4개(이메일, 주소, 우편번호, 상품명)마다 이 블록에서 새로 추가된 항목 (개수 varint, 항목마다 UTF-8 길이 varint + 바이트)
+ *      + 컬럼 8개, 컬럼마다 바이트 길이(varint) + 값
+ *        주문ID: 이전 행과의 차이(zigzag varint), 블록마다 0 부터
+ *        이메일 / 주소 / 우편번호 / 상품명: 사전 번호(varint, 0 은 null, 사전은 파일 전체에서 이어진다)
+ *        수량 / 단가: zigzag varint
+ *        주문시간: epoch 초(LocalDateTime 을 UTC 로 환산)의 이전 행과의 차이(zigzag varint), CSV 와 같은 초 단위
+ * 소계는 저장하지 않고 수량 x 단가로 다시 계산한다 (내보내기 조회와 같은 식)
+ */
+final class OrderColumnarFormat {
+    static final byte[] MAGIC = {'O', 'C', 'O', 'L'};
+    static final int VERSION = 1;
+
+    // 사전 순서
+    static final int EMAIL = 0;
+    static final int ADDRESS = 1;
+    static final int SHIPPING_CODE = 2;
+    static final int PRODUCT_NAME = 3;
+    static final int DICTIONARY_COUNT = 4;
+
+    // 컬럼 순서 (사전 컬럼은 사전과 같은 번호)
+    static final int QUANTITY = 4;
+    static final int PRICE = 5;
+    static final int ORDER_ID = 6;
+    static final int ORDER_TIME = 7;
+    static final int COLUMN_COUNT = 8;
+
+    private OrderColumnarFormat() {
+    }
+
+    static IllegalStateException corrupted() {
+        return new IllegalStateException("컬럼형 리포트 파일이 손상되었습니다.");
+    }
+
+    // 재사용하는 쓰기 버퍼
+    static final class Sink {
+        private byte[] bytes = new byte[1024];
+        private int size;
+
+        void reset() {
+            size = 0;
+        }
+
+        int size() {
+            return size;
+        }
+
+        byte[] array() {
+            return bytes;
+        }
+
+        void writeVarint(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        // 음수 차이도 작은 값이 되도록 부호를 맨 아래 비트로 옮긴다
+        void writeZigZag(long value) {
+            writeVarint((value << 1) ^ (value >> 63));
+        }
+
+        void writeString(String value) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(utf8.length);
+            write(utf8, 0, utf8.length);
+        }
+
+        // 다른 버퍼를 길이(varint)와 함께 덧붙인다
+        void writeSized(Sink other) {
+            writeVarint(other.size);
+            write(other.bytes, 0, other.size);
+        }
+
+        void writeTo(OutputStream out) throws IOException {
+            out.write(bytes, 0, size);
+        }
+
+        private void write(byte[] source, int offset, int length) {
+            ensure(length);
+            System.arraycopy(source, offset, bytes, size, length);
+            size += length;
+        }
+
+        private void ensure(int extra) {
+            if (bytes.length - size < extra) {
+                byte[] grown = new byte[Math.max(bytes.length * 2, size + extra)];
+                System.arraycopy(bytes, 0, grown, 0, size);
+                bytes = grown;
+            }
+        }
+    }
+
+    // 블록 본문 읽기 커서
+    static final class Source {
+        private final byte[] bytes;
+        private final int limit;
+        private int position;
+
+        Source(byte[] bytes, int offset, int length) {
+            this.bytes = bytes;
+            this.position = offset;
+            this.limit = offset + length;
+        }
+
+        long readVarint() {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                if (position >= limit) throw corrupted();
+                byte b = bytes[position++];
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return result;
+            }
+            throw corrupted();
+        }
+
+        long readZigZag() {
+            long value = readVarint();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        int readLength() {
+            long length = readVarint();
+            if (length < 0 || length > limit - position) throw corrupted();
+            return (int) length;
+        }
+
+        String readString() {
+            int length = readLength();
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        // 길이(varint)가 붙은 구간을 떼어낸다
+        Source readSized() {
+            int length = readLength();
+            Source sized = new Source(bytes, position, length);
+            position += length;
+            return sized;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.back.domain.order.order.util;
+
+import com.back.domain.order.order.dto.OrderExportRowDto;
+import com.back.domain.order.order.util.OrderColumnarFormat.Source;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import static com.back.domain.order.order.util.OrderColumnarFormat.*;
+
+/**
+ * 컬럼형 리포트(.ocol) 리더 (형식은 OrderColumnarFormat 참고)
+ * 블록 단위로 읽으며, 블록은 컬럼별 배열로 풀어 두므로 필요한 컬럼만 골라 쓰면 문자열 / 객체를 만들지 않는다.
+ * 사전 문자열은 파일 전체에서 한 번씩만 만든다.
+ *
+ * <pre>
+ * try (OrderColumnarReader reader = new OrderColumnarReader(new BufferedInputStream(Files.newInputStream(path)))) {
+ *     for (OrderColumnarReader.Block block; (block = reader.readBlock()) != null; ) {
+ *         for (int i = 0; i < block.size(); i++) total += block.subTotal(i);
+ *     }
+ * }
+ * </pre>
+ */
+public class OrderColumnarReader implements Closeable {
+    private final DataInputStream in;
+    private final List<List<String>> dictionaries = new ArrayList<>();
+    private final CRC32 crc32 = new CRC32();
+    private byte[] payload = new byte[1024];
+
+    public OrderColumnarReader(InputStream in) throws IOException {
+        this.in = new DataInputStream(in);
+
+        byte[] header = new byte[MAGIC.length + 1];
+        try {
+            this.in.readFully(header);
+        } catch (EOFException e) {
+            throw new IllegalStateException("컬럼형 리포트 파일이 아닙니다.", e);
+        }
+        if (!Arrays.equals(header, 0, MAGIC.length, MAGIC, 0, MAGIC.length)) {
+            throw new IllegalStateException("컬럼형 리포트 파일이 아닙니다.");
+        }
+        if (header[MAGIC.length] != VERSION) {
+            throw new IllegalStateException("지원하지 않는 컬럼형 리포트 버전입니다: " + header[MAGIC.length]);
+        }
+
+        for (int i = 0; i < DICTIONARY_COUNT; i++) {
+            List<String> dictionary = new ArrayList<>();
+            dictionary.add(null);
+            dictionaries.add(dictionary);
+        }
+    }
+
+    // 다음 블록, 파일 끝이면 null
+    public Block readBlock() throws IOException {
+        int first = in.read();
+        if (first < 0) return null;
+
+        int length = (first << 24) | (in.readUnsignedByte() << 16) | (in.readUnsignedByte() << 8) | in.readUnsignedByte();
+        int checksum = in.readInt();
+        if (length < 0) throw corrupted();
+
+        if (payload.length < length) payload = new byte[Math.max(length, payload.length * 2)];
+        in.readFully(payload, 0, length);
+
+        crc32.reset();
+        crc32.update(payload, 0, length);
+        if ((int) crc32.getValue() != checksum) throw corrupted();
+
+        return decode(new Source(payload, 0, length));
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    // 지금까지 읽은 사전 (0 번은 null)
+    List<String> dictionary(int dictionary) {
+        return Collections.unmodifiableList(dictionaries.get(dictionary));
+    }
+
+    private Block decode(Source source) {
+        long size = source.readVarint();
+        if (size < 0 || size > Integer.MAX_VALUE) throw corrupted();
+        int rows = (int) size;
+
+        for (List<String> dictionary : dictionaries) {
+            long added = source.readVarint();
+            for (long i = 0; i < added; i++) dictionary.add(source.readString());
+        }
+
+        Source[] columns = new Source[COLUMN_COUNT];
+        for (int i = 0; i < COLUMN_COUNT; i++) columns[i] = source.readSized();
+
+        Block block = new Block(rows);
+        for (int d = 0; d < DICTIONARY_COUNT; d++) {
+            int dictionarySize = dictionaries.get(d).size();
+            for (int i = 0; i < rows; i++) {
+                long id = columns[d].readVarint();
+                if (id < 0 || id >= dictionarySize) throw corrupted();
+                block.ids[d][i] = (int) id;
+            }
+        }
+
+        long orderId = 0;
+        long time = 0;
+        for (int i = 0; i < rows; i++) {
+            block.quantities[i] = (int) columns[QUANTITY].readZigZag();
+            block.prices[i] = (int) columns[PRICE].readZigZag();
+            orderId += columns[ORDER_ID].readZigZag();
+            block.orderIds[i] = orderId;
+            time += columns[ORDER_TIME].readZigZag();
+            block.orderTimes[i] = time;
+        }
+        return block;
+    }
+
+    // 블록 하나를 컬럼별 배열로 푼 결과
+    public class Block {
+        private final int size;
+        private final int[][] ids;
+        private final int[] quantities;
+        private final int[] prices;
+        private final long[] orderIds;
+        private final long[] orderTimes;
+
+        private Block(int size) {
+            this.size = size;
+            this.ids = new int[DICTIONARY_COUNT][size];
+            this.quantities = new int[size];
+            this.prices = new int[size];
+            this.orderIds = new long[size];
+            this.orderTimes = new long[size];
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public long orderId(int row) {
+            return orderIds[row];
+        }
+
+        public String email(int row) {
+            return dictionaries.get(EMAIL).get(ids[EMAIL][row]);
+        }
+
+        public String shippingAddress(int row) {
+            return dictionaries.get(ADDRESS).get(ids[ADDRESS][row]);
+        }
+
+        public String shippingCode(int row) {
+            return dictionaries.get(SHIPPING_CODE).get(ids[SHIPPING_CODE][row]);
+        }
+
+        public String productName(int row) {
+            return dictionaries.get(PRODUCT_NAME).get(ids[PRODUCT_NAME][row]);
+        }
+
+        // 같은 상품명이면 같은 번호 (집계 키로 바로 사용 가능)
+        public int productNameId(int row) {
+            return ids[PRODUCT_NAME][row];
+        }
+
+        public int quantity(int row) {
+            return quantities[row];
+        }
+
+        public int pricePerItem(int row) {
+            return prices[row];
+        }
+
+        public long subTotal(int row) {
+            return 1L * quantities[row] * prices[row];
+        }
+
+        public LocalDateTime orderTime(int row) {
+            return LocalDateTime.ofEpochSecond(orderTimes[row], 0, ZoneOffset.UTC);
+        }
+
+        public OrderExportRowDto row(int row) {
+            return new OrderExportRowDto(
+                    orderId(row),
+                    email(row),
+                    shippingAddress(row),
+                    shippingCode(row),
+                    productName(row),
+                    quantity(row),
+                    pricePerItem(row),
+                    subTotal(row),
+                    orderTime(row)
+            );
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.back.domain.order.order.util;
+
+import com.back.domain.order.order.dto.OrderExportRowDto;
+import com.back.domain.order.order.util.OrderColumnarFormat.Sink;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import static com.back.domain.order.order.util.OrderColumnarFormat.*;
+
+/**
+ * 일일 배치 리포트의 컬럼형 바이너리 인코더 (형식은 OrderColumnarFormat 참고)
+ * writeBlock 한 번이 블록 하나이고, 컬럼 버퍼는 블록마다 재사용한다.
+ * 사전은 파일 전체에서 이어지므로 하루치 고유 이메일 / 주소 / 상품명만큼 메모리를 쓴다.
+ * 스레드 안전하지 않음
+ */
+public class OrderColumnarWriter implements Flushable, Closeable {
+    private final OutputStream out;
+    private final List<Dictionary> dictionaries = new ArrayList<>();
+    private final Sink[] columns = new Sink[COLUMN_COUNT];
+    private final Sink payload = new Sink();
+    private final byte[] frame = new byte[8];
+    private final CRC32 crc32 = new CRC32();
+
+    public OrderColumnarWriter(OutputStream out) {
+        this(out, null);
+    }
+
+    // 파일 끝까지 읽은 reader 의 사전을 이어받아 뒤에 블록을 덧붙인다 (체크포인트 재개)
+    public OrderColumnarWriter(OutputStream out, OrderColumnarReader dictionariesFrom) {
+        this.out = out;
+        for (int i = 0; i < DICTIONARY_COUNT; i++) {
+            dictionaries.add(new Dictionary(dictionariesFrom == null ? List.of() : dictionariesFrom.dictionary(i)));
+        }
+        for (int i = 0; i < COLUMN_COUNT; i++) {
+            columns[i] = new Sink();
+        }
+    }
+
+    public void writeHeader() throws IOException {
+        out.write(MAGIC);
+        out.write(VERSION);
+    }
+
+    public void writeBlock(List<OrderExportRowDto> rows) throws IOException {
+        if (rows.isEmpty()) return;
+
+        for (Sink column : columns) column.reset();
+
+        long previousOrderId = 0;
+        long previousTime = 0;
+        for (OrderExportRowDto row : rows) {
+            long orderId = row.orderId();
+            columns[ORDER_ID].writeZigZag(orderId - previousOrderId);
+            previousOrderId = orderId;
+
+            columns[EMAIL].writeVarint(dictionaries.get(EMAIL).idOf(row.email()));
+            columns[ADDRESS].writeVarint(dictionaries.get(ADDRESS).idOf(row.shippingAddress()));
+            columns[SHIPPING_CODE].writeVarint(dictionaries.get(SHIPPING_CODE).idOf(row.shippingCode()));
+            columns[PRODUCT_NAME].writeVarint(dictionaries.get(PRODUCT_NAME).idOf(row.productName()));
+            columns[QUANTITY].writeZigZag(row.quantity());
+            columns[PRICE].writeZigZag(row.pricePerItem());
+
+            long time = row.orderTime().toEpochSecond(ZoneOffset.UTC);
+            columns[ORDER_TIME].writeZigZag(time - previousTime);
+            previousTime = time;
+        }
+
+        // 사전 항목은 이 블록의 컬럼보다 앞에 둔다 (읽을 때 번호를 바로 풀 수 있도록)
+        payload.reset();
+        payload.writeVarint(rows.size());
+        for (Dictionary dictionary : dictionaries) dictionary.writeAdded(payload);
+        for (Sink column : columns) payload.writeSized(column);
+
+        crc32.reset();
+        crc32.update(payload.array(), 0, payload.size());
+        writeInt(0, payload.size());
+        writeInt(4, (int) crc32.getValue());
+
+        out.write(frame);
+        payload.writeTo(out);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void writeInt(int offset, int value) {
+        frame[offset] = (byte) (value >>> 24);
+        frame[offset + 1] = (byte) (value >>> 16);
+        frame[offset + 2] = (byte) (value >>> 8);
+        frame[offset + 3] = (byte) value;
+    }
+
+    // 문자열 -> 번호 (0 은 null), 블록을 쓸 때 새로 추가된 항목만 내보낸다
+    private static class Dictionary {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> added = new ArrayList<>();
+
+        Dictionary(List<String> existing) {
+            for (int id = 1; id < existing.size(); id++) {
+                ids.put(existing.get(id), id);
+            }
+        }
+
+        int idOf(String value) {
+            if (value == null) return 0;
+
+            Integer id = ids.get(value);
+            if (id == null) {
+                id = ids.size() + 1;
+                ids.put(value, id);
+                added.add(value);
+            }
+            return id;
+        }
+
+        void writeAdded(Sink sink) {
+            sink.writeVarint(added.size());
+            for (String value : added) sink.writeString(value);
+            added.clear();
+        }
+    }
+}
@@ -1,94 +1,91 @@
 package com.back.domain.order.order.util;
 
-import com.back.domain.order.order.dto.OrderDto;
-import com.back.domain.order.order.dto.OrderItemDto;
-import com.back.domain.order.order.entity.Order;
-import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVPrinter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.io.*;
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 @Component
-@Slf4j
 public class OrderFileHandler {
 
-    public void createOrderCsv(List<Order> orders) {
-        // 이메일로 그룹핑 -> 주소로 재그룹핑
-        Map<String, Map<String, List<Order>>> groupedOrders = orders.stream()
-                .collect(Collectors.groupingBy(order -> order.getCustomer().getEmail(),
-                        Collectors.groupingBy(Order::getShippingAddress)));
+    @Value("${custom.order.batch.output-dir:outputs}")
+    private String outputDir;
 
-        // outputs에 저장 -> 이후 필요 시 수정 요청 요망
+    @Value("${custom.order.batch.partition.key:NONE}")
+    private OrderPartitionKey partitionKey;
+
+    @Value("${custom.order.batch.partition.count:4}")
+    private int partitionCount;
+
+    @Value("${custom.order.batch.partition.prefix-length:2}")
+    private int prefixLength;
+
+    @Value("${custom.order.batch.partition.concat:false}")
+    private boolean concat;
+
+    @Value("${custom.order.batch.gzip:false}")
+    private boolean gzip;
+
+    @Value("${custom.order.batch.rotate.rows:0}")
+    private long rotateRows;
+
+    @Value("${custom.order.batch.rotate.bytes:0}")
+    private long rotateBytes;
+
+    @Value("${custom.order.batch.columnar:false}")
+    private boolean columnar;
+
+    // outputs에 저장 -> 이후 필요 시 수정 요청 요망
+    // 반환값은 확장자 / 파티션 접미사를 뺀 경로 (배치 작업에 저장해 두고 재개 시 그대로 사용)
+    // 관리자 요청으로 같은 분에 여러 번 실행될 수 있으므로 초 단위까지 붙인다
+    public String newReportBase() {
         LocalDateTime now = LocalDateTime.now();
-        String dirPath = String.format("outputs/%d/%02d/", now.getYear(), now.getMonthValue());
-        String fileName = String.format("order_report_%s.csv", now.format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmm")));
-
-        try {
-            Files.createDirectories(Paths.get(dirPath));
-            File file = new File(dirPath + fileName);
-
-            try (FileOutputStream fos = new FileOutputStream(file);
-                 BufferedOutputStream bos = new BufferedOutputStream(fos)) {
-
-                // UTF-8 BOM -> 엑셀에서 한글 깨짐을 방지
-                fos.write(0xEF);
-                fos.write(0xBB);
-                fos.write(0xBF);
-
-                try (Writer writer = new OutputStreamWriter(fos, StandardCharsets.UTF_8);
-                     CSVPrinter csvPrinter = new CSVPrinter(writer, CSVFormat.DEFAULT.builder()
-                             .setHeader("No", "주문ID", "이메일", "주소", "우편번호", "상품명", "수량", "단가", "소계", "주문시간")
-                             .build())) {
-
-                    int rowNo = 1;
-
-                    for (Map.Entry<String, Map<String, List<Order>>> emailEntry : groupedOrders.entrySet()) {
-                        String email = emailEntry.getKey();
-                        for (Map.Entry<String, List<Order>> addressEntry : emailEntry.getValue().entrySet()) {
-                            String address = addressEntry.getKey();
-
-                            // 주소 그룹 내에서 주문 시간순 정렬
-                            List<Order> sortedOrders = addressEntry.getValue().stream()
-                                    .sorted(Comparator.comparing(Order::getOrderTime))
-                                    .toList();
-
-                            for (Order order : sortedOrders) {
-                                OrderDto orderDto = new OrderDto(order); // DTO로 변환해 사용
-                                for (OrderItemDto itemDto : orderDto.orderItems()) {
-                                    csvPrinter.printRecord(
-                                            rowNo++,
-                                            orderDto.id(),
-                                            email,
-                                            address,
-                                            orderDto.shippingCode(),
-                                            itemDto.productName(),
-                                            itemDto.quantity(),
-                                            itemDto.pricePerItem(),
-                                            itemDto.subTotal(),
-                                            orderDto.orderTime().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"))
-                                    );
-                                }
-                            }
-                        }
-                    }
-                    csvPrinter.flush(); // 잔여 데이터 물리적 기록
-                    log.info("CSV 생성 완료 (UTF-8 BOM 적용): {}", file.getAbsolutePath());
-                }
-            }
+        String fileName = String.format("order_report_%s", now.format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")));
+
+        return Paths.get(outputDir, String.format("%d", now.getYear()), String.format("%02d", now.getMonthValue()), fileName)
+                .toString();
+    }
+
+    // rows 는 이메일 -> 주소 -> 주문시간 -> 주문 순으로 정렬되어 들어와야 한다 (OrderBatchService 의 keyset 조회 순서)
+    // resumeFrom 이 비어 있으면 새 파일, 아니면 체크포인트 위치까지 자르고 이어서 쓴다
+    public OrderReport openReport(String reportBase, List<OrderReportPart> resumeFrom) {
+        return new OrderReport(reportBase, resumeFrom, options());
+    }
+
+    // 체크포인트의 파일이 이 노드에 모두 있어 openReport 로 이어 쓸 수 있는지
+    public boolean canResume(String reportBase, List<OrderReportPart> resumeFrom) {
+        return OrderReport.missingFiles(reportBase, resumeFrom, options()).isEmpty();
+    }
+
+    private OrderReportOptions options() {
+        return new OrderReportOptions(
+                partitionKey, partitionCount, prefixLength, concat, gzip, rotateRows, rotateBytes, columnar);
+    }
+
+    // 리포트 하나에 속한 파일 (파티션 / 회전 파일, 병합 파일, manifest, 컬럼형 파일), 이름 순
+    public List<Path> reportFiles(String reportBase) {
+        Path base = Paths.get(reportBase);
+        Path dir = base.toAbsolutePath().getParent();
+        Pattern names = OrderReport.fileNamePattern(base.getFileName().toString());
+        if (!Files.isDirectory(dir)) return List.of();
+
+        try (Stream<Path> files = Files.list(dir)) {
+            return files
+                    .filter(Files::isRegularFile)
+                    .filter(file -> names.matcher(file.getFileName().toString()).matches())
+                    .sorted()
+                    .toList();
         } catch (IOException e) {
-            log.error("CSV 파일 생성 중 에러 발생", e);
-            throw new RuntimeException("배치 파일 생성 실패", e);
+            throw new UncheckedIOException("리포트 파일 목록 조회 실패: " + reportBase, e);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,30 @@
+package com.back.domain.order.order.util;
+
+import com.back.domain.order.order.dto.OrderExportRowDto;
+
+// 일일 배치 CSV 분할 기준 (custom.order.batch.partition.key)
+// 한 주문의 품목은 항상 같은 파티션으로 가도록 주문 단위 값만 사용한다
+public enum OrderPartitionKey {
+    NONE,                   // 분할하지 않음 (파일 1개)
+    EMAIL_HASH,             // 이메일 해시 % count
+    SHIPPING_CODE_PREFIX;   // 우편번호 앞 prefixLength 자리 (지역별 택배사 전달용)
+
+    public String partitionOf(OrderExportRowDto row, int count, int prefixLength) {
+        return switch (this) {
+            case NONE -> "all";
+            case EMAIL_HASH -> String.format("hash%02d", Math.floorMod(row.email().hashCode(), count));
+            case SHIPPING_CODE_PREFIX -> shippingCodePrefix(row.shippingCode(), prefixLength);
+        };
+    }
+
+    // 파일 이름에 들어가므로 영문/숫자만 남긴다
+    private static String shippingCodePrefix(String shippingCode, int prefixLength) {
+        if (shippingCode == null) return "unknown";
+
+        String prefix = shippingCode.strip();
+        if (prefix.length() > prefixLength) prefix = prefix.substring(0, prefixLength);
+        prefix = prefix.replaceAll("[^0-9A-Za-z]", "_");
+
+        return prefix.isEmpty() ? "unknown" : "zip" + prefix;
+    }
+}
@@ -0,0 +1,757 @@
+package com.back.domain.order.order.util;
+
+import com.back.domain.order.order.dto.OrderExportRowDto;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 일일 배치 리포트 작성 세션 (OrderFileHandler.openReport 로 생성)
+ * write 는 청크 단위로 호출되며, 반환 전에 모든 파일을 fsync 하고 파일별 기록 위치를 돌려준다.
+ * 호출자는 이 위치를 DB 체크포인트로 저장하고, 재개 시 같은 위치를 넘겨 그 뒤에 쓰지 못한 내용을 잘라낸다.
+ * 파티션 모드에서는 청크의 행을 파티션별로 나눠 가상 스레드에서 병렬로 쓴다.
+ * 파티션마다 행 수 / 크기 기준으로 다음 파일로 넘어가며(회전), 끝나면 파일별 행 수 / 크기 / CRC32 / SHA-256 을 manifest 로 남긴다.
+ * columnar 설정 시 전체 행을 컬럼형 바이너리 파일(<base>.ocol, 청크 하나 = 블록 하나)로도 함께 쓴다.
+ */
+@Slf4j
+public class OrderReport implements AutoCloseable {
+    static final String[] HEADERS = {"No", "주문ID", "이메일", "주소", "우편번호", "상품명", "수량", "단가", "소계", "주문시간"};
+    private static final byte[] UTF8_BOM = OrderCsvWriter.UTF8_BOM;
+    private static final byte[] HEADER_LINE = (String.join(",", HEADERS) + "\r\n").getBytes(StandardCharsets.UTF_8);
+
+    // 파티션이 없을 때의 파티션 이름
+    private static final String SINGLE_PARTITION = "all";
+    // 컬럼형 파일의 체크포인트 / manifest 이름
+    public static final String COLUMNAR_PARTITION = "columnar";
+
+    private final String reportBase;
+    private final OrderReportOptions options;
+
+    private final Map<String, PartitionFiles> partitions = new TreeMap<>();
+    private final ExecutorService executor;
+    private ColumnarFile columnar;
+
+    // 청크 기록 시간: 인코딩(CSV / 컬럼형 블록) / flush(버퍼 비우기 + gzip 멤버 종료 + fsync)
+    // 파티션은 병렬로 쓰므로 스레드별 시간의 합이다
+    private final LongAdder encodeNanos = new LongAdder();
+    private final LongAdder flushNanos = new LongAdder();
+
+    OrderReport(String reportBase, List<OrderReportPart> resumeFrom, OrderReportOptions options) {
+        this.reportBase = reportBase;
+        this.options = options;
+        this.executor = options.partitioned() ? Executors.newVirtualThreadPerTaskExecutor() : null;
+
+        try {
+            Files.createDirectories(Path.of(reportBase).toAbsolutePath().getParent());
+
+            OrderReportPart columnarCheckpoint = null;
+            Map<String, List<OrderReportPart>> byPartition = new TreeMap<>();
+            for (OrderReportPart checkpoint : resumeFrom) {
+                if (checkpoint.partition().equals(COLUMNAR_PARTITION)) {
+                    columnarCheckpoint = checkpoint;
+                    continue;
+                }
+                byPartition.computeIfAbsent(checkpoint.partition(), key -> new ArrayList<>()).add(checkpoint);
+            }
+            for (Map.Entry<String, List<OrderReportPart>> entry : byPartition.entrySet()) {
+                partitions.put(entry.getKey(), resume(entry.getKey(), entry.getValue()));
+            }
+
+            if (options.columnar()) {
+                Path file = Path.of(reportBase + ".ocol");
+                if (columnarCheckpoint != null) {
+                    columnar = ColumnarFile.resume(columnarCheckpoint, file);
+                } else if (resumeFrom.isEmpty()) {
+                    columnar = ColumnarFile.create(file);
+                } else {
+                    // 작업 도중에 설정을 켠 경우: 앞 청크가 빠진 파일을 만들지 않는다
+                    log.warn("컬럼형 파일 체크포인트가 없어 이번 작업은 CSV 만 생성합니다: {}", reportBase);
+                }
+            }
+        } catch (IOException e) {
+            close();
+            throw new UncheckedIOException("배치 파일 재개 실패: " + reportBase, e);
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    // 청크를 기록하고 fsync 한 뒤 모든 파일의 현재 위치를 반환
+    public List<OrderReportPart> write(List<OrderExportRowDto> rows) {
+        try {
+            if (!options.partitioned()) {
+                partition(SINGLE_PARTITION).write(rows);
+                if (columnar != null) writeColumnar(rows);
+                return checkpoints();
+            }
+
+            // 한 주문의 품목은 같은 파티션으로 가므로 파티션 안에서도 순서가 유지된다
+            Map<String, List<OrderExportRowDto>> byPartition = new LinkedHashMap<>();
+            for (OrderExportRowDto row : rows) {
+                byPartition.computeIfAbsent(
+                        options.partitionKey().partitionOf(row, options.partitionCount(), options.prefixLength()),
+                        key -> new ArrayList<>()
+                ).add(row);
+            }
+
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (Map.Entry<String, List<OrderExportRowDto>> entry : byPartition.entrySet()) {
+                PartitionFiles partition = partition(entry.getKey());
+                tasks.add(() -> {
+                    partition.write(entry.getValue());
+                    return null;
+                });
+            }
+            if (columnar != null) {
+                tasks.add(() -> {
+                    writeColumnar(rows);
+                    return null;
+                });
+            }
+
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+            return checkpoints();
+        } catch (IOException e) {
+            throw new UncheckedIOException("배치 파일 생성 실패: " + reportBase, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("배치 파일 작성이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw new UncheckedIOException("배치 파일 생성 실패: " + reportBase, ioException);
+            }
+            throw new IllegalStateException("배치 파일 생성 실패: " + reportBase, e.getCause());
+        }
+    }
+
+    // 지난 호출 이후 write 에 쓴 시간 (배치 단계 계측용)
+    public WriteTimes takeWriteTimes() {
+        return new WriteTimes(encodeNanos.sumThenReset(), flushNanos.sumThenReset());
+    }
+
+    public record WriteTimes(long encodeNanos, long flushNanos) {
+    }
+
+    // 파일을 닫고 manifest(파일별 행 수 / 크기 / 체크섬)를 만든다. 설정 시 병합 파일도 만든다. 전체 주문 수 반환
+    public int finish() {
+        try {
+            List<ManifestEntry> entries = new ArrayList<>();
+            for (PartitionFiles partition : partitions.values()) {
+                entries.addAll(partition.finish());
+            }
+
+            int orderCount = entries.stream().mapToInt(ManifestEntry::orders).sum();
+            long rowCount = entries.stream().mapToLong(ManifestEntry::rows).sum();
+
+            if (options.concat() && entries.size() > 1) {
+                entries.add(concatenate(mergedFile(), entries));
+            }
+            if (columnar != null) {
+                entries.add(columnar.finish());
+            }
+            Path manifest = writeManifest(Path.of(reportBase + "_manifest.csv"), entries);
+
+            log.info("리포트 생성 완료 (UTF-8 BOM 적용) - 파티션: {}개, 파일: {}개, 주문: {}건, {}행, manifest: {}",
+                    partitions.size(), entries.size(), orderCount, rowCount, manifest.toAbsolutePath());
+            return orderCount;
+        } catch (IOException e) {
+            throw new UncheckedIOException("배치 파일 생성 실패: " + reportBase, e);
+        }
+    }
+
+    // finish 없이 닫으면 마지막 체크포인트 이후 내용은 재개 시 잘린다
+    @Override
+    public void close() {
+        if (executor != null) executor.shutdownNow();
+        for (PartitionFiles partition : partitions.values()) {
+            partition.closeQuietly();
+        }
+        if (columnar != null) columnar.closeQuietly();
+    }
+
+    // CSV 한 행 (컬럼형 파일을 CSV 로 되돌릴 때도 같은 형식으로 쓴다)
+    static void writeRow(OrderCsvWriter csvWriter, OrderExportRowDto row, long rowNo) throws IOException {
+        csvWriter.field(rowNo)
+                .field(row.orderId())
+                .field(row.email())
+                .field(row.shippingAddress())
+                .field(row.shippingCode())
+                .field(row.productName())
+                .field(row.quantity())
+                .field(row.pricePerItem())
+                .field(row.subTotal())
+                .field(row.orderTime())
+                .endRecord();
+    }
+
+    // 체크포인트에 있는데 이 노드의 디스크에 없는 파일 (출력 디렉터리를 공유하지 않는 다른 노드가 쓰던 작업)
+    static List<Path> missingFiles(String reportBase, List<OrderReportPart> checkpoints, OrderReportOptions options) {
+        return checkpoints.stream()
+                .map(part -> part.partition().equals(COLUMNAR_PARTITION)
+                        ? Path.of(reportBase + ".ocol")
+                        : fileOf(reportBase, options, part.partition(), part.partNo()))
+                .filter(Files::notExists)
+                .toList();
+    }
+
+    private Path fileOf(String partition, int partNo) {
+        return fileOf(reportBase, options, partition, partNo);
+    }
+
+    // <base>[_파티션][_part001].csv[.gz]
+    private static Path fileOf(String reportBase, OrderReportOptions options, String partition, int partNo) {
+        StringBuilder name = new StringBuilder(reportBase);
+        if (options.partitioned()) name.append('_').append(partition);
+        if (options.rotating()) name.append(String.format("_part%03d", partNo));
+        name.append(".csv");
+        if (options.gzip()) name.append(".gz");
+        return Path.of(name.toString());
+    }
+
+    // 리포트 하나에 속한 파일 이름: <base>[_파티션][_part001].csv[.gz], <base>.ocol, <base>_manifest.csv
+    // (접두사만 같은 <base>_resumedN 리포트의 파일은 맞지 않는다, 파티션 이름은 OrderPartitionKey 참고)
+    static Pattern fileNamePattern(String baseName) {
+        String base = Pattern.quote(baseName);
+        return Pattern.compile(base + "(?:_(?:all|hash\\d+|zip\\w+|unknown))?(?:_part\\d{3,})?\\.csv(?:\\.gz)?"
+                + "|" + base + "\\.ocol"
+                + "|" + base + "_manifest\\.csv");
+    }
+
+    private Path mergedFile() {
+        return Path.of(reportBase + (options.gzip() ? ".csv.gz" : ".csv"));
+    }
+
+    private PartitionFiles partition(String name) {
+        return partitions.computeIfAbsent(name, PartitionFiles::new);
+    }
+
+    private void writeColumnar(List<OrderExportRowDto> rows) throws IOException {
+        long start = System.nanoTime();
+        columnar.write(rows);
+        long written = System.nanoTime();
+        columnar.sync();
+        encodeNanos.add(written - start);
+        flushNanos.add(System.nanoTime() - written);
+    }
+
+    private List<OrderReportPart> checkpoints() {
+        List<OrderReportPart> checkpoints = new ArrayList<>();
+        for (PartitionFiles partition : partitions.values()) {
+            checkpoints.addAll(partition.checkpoints());
+        }
+        if (columnar != null) checkpoints.add(columnar.checkpoint());
+        return checkpoints;
+    }
+
+    // 마지막 파일만 체크포인트 위치부터 이어 쓰고, 앞 파일은 이미 끝난 파일로 체크섬만 다시 계산
+    private PartitionFiles resume(String name, List<OrderReportPart> checkpoints) throws IOException {
+        checkpoints.sort(Comparator.comparingInt(OrderReportPart::partNo));
+        PartitionFiles partition = new PartitionFiles(name);
+
+        for (int i = 0; i < checkpoints.size() - 1; i++) {
+            OrderReportPart closed = checkpoints.get(i);
+            partition.closedParts.add(ManifestEntry.of(closed, fileOf(name, closed.partNo())));
+            partition.nextRowNo += closed.rows();
+        }
+
+        OrderReportPart last = checkpoints.get(checkpoints.size() - 1);
+        partition.current = PartFile.resume(last, fileOf(name, last.partNo()), options.gzip());
+        partition.nextRowNo += last.rows();
+
+        // 커밋되지 못한 회전으로 생긴 다음 번호 파일은 버린다
+        for (int partNo = last.partNo() + 1; Files.deleteIfExists(fileOf(name, partNo)); partNo++) {
+            log.info("체크포인트 이후에 만들어진 리포트 파일 삭제: {}", fileOf(name, partNo));
+        }
+        return partition;
+    }
+
+    // 파티션 / 회전 파일의 BOM / 헤더를 건너뛰고 본문만 이어 붙인다 (No 컬럼은 파티션별 번호 그대로)
+    private ManifestEntry concatenate(Path file, List<ManifestEntry> entries) throws IOException {
+        CRC32 crc32 = new CRC32();
+        MessageDigest sha256 = sha256();
+        int orderCount = 0;
+        long rowCount = 0;
+
+        OutputStream checked = new DigestOutputStream(
+                new CheckedOutputStream(new BufferedOutputStream(Files.newOutputStream(file)), crc32), sha256);
+        try (OutputStream out = options.gzip() ? new GZIPOutputStream(checked, 8192) : checked) {
+            out.write(UTF8_BOM);
+            out.write(HEADER_LINE);
+
+            for (ManifestEntry entry : entries) {
+                Path part = file.resolveSibling(entry.file());
+                try (InputStream in = options.gzip()
+                        ? new GZIPInputStream(Files.newInputStream(part), 8192)
+                        : Files.newInputStream(part)) {
+                    in.skipNBytes(UTF8_BOM.length + HEADER_LINE.length);
+                    in.transferTo(out);
+                }
+                orderCount += entry.orders();
+                rowCount += entry.rows();
+            }
+        }
+
+        return new ManifestEntry("merged", 0, file.getFileName().toString(), orderCount, rowCount,
+                Files.size(file), crc32Hex(crc32), hex(sha256.digest()));
+    }
+
+    private Path writeManifest(Path file, List<ManifestEntry> entries) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+             CSVPrinter csvPrinter = new CSVPrinter(writer, CSVFormat.DEFAULT.builder()
+                     .setHeader("partition", "part", "file", "orders", "rows", "bytes", "crc32", "sha256")
+                     .build())) {
+
+            for (ManifestEntry entry : entries) {
+                csvPrinter.printRecord(
+                        entry.partition(),
+                        entry.partNo(),
+                        entry.file(),
+                        entry.orders(),
+                        entry.rows(),
+                        entry.bytes(),
+                        entry.crc32(),
+                        entry.sha256()
+                );
+            }
+        }
+        return file;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", e);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        return HexFormat.of().formatHex(bytes);
+    }
+
+    private static String crc32Hex(CRC32 crc32) {
+        return String.format("%08x", crc32.getValue());
+    }
+
+    // 파일 내용 전체로 CRC32 / SHA-256 계산
+    private static void checksum(Path file, long length, CRC32 crc32, MessageDigest sha256) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            OutputStream sink = new DigestOutputStream(new CheckedOutputStream(OutputStream.nullOutputStream(), crc32), sha256);
+            long copied = in.transferTo(sink);
+            if (copied != length) {
+                throw new IllegalStateException("배치 파일 크기가 체크포인트와 다릅니다: " + file);
+            }
+        }
+    }
+
+    private record ManifestEntry(
+            String partition,
+            int partNo,
+            String file,
+            int orders,
+            long rows,
+            long bytes,
+            String crc32,
+            String sha256
+    ) {
+        // 이미 끝난 파일은 내용을 다시 읽어 체크섬을 계산
+        static ManifestEntry of(OrderReportPart part, Path file) throws IOException {
+            CRC32 crc32 = new CRC32();
+            MessageDigest sha256 = sha256();
+            checksum(file, part.bytes(), crc32, sha256);
+
+            return new ManifestEntry(part.partition(), part.partNo(), file.getFileName().toString(),
+                    part.orders(), part.rows(), part.bytes(), crc32Hex(crc32), hex(sha256.digest()));
+        }
+
+        OrderReportPart toPart() {
+            return new OrderReportPart(partition, partNo, bytes, rows, orders);
+        }
+    }
+
+    // 파티션 하나: 끝난 파일 목록 + 지금 쓰는 파일, 행 번호(No)는 파일이 바뀌어도 이어진다
+    private class PartitionFiles {
+        private final String partition;
+        private final List<ManifestEntry> closedParts = new ArrayList<>();
+        private PartFile current;
+        private long nextRowNo = 1;
+
+        PartitionFiles(String partition) {
+            this.partition = partition;
+        }
+
+        // 청크 안의 이 파티션 행을 쓰고 fsync
+        void write(List<OrderExportRowDto> rows) throws IOException {
+            long start = System.nanoTime();
+            for (OrderExportRowDto row : rows) write(row);
+            long written = System.nanoTime();
+            sync();
+            encodeNanos.add(written - start);
+            flushNanos.add(System.nanoTime() - written);
+        }
+
+        void write(OrderExportRowDto row) throws IOException {
+            if (current == null) {
+                current = PartFile.create(partition, 1, fileOf(partition, 1), options.gzip());
+            } else if (current.isNewOrder(row) && rotationDue()) {
+                // 한 주문의 품목이 두 파일로 나뉘지 않도록 주문이 바뀔 때만 회전
+                closedParts.add(current.finish());
+                int partNo = current.partNo + 1;
+                current = PartFile.create(partition, partNo, fileOf(partition, partNo), options.gzip());
+            }
+            current.write(row, nextRowNo++);
+        }
+
+        void sync() throws IOException {
+            if (current != null) current.sync();
+        }
+
+        List<OrderReportPart> checkpoints() {
+            List<OrderReportPart> checkpoints = new ArrayList<>();
+            for (ManifestEntry closed : closedParts) checkpoints.add(closed.toPart());
+            if (current != null) checkpoints.add(current.checkpoint());
+            return checkpoints;
+        }
+
+        List<ManifestEntry> finish() throws IOException {
+            List<ManifestEntry> entries = new ArrayList<>(closedParts);
+            if (current != null) entries.add(current.finish());
+            return entries;
+        }
+
+        void closeQuietly() {
+            if (current != null) current.closeQuietly();
+        }
+
+        // 크기는 fsync 된 위치 기준이라 버퍼에 남은 만큼 약간 넘을 수 있다
+        private boolean rotationDue() throws IOException {
+            return (options.rotateRows() > 0 && current.rows >= options.rotateRows())
+                    || (options.rotateBytes() > 0 && current.position() >= options.rotateBytes());
+        }
+    }
+
+    // 리포트 파일 하나: UTF-8 BOM + 헤더 (gzip 이면 압축된 내용 안에), 쓰는 동안 파일 바이트의 CRC32 / SHA-256 을 함께 계산
+    private static class PartFile {
+        private final String partition;
+        private final int partNo;
+        private final Path file;
+        private final FileChannel channel;
+        private final CRC32 crc32;
+        private final MessageDigest sha256;
+        private final GzipMemberOutputStream gzip;
+        private final OrderCsvWriter csvWriter;
+
+        private long rows;
+        private int orders;
+        private long lastOrderId = -1;
+        private boolean closed;
+
+        private PartFile(String partition, int partNo, Path file, FileChannel channel, CRC32 crc32, MessageDigest sha256,
+                         boolean gzip, boolean writeHeader, long rows, int orders) throws IOException {
+            this.partition = partition;
+            this.partNo = partNo;
+            this.file = file;
+            this.channel = channel;
+            this.crc32 = crc32;
+            this.sha256 = sha256;
+            this.rows = rows;
+            this.orders = orders;
+
+            OutputStream checked = new DigestOutputStream(
+                    new CheckedOutputStream(Channels.newOutputStream(channel), crc32), sha256);
+            this.gzip = gzip ? new GzipMemberOutputStream(checked) : null;
+            OutputStream content = gzip ? this.gzip : checked;
+
+            this.csvWriter = new OrderCsvWriter(
+                    new OutputStreamWriter(new BufferedOutputStream(content), StandardCharsets.UTF_8));
+
+            if (writeHeader) {
+                // UTF-8 BOM -> 엑셀에서 한글 깨짐을 방지
+                content.write(UTF8_BOM);
+                csvWriter.writeHeader(HEADERS);
+            }
+        }
+
+        static PartFile create(String partition, int partNo, Path file, boolean gzip) throws IOException {
+            FileChannel channel = FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            try {
+                return new PartFile(partition, partNo, file, channel, new CRC32(), sha256(), gzip, true, 0, 0);
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        // 체크포인트 위치까지 자르고, 그 앞부분으로 체크섬을 다시 계산한 뒤 이어서 쓴다
+        // gzip 은 청크마다 멤버를 끝내므로 체크포인트 위치는 항상 완전한 멤버 경계다
+        static PartFile resume(OrderReportPart checkpoint, Path file, boolean gzip) throws IOException {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            try {
+                if (channel.size() < checkpoint.bytes()) {
+                    throw new IllegalStateException("배치 파일이 체크포인트보다 짧습니다: " + file);
+                }
+                channel.truncate(checkpoint.bytes());
+
+                CRC32 crc32 = new CRC32();
+                MessageDigest sha256 = sha256();
+                checksum(file, checkpoint.bytes(), crc32, sha256);
+
+                channel.position(checkpoint.bytes());
+                return new PartFile(checkpoint.partition(), checkpoint.partNo(), file, channel, crc32, sha256,
+                        gzip, false, checkpoint.rows(), checkpoint.orders());
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        boolean isNewOrder(OrderExportRowDto row) {
+            return row.orderId() != lastOrderId;
+        }
+
+        void write(OrderExportRowDto row, long rowNo) throws IOException {
+            long orderId = row.orderId();
+            writeRow(csvWriter, row, rowNo);
+            rows++;
+
+            // 같은 주문의 품목은 연속해서 들어오므로 주문 id 가 바뀔 때만 센다
+            if (orderId != lastOrderId) {
+                lastOrderId = orderId;
+                orders++;
+            }
+        }
+
+        // 잔여 데이터 물리적 기록
+        void sync() throws IOException {
+            csvWriter.flush();
+            if (gzip != null) gzip.endMember();
+            channel.force(false);
+        }
+
+        long position() throws IOException {
+            return channel.position();
+        }
+
+        OrderReportPart checkpoint() {
+            try {
+                return new OrderReportPart(partition, partNo, channel.position(), rows, orders);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        ManifestEntry finish() throws IOException {
+            sync();
+            OrderReportPart checkpoint = checkpoint();
+            closed = true;
+            csvWriter.close();
+
+            return new ManifestEntry(partition, partNo, file.getFileName().toString(),
+                    checkpoint.orders(), checkpoint.rows(), checkpoint.bytes(), crc32Hex(crc32), hex(sha256.digest()));
+        }
+
+        void closeQuietly() {
+            if (closed) return;
+            closed = true;
+            try {
+                csvWriter.close();
+            } catch (IOException e) {
+                log.warn("CSV 파일 닫기 실패: {}", file, e);
+            }
+        }
+    }
+
+    // 컬럼형 파일: 청크마다 블록 하나를 쓰고 fsync, 재개 시 체크포인트까지 자른 뒤 앞 블록을 읽어 사전을 되살린다
+    private static class ColumnarFile {
+        private final Path file;
+        private final FileChannel channel;
+        private final CRC32 crc32;
+        private final MessageDigest sha256;
+        private final OrderColumnarWriter writer;
+
+        private long rows;
+        private int orders;
+        private boolean closed;
+
+        private ColumnarFile(Path file, FileChannel channel, CRC32 crc32, MessageDigest sha256,
+                             OrderColumnarReader dictionariesFrom, long rows, int orders) {
+            this.file = file;
+            this.channel = channel;
+            this.crc32 = crc32;
+            this.sha256 = sha256;
+            this.rows = rows;
+            this.orders = orders;
+            this.writer = new OrderColumnarWriter(new DigestOutputStream(
+                    new CheckedOutputStream(Channels.newOutputStream(channel), crc32), sha256), dictionariesFrom);
+        }
+
+        static ColumnarFile create(Path file) throws IOException {
+            FileChannel channel = FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            try {
+                ColumnarFile columnar = new ColumnarFile(file, channel, new CRC32(), sha256(), null, 0, 0);
+                columnar.writer.writeHeader();
+                return columnar;
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        static ColumnarFile resume(OrderReportPart checkpoint, Path file) throws IOException {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            try {
+                if (channel.size() < checkpoint.bytes()) {
+                    throw new IllegalStateException("배치 파일이 체크포인트보다 짧습니다: " + file);
+                }
+                channel.truncate(checkpoint.bytes());
+
+                CRC32 crc32 = new CRC32();
+                MessageDigest sha256 = sha256();
+                checksum(file, checkpoint.bytes(), crc32, sha256);
+
+                try (OrderColumnarReader reader = new OrderColumnarReader(new BufferedInputStream(Files.newInputStream(file)))) {
+                    while (reader.readBlock() != null) {
+                        // 사전만 되살린다
+                    }
+
+                    channel.position(checkpoint.bytes());
+                    return new ColumnarFile(file, channel, crc32, sha256, reader, checkpoint.rows(), checkpoint.orders());
+                }
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        // 청크는 주문 단위로 끊기므로 청크 안에서 주문 id 가 바뀐 횟수가 주문 수
+        void write(List<OrderExportRowDto> chunk) throws IOException {
+            writer.writeBlock(chunk);
+
+            long lastOrderId = -1;
+            for (OrderExportRowDto row : chunk) {
+                if (row.orderId() != lastOrderId) {
+                    lastOrderId = row.orderId();
+                    orders++;
+                }
+            }
+            rows += chunk.size();
+        }
+
+        void sync() throws IOException {
+            writer.flush();
+            channel.force(false);
+        }
+
+        OrderReportPart checkpoint() {
+            try {
+                return new OrderReportPart(COLUMNAR_PARTITION, 0, channel.position(), rows, orders);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        ManifestEntry finish() throws IOException {
+            OrderReportPart checkpoint = checkpoint();
+            closed = true;
+            writer.close();
+
+            return new ManifestEntry(COLUMNAR_PARTITION, 0, file.getFileName().toString(),
+                    checkpoint.orders(), checkpoint.rows(), checkpoint.bytes(), crc32Hex(crc32), hex(sha256.digest()));
+        }
+
+        void closeQuietly() {
+            if (closed) return;
+            closed = true;
+            try {
+                writer.close();
+            } catch (IOException e) {
+                log.warn("컬럼형 파일 닫기 실패: {}", file, e);
+            }
+        }
+    }
+
+    // gzip 멤버를 청크마다 끝내는 스트림 (여러 멤버를 이어 붙인 파일도 gzip / GZIPInputStream 으로 한 번에 읽힌다)
+    private static class GzipMemberOutputStream extends OutputStream {
+        private final OutputStream out;
+        private GzipMember member;
+
+        GzipMemberOutputStream(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            member().write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            member().write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (member != null) member.flush();
+            else out.flush();
+        }
+
+        void endMember() throws IOException {
+            if (member != null) {
+                member.end();
+                member = null;
+            }
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            endMember();
+            out.close();
+        }
+
+        private GzipMember member() throws IOException {
+            if (member == null) member = new GzipMember(out);
+            return member;
+        }
+    }
+
+    // 멤버를 끝낼 때 Deflater 의 네이티브 메모리도 바로 반환
+    private static class GzipMember extends GZIPOutputStream {
+        GzipMember(OutputStream out) throws IOException {
+            super(out, 8192);
+        }
+
+        void end() throws IOException {
+            finish();
+            def.end();
+        }
+    }
+}
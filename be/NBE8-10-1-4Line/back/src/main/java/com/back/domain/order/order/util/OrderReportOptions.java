@@ -0,0 +1,21 @@
+package com.back.domain.order.order.util;
+
+// 일일 배치 리포트 출력 설정 (custom.order.batch.*)
+public record OrderReportOptions(
+        OrderPartitionKey partitionKey,
+        int partitionCount,
+        int prefixLength,
+        boolean concat,     // 파티션 / 회전 파일을 하나로 병합한 파일도 생성
+        boolean gzip,       // .csv.gz 로 압축
+        long rotateRows,    // 파일당 최대 행 수 (0 이면 회전 안 함)
+        long rotateBytes,   // 파일당 최대 크기 (0 이면 회전 안 함, 주문 단위로 끊으므로 약간 넘을 수 있다)
+        boolean columnar    // 컬럼형 바이너리 파일(.ocol)도 함께 생성
+) {
+    public boolean partitioned() {
+        return partitionKey != OrderPartitionKey.NONE;
+    }
+
+    public boolean rotating() {
+        return rotateRows > 0 || rotateBytes > 0;
+    }
+}
@@ -0,0 +1,11 @@
+package com.back.domain.order.order.util;
+
+// 리포트 파일 하나(파티션의 partNo 번째 파일)의 기록 위치: fsync 까지 끝난 바이트 수, 행 수, 주문 수
+public record OrderReportPart(
+        String partition,
+        int partNo,
+        long bytes,
+        long rows,
+        int orders
+) {
+}
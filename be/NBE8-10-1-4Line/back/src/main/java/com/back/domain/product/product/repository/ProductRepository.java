@@ -2,8 +2,13 @@ package com.back.domain.product.product.repository;
 
 import com.back.domain.product.product.entity.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
+    @Query("select p.id from Product p")
+    List<Long> findAllIds();
 }
 
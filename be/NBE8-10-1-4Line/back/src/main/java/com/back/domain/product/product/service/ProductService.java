@@ -3,27 +3,55 @@ package com.back.domain.product.product.service;
 import com.back.domain.product.product.dto.ProductDto;
 import com.back.domain.product.product.entity.Product;
 import com.back.domain.product.product.repository.ProductRepository;
-import lombok.RequiredArgsConstructor;
+import com.back.global.singleFlight.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 
 @Service
-@RequiredArgsConstructor
 public class ProductService {
     private final ProductRepository productRepository;
+
+    // 상품 목록 동시 조회는 한 번만 (키는 하나뿐)
+    private final SingleFlight<String, List<ProductDto>> findAllFlight;
+
+    public ProductService(ProductRepository productRepository, MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.findAllFlight = new SingleFlight<>("product.find.all", meterRegistry);
+    }
+
     public Long count() {
         return productRepository.count();
     }
 
     public Product create(String name, int price, String description) {
         Product product = Product.create(name, price, description);
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        forgetAfterCommit();
+        return saved;
     }
     public List<ProductDto> findAll() {
-        return productRepository.findAll()
+        return findAllFlight.run("all", () -> productRepository.findAll()
                 .stream()
                 .map(ProductDto::new)
-                .toList();
+                .toList());
+    }
+
+    // 상품 추가 이후의 목록 조회가 추가 전에 시작된 조회 결과를 받지 않도록 커밋 이후 끊는다
+    private void forgetAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            findAllFlight.forgetAll();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                findAllFlight.forgetAll();
+            }
+        });
     }
-}
\ No newline at end of file
+}
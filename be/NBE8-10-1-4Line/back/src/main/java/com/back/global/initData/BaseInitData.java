@@ -3,7 +3,9 @@ package com.back.global.initData;
 import com.back.domain.customer.customer.entity.Customer;
 import com.back.domain.customer.customer.repository.CustomerRepository;
 import com.back.domain.order.order.entity.OrderItem;
+import com.back.domain.order.order.repository.CustomerProductSummaryRepository;
 import com.back.domain.order.order.repository.OrderRepository;
+import com.back.domain.order.order.service.CustomerProductSummaryService;
 import com.back.domain.order.order.entity.Order;
 import com.back.domain.product.product.entity.Product;
 import com.back.domain.product.product.repository.ProductRepository;
@@ -28,12 +30,15 @@ public class BaseInitData {
     private final ProductRepository productRepository;
     private final CustomerRepository customerRepository;
     private final OrderRepository orderRepository;
+    private final CustomerProductSummaryRepository customerProductSummaryRepository;
+    private final CustomerProductSummaryService customerProductSummaryService;
 
     @Bean
     ApplicationRunner baseInitDataApplicationRunner() {
         return args -> {
             self.work1();
             self.work2();
+            self.work3();
         };
     }
 
@@ -80,4 +85,13 @@ public class BaseInitData {
         // 3. 실제 DB 저장
         orderRepository.saveAll(orders);
     }
+
+    // 주문 요약 읽기 모델이 비어 있거나 (초기 데이터 / 읽기 모델 도입 전 주문) 상품명이 없는 행이 있으면 주문 테이블에서 채운다
+    @Transactional
+    public void work3() {
+        if (orderRepository.count() == 0) return;
+        if (customerProductSummaryRepository.count() > 0 && !customerProductSummaryRepository.existsByProductNameIsNull()) return;
+
+        customerProductSummaryService.rebuildAll();
+    }
 }
\ No newline at end of file
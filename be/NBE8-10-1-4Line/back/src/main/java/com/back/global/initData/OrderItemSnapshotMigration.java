@@ -0,0 +1,90 @@
+package com.back.global.initData;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 주문 품목 가격 / 상품명 스냅숏 마이그레이션 (OrderItemSnapshotMigrationConfig 가 EntityManagerFactory 보다 먼저 실행)
+ * 컬럼 추가 전에 저장된 품목을 id 범위마다 현재 상품 값으로 채운 뒤 두 컬럼을 NOT NULL 로 바꾼다.
+ * 끝나기 전에는 JPA / 웹 서버가 뜨지 않으므로, 조회 쿼리는 상품 테이블 없이 품목의 스냅숏만 읽는다.
+ */
+@Slf4j
+public class OrderItemSnapshotMigration {
+    private static final String TABLE = "order_item";
+    private static final long RANGE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderItemSnapshotMigration(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void migrate() {
+        // 컬럼 이름 -> nullable (테이블이 없으면 새 DB 라 Hibernate 가 NOT NULL 로 만든다)
+        Map<String, Boolean> columns = columns();
+        if (columns.isEmpty()) return;
+        if (Boolean.FALSE.equals(columns.get("unit_price")) && Boolean.FALSE.equals(columns.get("product_name"))) return;
+
+        // ddl-auto 가 NOT NULL 컬럼을 추가하면 기존 행이 0 / '' 로 채워지므로 nullable 로 먼저 추가한다
+        if (!columns.containsKey("unit_price")) {
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD COLUMN unit_price INT NULL");
+        }
+        if (!columns.containsKey("product_name")) {
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD COLUMN product_name VARCHAR(100) NULL");
+        }
+
+        int filled = backfill();
+
+        Long missing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM " + TABLE + " WHERE unit_price IS NULL OR product_name IS NULL", Long.class);
+        if (missing != null && missing > 0) {
+            throw new IllegalStateException("주문 품목 스냅숏을 채우지 못한 행이 있습니다: " + missing + "건");
+        }
+
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " MODIFY COLUMN unit_price INT NOT NULL");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " MODIFY COLUMN product_name VARCHAR(100) NOT NULL");
+        log.info("주문 품목 가격 / 상품명 스냅숏 마이그레이션 완료 - 백필: {}건", filled);
+    }
+
+    // id 범위마다 한 문장(자동 커밋)으로 채워 잠금을 짧게 유지한다
+    private int backfill() {
+        String where = "unit_price IS NULL OR product_name IS NULL";
+        Long minId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM " + TABLE + " WHERE " + where, Long.class);
+        if (minId == null) return 0;
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + TABLE + " WHERE " + where, Long.class);
+
+        int filled = 0;
+        for (long from = minId; from <= maxId; from += RANGE) {
+            filled += jdbcTemplate.update("""
+                UPDATE order_item
+                SET unit_price = COALESCE(unit_price, (SELECT p.price FROM product p WHERE p.id = order_item.product_id)),
+                    product_name = COALESCE(product_name, (SELECT p.name FROM product p WHERE p.id = order_item.product_id))
+                WHERE (unit_price IS NULL OR product_name IS NULL)
+                  AND id BETWEEN ? AND ?
+            """, from, from + RANGE - 1);
+        }
+        return filled;
+    }
+
+    private Map<String, Boolean> columns() {
+        return jdbcTemplate.execute((ConnectionCallback<Map<String, Boolean>>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String table = metaData.storesUpperCaseIdentifiers() ? TABLE.toUpperCase() : TABLE;
+
+            Map<String, Boolean> columns = new HashMap<>();
+            try (ResultSet rs = metaData.getColumns(connection.getCatalog(), connection.getSchema(), table, null)) {
+                while (rs.next()) {
+                    columns.put(rs.getString("COLUMN_NAME").toLowerCase(),
+                            rs.getInt("NULLABLE") != DatabaseMetaData.columnNoNulls);
+                }
+            }
+            return columns;
+        });
+    }
+}
@@ -0,0 +1,21 @@
+package com.back.global.initData;
+
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// 스냅숏 마이그레이션이 끝난 뒤에 EntityManagerFactory (스키마 update / 리포지토리 / 웹 서버) 가 만들어지도록 한다
+@Configuration
+public class OrderItemSnapshotMigrationConfig {
+
+    @Bean(initMethod = "migrate")
+    public OrderItemSnapshotMigration orderItemSnapshotMigration(JdbcTemplate jdbcTemplate) {
+        return new OrderItemSnapshotMigration(jdbcTemplate);
+    }
+
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor orderItemSnapshotMigrationDependency() {
+        return new EntityManagerFactoryDependsOnPostProcessor("orderItemSnapshotMigration");
+    }
+}
@@ -0,0 +1,84 @@
+package com.back.global.jpa;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.TableGenerator;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * IDENTITY 로 쌓인 기존 DB 에서 pooled_id 로 넘어올 때 id_sequence 가 1 부터 시작해
+ * 기존 id 와 충돌하지 않도록, 시작 시점에 세그먼트별 next_val 을 테이블의 max(id) 위로 올린다.
+ * 싱글톤 초기화 직후(웹 서버 / 스케줄러 / ApplicationRunner 시작 전)에 실행되므로 첫 insert 보다 먼저 끝난다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdSequenceInitializer implements SmartInitializingSingleton {
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+
+        // 세그먼트 -> (생성기, 그 세그먼트를 쓰는 테이블들 중 가장 큰 id)
+        Map<String, TableGenerator> generators = new LinkedHashMap<>();
+        Map<String, Long> maxIds = new LinkedHashMap<>();
+
+        sessionFactory.getMappingMetamodel().forEachEntityDescriptor(persister -> {
+            if (!(persister.getGenerator() instanceof TableGenerator generator)) return;
+            if (!(persister instanceof AbstractEntityPersister entityPersister)) return;
+
+            Long maxId = jdbcTemplate.queryForObject(
+                    "SELECT COALESCE(MAX(id), 0) FROM " + entityPersister.getTableName(), Long.class);
+
+            generators.putIfAbsent(generator.getSegmentValue(), generator);
+            maxIds.merge(generator.getSegmentValue(), maxId, Math::max);
+        });
+
+        maxIds.forEach((segment, maxId) -> {
+            if (maxId > 0) raise(generators.get(segment), segment, maxId);
+        });
+    }
+
+    /**
+     * pooled 옵티마이저는 읽은 next_val 을 구간의 끝으로 보고 (next_val - incrementSize + 1) 부터 나눠주므로
+     * 구간의 시작이 max(id) + 1 이상이 되도록 max(id) + incrementSize 까지 올린다.
+     */
+    void raise(TableGenerator generator, String segment, long maxId) {
+        long required = maxId + generator.getIncrementSize();
+
+        String update = "UPDATE " + generator.getTableName()
+                + " SET " + generator.getValueColumnName() + " = ?"
+                + " WHERE " + generator.getSegmentColumnName() + " = ?"
+                + " AND " + generator.getValueColumnName() + " < ?";
+        String exists = "SELECT COUNT(*) FROM " + generator.getTableName()
+                + " WHERE " + generator.getSegmentColumnName() + " = ?";
+        String insert = "INSERT INTO " + generator.getTableName()
+                + " (" + generator.getSegmentColumnName() + ", " + generator.getValueColumnName() + ") VALUES (?, ?)";
+
+        if (jdbcTemplate.update(update, required, segment, required) > 0) {
+            log.info("id_sequence 보정 - 세그먼트: {}, next_val: {}", segment, required);
+            return;
+        }
+
+        if (jdbcTemplate.queryForObject(exists, Long.class, segment) > 0) return;
+
+        try {
+            jdbcTemplate.update(insert, segment, required);
+            log.info("id_sequence 생성 - 세그먼트: {}, next_val: {}", segment, required);
+        } catch (DuplicateKeyException e) {
+            // 다른 노드가 동시에 행을 만들었으면 조건부 update 로 다시 올린다
+            jdbcTemplate.update(update, required, segment, required);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.back.global.jpa;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JpaConfig {
+
+    // spring.jpa.properties 로 다른 inspector 를 지정했으면 (테스트의 SqlStatementCounter) 그대로 둔다
+    @Bean
+    public HibernatePropertiesCustomizer queryCountInspectorCustomizer() {
+        return properties -> properties.putIfAbsent(AvailableSettings.STATEMENT_INSPECTOR, QueryCountInspector.class.getName());
+    }
+}
@@ -0,0 +1,28 @@
+package com.back.global.jpa;
+
+import com.back.global.jpa.entity.BaseEntity;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+/**
+ * 네이티브 insert 처럼 Hibernate persist 를 거치지 않고 저장할 때도
+ * 엔티티와 같은 id_sequence 풀(BaseEntity 의 pooled_id)에서 id 를 할당받기 위한 컴포넌트
+ */
+@Component
+@RequiredArgsConstructor
+public class PooledIdAllocator {
+    private final EntityManager entityManager;
+
+    public Long nextId(Class<? extends BaseEntity> entityClass) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(entityClass);
+        BeforeExecutionGenerator generator = (BeforeExecutionGenerator) persister.getGenerator();
+
+        return (Long) generator.generate(session, null, null, EventType.INSERT);
+    }
+}
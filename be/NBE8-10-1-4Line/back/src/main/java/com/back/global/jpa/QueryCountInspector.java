@@ -0,0 +1,24 @@
+package com.back.global.jpa;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * 현재 스레드에서 실행된 SQL 수 (배치 단계별 쿼리 수 계측용)
+ * JpaConfig 가 statement_inspector 로 등록한다.
+ * 다른 inspector 를 지정할 때는 이 클래스를 상속하고 super.inspect 를 호출해야 계속 센다.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    // 단계 시작 / 끝의 차이로 단계 안에서 실행된 쿼리 수를 구한다
+    public static long count() {
+        return COUNT.get()[0];
+    }
+}
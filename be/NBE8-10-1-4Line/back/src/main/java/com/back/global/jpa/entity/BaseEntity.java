@@ -13,8 +13,20 @@ import java.time.LocalDateTime;
 @MappedSuperclass
 public abstract class BaseEntity {
 
+    public static final int ALLOCATION_SIZE = 50;
+
+    // IDENTITY 전략은 insert 를 즉시 실행해야 해서 JDBC 배치가 꺼진다.
+    // id_sequence 테이블(엔티티 테이블별 행)에서 ALLOCATION_SIZE 만큼 미리 할당받아(pooled) 메모리에서 채번한다.
+    // 기존 DB 의 id 와 겹치지 않도록 IdSequenceInitializer 가 시작 시 next_val 을 max(id) 위로 맞춘다.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "pooled_id")
+    @TableGenerator(
+            name = "pooled_id",
+            table = "id_sequence",
+            pkColumnName = "sequence_name",
+            valueColumnName = "next_val",
+            allocationSize = BaseEntity.ALLOCATION_SIZE
+    )
     private Long id;
 
     @CreationTimestamp
@@ -0,0 +1,36 @@
+package com.back.global.lease;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 여러 노드 중 한 노드만 작업을 실행하도록 하는 DB lease (작업 이름당 한 행)
+ * 획득 / 갱신 / 반납은 모두 SchedulerLeaseRepository 의 조건부 UPDATE 로만 바꾼다.
+ * fencingToken 은 다른 노드가 넘겨받을 때마다 1 씩 늘어나므로, 이전 소유자의 뒤늦은 갱신 / 커밋을 막는 데 쓴다.
+ */
+@Getter
+@Entity
+@NoArgsConstructor
+@Table(name = "scheduler_lease")
+public class SchedulerLease {
+
+    @Id
+    @Column(name = "lease_name", length = 100)
+    private String name;
+
+    @Column(name = "owner_id", length = 200)
+    private String ownerId;
+
+    @Column(name = "fencing_token", nullable = false)
+    private long fencingToken;
+
+    // DB 시계 기준 만료 시각 (노드 간 시계 차이의 영향을 받지 않도록 DB 의 CURRENT_TIMESTAMP 로만 계산)
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
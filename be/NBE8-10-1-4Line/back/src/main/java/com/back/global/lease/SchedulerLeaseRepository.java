@@ -0,0 +1,53 @@
+package com.back.global.lease;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+// 시간은 모두 DB 의 CURRENT_TIMESTAMP 기준 (MySQL, H2 MySQL 모드 공통)
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    // lease 행이 없으면 만료된 상태로 만든다 -> 저장된 행 수 반환
+    @Modifying
+    @Query(value = """
+        INSERT IGNORE INTO scheduler_lease (lease_name, fencing_token, expires_at)
+        VALUES (:name, 0, CURRENT_TIMESTAMP)
+    """, nativeQuery = true)
+    int insertIgnore(@Param("name") String name);
+
+    // 만료된 lease 만 가져간다 (동시에 시도해도 행 잠금으로 한 노드만 1을 받는다)
+    @Modifying(clearAutomatically = true)
+    @Query(value = """
+        UPDATE scheduler_lease
+        SET owner_id = :owner,
+            fencing_token = fencing_token + 1,
+            expires_at = TIMESTAMPADD(SECOND, :ttlSeconds, CURRENT_TIMESTAMP)
+        WHERE lease_name = :name
+          AND expires_at <= CURRENT_TIMESTAMP
+    """, nativeQuery = true)
+    int acquire(@Param("name") String name, @Param("owner") String owner, @Param("ttlSeconds") long ttlSeconds);
+
+    // 토큰이 그대로일 때만 연장 (그사이 다른 노드가 가져갔으면 0)
+    @Modifying(clearAutomatically = true)
+    @Query(value = """
+        UPDATE scheduler_lease
+        SET expires_at = TIMESTAMPADD(SECOND, :ttlSeconds, CURRENT_TIMESTAMP)
+        WHERE lease_name = :name
+          AND owner_id = :owner
+          AND fencing_token = :token
+    """, nativeQuery = true)
+    int renew(@Param("name") String name, @Param("owner") String owner, @Param("token") long token,
+              @Param("ttlSeconds") long ttlSeconds);
+
+    // 바로 만료시켜 다른 노드가 기다리지 않고 가져갈 수 있게 한다
+    @Modifying(clearAutomatically = true)
+    @Query(value = """
+        UPDATE scheduler_lease
+        SET expires_at = CURRENT_TIMESTAMP
+        WHERE lease_name = :name
+          AND owner_id = :owner
+          AND fencing_token = :token
+    """, nativeQuery = true)
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("token") long token);
+}
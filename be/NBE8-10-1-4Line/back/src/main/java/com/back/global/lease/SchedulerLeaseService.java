@@ -0,0 +1,72 @@
+package com.back.global.lease;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 스케줄 작업의 클러스터 단일 실행 보장
+ * 모든 노드가 같은 시각에 tryAcquire 를 호출해도 한 노드만 lease 를 얻는다.
+ * 소유 노드는 작업 도중 renew 로 만료를 늦추고, 죽으면 ttl 뒤에 다른 노드가 넘겨받는다.
+ * renew 는 호출한 쪽의 트랜잭션에 참여하므로, 작업의 커밋과 같은 트랜잭션에서 호출하면
+ * lease 를 잃은 노드의 커밋은 함께 롤백된다 (fencing).
+ */
+@Slf4j
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class SchedulerLeaseService {
+    // 노드 식별자: 호스트 + pid + 기동마다 새로 만드는 값 (재기동한 노드가 이전 lease 를 이어받지 않도록)
+    private static final String OWNER_ID = hostName() + ":" + ManagementFactory.getRuntimeMXBean().getPid()
+            + ":" + UUID.randomUUID().toString().substring(0, 8);
+
+    private final SchedulerLeaseRepository schedulerLeaseRepository;
+
+    public Optional<Lease> tryAcquire(String name, Duration ttl) {
+        // 처음 한 번만 행을 만든다 (이미 있는 행에 INSERT IGNORE 를 하면 MySQL 에서 공유 잠금이 걸려 다음 UPDATE 와 교착될 수 있음)
+        if (!schedulerLeaseRepository.existsById(name)) {
+            schedulerLeaseRepository.insertIgnore(name);
+        }
+
+        if (schedulerLeaseRepository.acquire(name, OWNER_ID, ttl.toSeconds()) == 0) {
+            return Optional.empty();
+        }
+
+        SchedulerLease lease = schedulerLeaseRepository.findById(name)
+                .orElseThrow(() -> new IllegalStateException("lease 를 찾을 수 없습니다: " + name));
+        log.info("lease 획득 - 이름: {}, 노드: {}, 토큰: {}", name, OWNER_ID, lease.getFencingToken());
+        return Optional.of(new Lease(name, OWNER_ID, lease.getFencingToken(), ttl));
+    }
+
+    // 만료를 ttl 만큼 늦춘다, 다른 노드가 이미 가져갔으면 예외 (호출한 트랜잭션이 롤백된다)
+    public void renew(Lease lease) {
+        if (schedulerLeaseRepository.renew(lease.name(), lease.owner(), lease.token(), lease.ttl().toSeconds()) == 0) {
+            throw new IllegalStateException("lease 를 다른 노드가 가져갔습니다: " + lease.name() + " (토큰: " + lease.token() + ")");
+        }
+    }
+
+    public void release(Lease lease) {
+        if (schedulerLeaseRepository.release(lease.name(), lease.owner(), lease.token()) == 0) {
+            log.warn("반납하려는 lease 를 이미 다른 노드가 가져갔습니다 - 이름: {}, 토큰: {}", lease.name(), lease.token());
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+
+    public record Lease(String name, String owner, long token, Duration ttl) {
+    }
+}
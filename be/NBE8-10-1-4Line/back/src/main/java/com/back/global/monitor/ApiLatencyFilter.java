@@ -0,0 +1,35 @@
+package com.back.global.monitor;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// /api/** 요청의 처리 시간을 ApiLatencyMonitor 에 기록 (리포트 다운로드 같은 관리자 요청은 제외)
+@Component
+@RequiredArgsConstructor
+public class ApiLatencyFilter extends OncePerRequestFilter {
+    private final ApiLatencyMonitor apiLatencyMonitor;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return !uri.startsWith("/api/") || uri.startsWith("/api/admin/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            apiLatencyMonitor.record(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.back.global.monitor;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 처리 중인 API 요청 지연 집계 (ApiLatencyFilter 가 기록)
+ * 배치 같은 백그라운드 작업이 drain 으로 지난 구간의 지연을 읽어 온라인 요청이 느려졌는지 판단한다.
+ * 요청 경로에서는 LongAdder 에 더하기만 하므로 잠금이 없다.
+ */
+@Component
+public class ApiLatencyMonitor {
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+
+    public void record(long nanos) {
+        requests.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+    }
+
+    // 마지막 drain 이후 구간의 요청 수 / 평균 / 최대를 읽고 초기화 (읽는 쪽은 하나라고 가정, 값은 근사치)
+    public Window drain() {
+        long count = requests.sumThenReset();
+        long total = totalNanos.sumThenReset();
+        long max = maxNanos.getThenReset();
+        return new Window(count, count == 0 ? 0 : total / count, max);
+    }
+
+    public record Window(long requests, long avgNanos, long maxNanos) {
+        public long avgMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(avgNanos);
+        }
+
+        public long maxMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(maxNanos);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.back.global.singleFlight;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * 같은 키의 동시 조회를 하나로 합친다 (single-flight)
+ * 먼저 온 호출(leader)이 자기 스레드에서 조회하고, 그동안 같은 키로 온 호출(follower)은 그 결과를 기다려 함께 받는다.
+ * 조회가 끝나면 키를 지우므로 결과를 보관하지 않는다. (보관은 캐시의 일, 이건 동시에 겹친 호출만 합친다)
+ * - 조회 예외는 그 조회를 기다리던 호출 모두에 같은 예외로 전달되고, 다음 호출은 새로 조회한다.
+ * - leader 가 중단(interrupt)되어 실패하면 follower 는 실패를 물려받지 않고 다시 시도한다. (그중 하나가 새 leader)
+ * - follower 가 기다리다 중단되면 혼자 빠진다. (leader 의 조회는 계속되어 다른 follower 에게 전달)
+ * - 쓰기가 커밋된 뒤에는 forget 으로 진행 중인 조회와 끊어, 이후 호출이 쓰기 이전에 시작된 조회 결과를 받지 않게 한다.
+ * 지표: single.flight.calls(name, role=leader|follower), follower 수가 합쳐져 생략된 조회 수
+ */
+public class SingleFlight<K, V> {
+    private final ConcurrentHashMap<K, CompletableFuture<V>> flights = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter followers;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.leaders = Counter.builder("single.flight.calls").tag("name", name).tag("role", "leader").register(meterRegistry);
+        this.followers = Counter.builder("single.flight.calls").tag("name", name).tag("role", "follower").register(meterRegistry);
+    }
+
+    public V run(K key, Supplier<V> loader) {
+        while (true) {
+            CompletableFuture<V> flight = new CompletableFuture<>();
+            CompletableFuture<V> running = flights.putIfAbsent(key, flight);
+            if (running == null) {
+                leaders.increment();
+                return lead(key, flight, loader);
+            }
+
+            followers.increment();
+            try {
+                return running.get();
+            } catch (CancellationException e) {
+                // leader 가 중단됨: 다시 시도
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("조회 결과를 기다리는 중 중단되었습니다.", e);
+            } catch (ExecutionException e) {
+                throw propagate(e.getCause());
+            }
+        }
+    }
+
+    // 진행 중인 조회와 끊는다 (이미 기다리는 호출은 그 결과를 받고, 이후 호출은 새로 조회)
+    public void forget(K key) {
+        flights.remove(key);
+    }
+
+    public void forgetAll() {
+        flights.clear();
+    }
+
+    public int inFlight() {
+        return flights.size();
+    }
+
+    private V lead(K key, CompletableFuture<V> flight, Supplier<V> loader) {
+        V value;
+        try {
+            value = loader.get();
+        } catch (RuntimeException | Error e) {
+            // 키를 먼저 지워야 다시 시도하는 follower 가 같은 조회에 다시 붙지 않는다
+            flights.remove(key, flight);
+            if (Thread.currentThread().isInterrupted() || e instanceof CancellationException) {
+                flight.cancel(false);
+            } else {
+                flight.completeExceptionally(e);
+            }
+            throw e;
+        }
+
+        flights.remove(key, flight);
+        flight.complete(value);
+        return value;
+    }
+
+    private static RuntimeException propagate(Throwable cause) {
+        if (cause instanceof RuntimeException e) return e;
+        if (cause instanceof Error e) throw e;
+        return new IllegalStateException(cause);
+    }
+}
@@ -0,0 +1,98 @@
+package com.back.global.virtualThread;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 가상 스레드가 synchronized 구간 등에서 캐리어 스레드에 고정(pinning)되면 JFR 이벤트(jdk.VirtualThreadPinned)로 감지해 로그로 남긴다.
+ * JDBC / 메일 경로에서 발생한 경우 warn, 그 외는 debug
+ */
+@Slf4j
+@Component
+@Profile("virtual")
+public class VirtualThreadPinningMonitor {
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 8;
+
+    private static final List<String> WATCHED_PACKAGES = List.of(
+            "com.mysql.",
+            "org.h2.",
+            "com.zaxxer.hikari.",
+            "org.hibernate.",
+            "jakarta.mail.",
+            "org.eclipse.angus.mail.",
+            "org.springframework.mail."
+    );
+
+    @Value("${custom.virtual-thread.pinned-threshold-ms:20}")
+    private long pinnedThresholdMs;
+
+    private RecordingStream recordingStream;
+
+    @PostConstruct
+    public void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT)
+                .withThreshold(Duration.ofMillis(pinnedThresholdMs))
+                .withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+        recordingStream.startAsync();
+
+        log.info("가상 스레드 pinning 감지 시작 - 기준: {}ms", pinnedThresholdMs);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recordingStream != null) recordingStream.close();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null) return;
+
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        Optional<RecordedFrame> watchedFrame = frames.stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .filter(frame -> isWatched(frame.getMethod().getType().getName()))
+                .findFirst();
+
+        String threadName = event.getThread() != null ? event.getThread().getJavaName() : "unknown";
+        String trace = frames.stream()
+                .limit(LOGGED_FRAMES)
+                .map(this::format)
+                .reduce((a, b) -> a + "\n\tat " + b)
+                .orElse("");
+
+        if (watchedFrame.isPresent()) {
+            log.warn("가상 스레드 pinning 감지 (JDBC/메일 경로) - {}ms, 스레드: {}, 위치: {}\n\tat {}",
+                    event.getDuration().toMillis(), threadName, format(watchedFrame.get()), trace);
+        } else {
+            log.debug("가상 스레드 pinning 감지 - {}ms, 스레드: {}\n\tat {}",
+                    event.getDuration().toMillis(), threadName, trace);
+        }
+    }
+
+    private boolean isWatched(String className) {
+        return WATCHED_PACKAGES.stream().anyMatch(className::startsWith);
+    }
+
+    private String format(RecordedFrame frame) {
+        return "%s.%s:%d".formatted(
+                frame.getMethod().getType().getName(),
+                frame.getMethod().getName(),
+                frame.getLineNumber()
+        );
+    }
+}
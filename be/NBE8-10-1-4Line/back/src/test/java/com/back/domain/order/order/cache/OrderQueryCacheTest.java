@@ -0,0 +1,115 @@
+package com.back.domain.order.order.cache;
+
+import com.back.domain.order.order.dto.OrderProductDetailDto;
+import com.back.domain.order.order.dto.OrderProductSummaryDto;
+import com.back.domain.order.order.entity.OrderStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderQueryCacheTest {
+
+    private static final String EMAIL = "cache@test.com";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OrderQueryCache cache = new OrderQueryCache(true, 2, 30, meterRegistry);
+
+    @Test
+    @DisplayName("같은 키는 한 번만 조회하고, 적중 / 미적중이 지표로 남는다")
+    void get_hitAndMiss() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.getSummaries(EMAIL, () -> summaries(loads));
+        cache.getSummaries(EMAIL, () -> summaries(loads));
+        cache.getSummaries(EMAIL, () -> summaries(loads));
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(count("order.query.cache.gets", "result", "hit")).isEqualTo(2);
+        assertThat(count("order.query.cache.gets", "result", "miss")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("주문 이벤트는 해당 고객의 요약과 주문에 든 상품의 상세만 지운다")
+    void evictOrder_onlyTouchedKeys() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.getSummaries(EMAIL, () -> summaries(loads));
+        cache.getDetails(EMAIL, 1L, () -> details(loads, 10L, OrderStatus.ORDERED));
+
+        // 트랜잭션 밖이면 바로 무효화
+        cache.evictOrder(EMAIL, Set.of(1L));
+        cache.getSummaries(EMAIL, () -> summaries(loads));
+        cache.getDetails(EMAIL, 1L, () -> details(loads, 10L, OrderStatus.ORDERED));
+
+        assertThat(loads.get()).isEqualTo(4);
+        assertThat(count("order.query.cache.evictions", "cause", "invalidated")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("배치 선점은 기준 시간 이전 ORDERED 주문이 든 상세만, 청크 완료는 그 주문이 든 상세만 지운다")
+    void batchEvictions_byCachedRows() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.getDetails(EMAIL, 1L, () -> details(loads, 10L, OrderStatus.ORDERED));
+        cache.getDetails(EMAIL, 2L, () -> details(loads, 20L, OrderStatus.DELIVERED));
+
+        cache.evictClaimable(LocalDateTime.now());
+        cache.getDetails(EMAIL, 1L, () -> details(loads, 10L, OrderStatus.PROCESSING));
+        cache.getDetails(EMAIL, 2L, () -> details(loads, 20L, OrderStatus.DELIVERED));
+        assertThat(loads.get()).isEqualTo(3);
+
+        cache.evictDetailsOfOrders(List.of(10L));
+        cache.getDetails(EMAIL, 1L, () -> details(loads, 10L, OrderStatus.SHIPPING));
+        cache.getDetails(EMAIL, 2L, () -> details(loads, 20L, OrderStatus.DELIVERED));
+        assertThat(loads.get()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("최대 건수를 넘으면 가장 오래 안 쓴 항목부터 밀어낸다")
+    void sizeEviction() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.getSummaries("a@test.com", () -> summaries(loads));
+        cache.getSummaries("b@test.com", () -> summaries(loads));
+        cache.getSummaries("a@test.com", () -> summaries(loads));
+        cache.getSummaries("c@test.com", () -> summaries(loads));
+
+        cache.getSummaries("a@test.com", () -> summaries(loads));
+        assertThat(loads.get()).isEqualTo(3);
+        assertThat(count("order.query.cache.evictions", "cause", "size")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("조회 중에 무효화가 있었으면 읽은 값을 넣지 않는다")
+    void invalidationDuringLoad_notCached() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.getSummaries(EMAIL, () -> {
+            cache.evictSummary(EMAIL);
+            return summaries(loads);
+        });
+        cache.getSummaries(EMAIL, () -> summaries(loads));
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    private List<OrderProductSummaryDto> summaries(AtomicInteger loads) {
+        loads.incrementAndGet();
+        return List.of(new OrderProductSummaryDto(1L, "커피", 3L, 15000L));
+    }
+
+    private List<OrderProductDetailDto> details(AtomicInteger loads, Long orderId, OrderStatus status) {
+        loads.incrementAndGet();
+        return List.of(new OrderProductDetailDto(orderId, LocalDateTime.now().minusHours(1), status,
+                "서울시 강남구", "12345", 1, 5000, 5000L));
+    }
+
+    private double count(String name, String tag, String value) {
+        return meterRegistry.get(name).tag(tag, value).counters().stream().mapToDouble(c -> c.count()).sum();
+    }
+}
@@ -2,11 +2,14 @@ package com.back.domain.order.order.controller;
 
 import com.back.domain.customer.customer.repository.CustomerRepository;
 import com.back.domain.customer.customer.entity.Customer;
+import com.back.domain.order.order.cache.OrderQueryCache;
 import com.back.domain.order.order.entity.Order;
 import com.back.domain.order.order.entity.OrderItem;
 import com.back.domain.order.order.entity.OrderStatus;
 import com.back.domain.order.order.repository.OrderItemRepository;
+import com.back.domain.order.order.repository.CustomerProductSummaryRepository;
 import com.back.domain.order.order.repository.OrderRepository;
+import com.back.domain.order.order.service.CustomerProductSummaryService;
 import com.back.domain.product.product.entity.Product;
 import jakarta.persistence.EntityManager;
 import com.back.domain.product.product.repository.ProductRepository;
@@ -48,6 +51,9 @@ class OrderControllerTest {
     @Autowired CustomerRepository customerRepository;
     @Autowired ProductRepository productRepository;
     @Autowired OrderItemRepository orderItemRepository;
+    @Autowired CustomerProductSummaryRepository customerProductSummaryRepository;
+    @Autowired CustomerProductSummaryService customerProductSummaryService;
+    @Autowired OrderQueryCache orderQueryCache;
 
     private final String email = "test@test.com";
 
@@ -56,7 +62,9 @@ class OrderControllerTest {
 
     @BeforeEach
     void setUp() {
-        // 각 테스트마다 데이터 깨끗하게
+        // 각 테스트마다 데이터 깨끗하게 (테스트 트랜잭션은 롤백되어 커밋 후 캐시 무효화가 돌지 않으므로 캐시도 비움)
+        orderQueryCache.clear();
+        customerProductSummaryRepository.deleteAll();
         orderItemRepository.deleteAll();
         orderRepository.deleteAll();
         productRepository.deleteAll();
@@ -114,6 +122,9 @@ class OrderControllerTest {
         o2Coffee1.setProduct(coffee);
         o2Coffee1.setQuantity(1);
         orderItemRepository.save(o2Coffee1);
+
+        // 리포지토리로 직접 넣은 주문이므로 요약 읽기 모델은 재구성으로 채운다
+        customerProductSummaryService.rebuild(email);
     }
 
     @Test
@@ -201,20 +212,97 @@ class OrderControllerTest {
                         .param("email", email))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.resultCode").value("200-1"))
-                .andExpect(jsonPath("$.data").isArray())
-                .andExpect(jsonPath("$.data", hasSize(2)))
+                .andExpect(jsonPath("$.data.items").isArray())
+                .andExpect(jsonPath("$.data.items", hasSize(2)))
+                .andExpect(jsonPath("$.data.nextCursor").doesNotExist())
 
                 // 각 row에 필수 필드가 있는지
-                .andExpect(jsonPath("$.data[0].orderId").isNumber())
-                .andExpect(jsonPath("$.data[0].orderTime").isNotEmpty())
-                .andExpect(jsonPath("$.data[0].orderStatus").isNotEmpty())
-                .andExpect(jsonPath("$.data[0].shippingAddress").isNotEmpty())
-                .andExpect(jsonPath("$.data[0].shippingCode").isNotEmpty())
+                .andExpect(jsonPath("$.data.items[0].orderId").isNumber())
+                .andExpect(jsonPath("$.data.items[0].orderTime").isNotEmpty())
+                .andExpect(jsonPath("$.data.items[0].orderStatus").isNotEmpty())
+                .andExpect(jsonPath("$.data.items[0].shippingAddress").isNotEmpty())
+                .andExpect(jsonPath("$.data.items[0].shippingCode").isNotEmpty())
 
                 // 커피 가격 5000, 수량/소계 검증 (2개짜리 주문이 있고, 1개짜리 주문이 있음)
-                .andExpect(jsonPath("$.data[*].pricePerItem", everyItem(is(5000))))
-                .andExpect(jsonPath("$.data[*].quantity", containsInAnyOrder(2, 1)))
-                .andExpect(jsonPath("$.data[*].subTotal", containsInAnyOrder(10000, 5000)));
+                .andExpect(jsonPath("$.data.items[*].pricePerItem", everyItem(is(5000))))
+                .andExpect(jsonPath("$.data.items[*].quantity", containsInAnyOrder(2, 1)))
+                .andExpect(jsonPath("$.data.items[*].subTotal", containsInAnyOrder(10000, 5000)));
+    }
+
+    @Test
+    @DisplayName("상품 가격 / 이름이 바뀌어도 요약과 상세는 주문 시점 값으로 계산된다")
+    void summaryAndDetail_usePriceSnapshot() throws Exception {
+        coffee.setPrice(9000);
+        coffee.setName("커피(리뉴얼)");
+        productRepository.saveAndFlush(coffee);
+
+        mockMvc.perform(get("/api/orders/summary")
+                        .param("email", email))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[?(@.productName=='커피')].totalAmount", contains(15000)));
+
+        mockMvc.perform(get("/api/orders/summary/{productId}", coffee.getId())
+                        .param("email", email))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items[*].pricePerItem", everyItem(is(5000))))
+                .andExpect(jsonPath("$.data.items[*].subTotal", containsInAnyOrder(10000, 5000)));
+    }
+
+    @Test
+    @DisplayName("상품 상세 조회: size 로 나누면 최근 주문부터 nextCursor 를 따라 이어서 내려온다")
+    void detail_keysetPages() throws Exception {
+        String body = mockMvc.perform(get("/api/orders/summary/{productId}", coffee.getId())
+                        .param("email", email)
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items", hasSize(1)))
+                .andExpect(jsonPath("$.data.items[0].quantity").value(1)) // 오늘 주문 (1개)
+                .andExpect(jsonPath("$.data.nextCursor").isString())
+                .andReturn().getResponse().getContentAsString();
+        String cursor = objectMapper.readTree(body).path("data").path("nextCursor").asText();
+
+        mockMvc.perform(get("/api/orders/summary/{productId}", coffee.getId())
+                        .param("email", email)
+                        .param("size", "1")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items", hasSize(1)))
+                .andExpect(jsonPath("$.data.items[0].quantity").value(2)) // 어제 주문 (2개)
+                .andExpect(jsonPath("$.data.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("주문 단건 조회: 주문 고객 이메일로만 조회되고, 다른 이메일이면 400")
+    void getOrder_byId() throws Exception {
+        Order order = orderRepository.findAll().stream()
+                .filter(o -> o.getShippingCode().equals("CJ111"))
+                .findFirst()
+                .orElseThrow();
+        // 리포지토리로 넣은 주문 항목이 주문의 orderItems 에 보이도록 영속성 컨텍스트를 비운다
+        em.flush();
+        em.clear();
+
+        mockMvc.perform(get("/api/orders/{orderId}", order.getId())
+                        .param("email", email))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.id").value(order.getId()))
+                .andExpect(jsonPath("$.data.shippingAddress").value("서울시 강남구"))
+                .andExpect(jsonPath("$.data.orderItems", hasSize(2)))
+                .andExpect(jsonPath("$.data.orderItems[*].subTotal", containsInAnyOrder(10000, 6000)));
+
+        mockMvc.perform(get("/api/orders/{orderId}", order.getId())
+                        .param("email", "other@test.com"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("상품 상세 조회: 잘못된 커서는 400")
+    void detail_invalidCursor() throws Exception {
+        mockMvc.perform(get("/api/orders/summary/{productId}", coffee.getId())
+                        .param("email", email)
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.resultCode").value("400-1"));
     }
 
     @Test
@@ -222,6 +310,7 @@ class OrderControllerTest {
     void summary_empty_whenNoOrders() throws Exception {
         orderItemRepository.deleteAll();
         orderRepository.deleteAll();
+        customerProductSummaryService.rebuild(email);
 
         mockMvc.perform(get("/api/orders/summary")
                         .param("email", email))
@@ -506,4 +595,84 @@ class OrderControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.resultCode").value("400-1"));
     }
+
+    @Test
+    @DisplayName("t8: 주문 일괄 등록 (NDJSON) - 잘못된 행은 거부되고 나머지는 저장된다")
+    void t8_importOrdersNdjson() throws Exception {
+        String body = String.join("\n",
+                "{\"email\":\"bulk1@example.com\",\"shippingAddress\":\"서울시 강남구\",\"shippingCode\":\"12345\",\"items\":[{\"productId\":%d,\"quantity\":2}]}".formatted(savedProduct1.getId()),
+                "{\"email\":\"잘못된이메일\",\"shippingAddress\":\"서울시 강남구\",\"shippingCode\":\"12345\",\"items\":[{\"productId\":%d,\"quantity\":1}]}".formatted(savedProduct1.getId()),
+                "{\"email\":\"bulk2@example.com\",\"shippingAddress\":\"부산시 해운대구\",\"shippingCode\":\"48045\",\"items\":[{\"productId\":%d,\"quantity\":1}]}".formatted(savedProduct1.getId())
+        );
+
+        mvc.perform(
+                        post("/api/orders/import")
+                                .contentType(MediaType.APPLICATION_NDJSON)
+                                .content(body)
+                )
+                .andDo(print())
+                .andExpect(handler().methodName("importOrders"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.resultCode").value("200-1"))
+                .andExpect(jsonPath("$.data.totalLines").value(3))
+                .andExpect(jsonPath("$.data.importedCount").value(2))
+                .andExpect(jsonPath("$.data.rejectedCount").value(1))
+                .andExpect(jsonPath("$.data.rejectedLines[0].lineNo").value(2))
+                .andExpect(jsonPath("$.data.chunks[0].committed").value(true));
+
+        assertThat(customerRepository.findByEmail("bulk1@example.com")).isPresent();
+        assertThat(customerRepository.findByEmail("bulk2@example.com")).isPresent();
+    }
+
+    @Test
+    @DisplayName("t9: 주문 일괄 등록 (CSV) - items 는 상품ID:수량;상품ID:수량 형식")
+    void t9_importOrdersCsv() throws Exception {
+        String body = """
+                email,shippingAddress,shippingCode,items
+                bulk3@example.com,서울시 강남구,12345,%d:2;%d:1
+                bulk3@example.com,서울시 강남구,12345,abc
+                """.formatted(coffee.getId(), cake.getId());
+
+        mvc.perform(
+                        post("/api/orders/import")
+                                .contentType("text/csv")
+                                .content(body)
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.totalLines").value(2))
+                .andExpect(jsonPath("$.data.importedCount").value(1))
+                .andExpect(jsonPath("$.data.rejectedLines[0].lineNo").value(2));
+
+        mockMvc.perform(get("/api/orders/summary").param("email", "bulk3@example.com"))
+                .andExpect(jsonPath("$.data", hasSize(2)));
+    }
+
+    @Test
+    @DisplayName("t10: 주문 일괄 등록 - 없는 상품을 가리키는 행만 거부되고 같은 청크의 나머지는 저장된다")
+    void t10_importOrdersUnknownProduct() throws Exception {
+        String body = String.join("\n",
+                "{\"email\":\"bulk4@example.com\",\"shippingAddress\":\"서울시 강남구\",\"shippingCode\":\"12345\",\"items\":[{\"productId\":%d,\"quantity\":1}]}".formatted(coffee.getId()),
+                "{\"email\":\"bulk5@example.com\",\"shippingAddress\":\"서울시 강남구\",\"shippingCode\":\"12345\",\"items\":[{\"productId\":%d,\"quantity\":1},{\"productId\":999999,\"quantity\":1}]}".formatted(cake.getId()),
+                "{\"email\":\"bulk6@example.com\",\"shippingAddress\":\"부산시 해운대구\",\"shippingCode\":\"48045\",\"items\":[{\"productId\":%d,\"quantity\":2}]}".formatted(cake.getId())
+        );
+
+        mvc.perform(
+                        post("/api/orders/import")
+                                .contentType(MediaType.APPLICATION_NDJSON)
+                                .content(body)
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.importedCount").value(2))
+                .andExpect(jsonPath("$.data.rejectedCount").value(1))
+                .andExpect(jsonPath("$.data.rejectedLines[0].lineNo").value(2))
+                .andExpect(jsonPath("$.data.rejectedLines[0].reason").value("존재하지 않는 상품입니다: 999999"))
+                .andExpect(jsonPath("$.data.chunks[0].committed").value(true))
+                .andExpect(jsonPath("$.data.chunks[0].size").value(2));
+
+        assertThat(customerRepository.findByEmail("bulk4@example.com")).isPresent();
+        assertThat(customerRepository.findByEmail("bulk5@example.com")).isEmpty();
+        assertThat(customerRepository.findByEmail("bulk6@example.com")).isPresent();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,200 @@
+package com.back.domain.order.order.controller;
+
+import com.back.domain.customer.customer.entity.Customer;
+import com.back.domain.customer.customer.repository.CustomerRepository;
+import com.back.domain.order.order.entity.Order;
+import com.back.domain.order.order.entity.OrderItem;
+import com.back.domain.order.order.entity.OrderStatus;
+import com.back.domain.order.order.repository.OrderRepository;
+import com.back.domain.product.product.entity.Product;
+import com.back.domain.product.product.repository.ProductRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// 내보내기는 백그라운드 스레드에서 실제로 커밋되므로 @Transactional 없이 실행하고 직접 정리한다
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OrderReportControllerTest {
+
+    @TempDir
+    static Path outputDir;
+
+    @DynamicPropertySource
+    static void outputDir(DynamicPropertyRegistry registry) {
+        registry.add("custom.order.batch.output-dir", () -> outputDir.toString());
+    }
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    // 다른 데이터의 ORDERED 주문은 잠시 PAID 로 옮겨 두고 끝나면 되돌린다
+    private final List<Long> parkedOrderIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            parkedOrderIds.addAll(em.createQuery("select o.id from Order o where o.orderStatus = :ordered", Long.class)
+                    .setParameter("ordered", OrderStatus.ORDERED)
+                    .getResultList());
+            em.createQuery("update Order o set o.orderStatus = :paid where o.orderStatus = :ordered")
+                    .setParameter("paid", OrderStatus.PAID)
+                    .setParameter("ordered", OrderStatus.ORDERED)
+                    .executeUpdate();
+
+            // 주문 3건, 주문마다 품목 2개
+            Customer customer = customerRepository.findByEmail("report-admin@test.com")
+                    .orElseGet(() -> customerRepository.save(new Customer("report-admin@test.com")));
+            Product bean = productRepository.save(Product.create("리포트 원두", 3000, "설명"));
+            for (int i = 0; i < 3; i++) {
+                Order order = Order.create(customer, "서울시 종로구", "03000",
+                        List.of(OrderItem.create(bean, 1), OrderItem.create(bean, 2)));
+                order.setOrderTime(LocalDateTime.now().minusHours(i + 1));
+                orderRepository.save(order);
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                em.createQuery("update Order o set o.orderStatus = :ordered where o.id in :ids")
+                        .setParameter("ordered", OrderStatus.ORDERED)
+                        .setParameter("ids", parkedOrderIds.isEmpty() ? List.of(-1L) : parkedOrderIds)
+                        .executeUpdate());
+    }
+
+    @Test
+    @DisplayName("POST 는 작업 id 를 바로 반환하고, 완료되면 진행 상황과 파일을 Range / ETag 로 내려받을 수 있다")
+    void start_progress_download() throws Exception {
+        // when: 작업 시작
+        JsonNode started = data(mvc.perform(post("/api/admin/reports"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.resultCode").value("202-1"))
+                .andReturn());
+        long jobId = started.get("id").asLong();
+        assertThat(started.get("claimedOrders").asInt()).isEqualTo(3);
+
+        // then: 완료될 때까지 진행 상황 조회
+        JsonNode job = waitForCompletion(jobId);
+        assertThat(job.get("processedOrders").asInt()).isEqualTo(3);
+        assertThat(job.get("writtenRows").asLong()).isEqualTo(6);
+        assertThat(job.get("ordersPerSecond").asDouble()).isPositive();
+
+        List<String> files = new ArrayList<>();
+        job.get("files").forEach(file -> files.add(file.asText()));
+        String csvName = files.stream().filter(name -> name.endsWith(".csv") && !name.endsWith("_manifest.csv"))
+                .findFirst().orElseThrow();
+        assertThat(files).anyMatch(name -> name.endsWith("_manifest.csv"));
+
+        byte[] content;
+        try (Stream<Path> walk = Files.walk(outputDir)) {
+            content = Files.readAllBytes(walk
+                    .filter(file -> file.getFileName().toString().equals(csvName))
+                    .findFirst().orElseThrow());
+        }
+        String url = "/api/admin/reports/%d/files/%s".formatted(jobId, csvName);
+
+        // 전체 다운로드
+        MvcResult full = mvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, content.length))
+                .andReturn();
+        assertThat(full.getResponse().getContentAsByteArray()).isEqualTo(content);
+        String etag = full.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotBlank();
+
+        // 구간 다운로드
+        MvcResult partial = mvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=3-12"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 3-12/" + content.length))
+                .andReturn();
+        assertThat(partial.getResponse().getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(content, 3, 13));
+
+        // 파일이 바뀌었으면(If-Range 불일치) 전체, 그대로면 304, 범위 밖이면 416
+        mvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=3-12").header(HttpHeaders.IF_RANGE, "\"other\""))
+                .andExpect(status().isOk());
+        mvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        mvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=%d-".formatted(content.length)))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */" + content.length));
+
+        // 목록에 없는 파일은 거부
+        mvc.perform(get("/api/admin/reports/%d/files/%s".formatted(jobId, "application.yml")))
+                .andExpect(status().isBadRequest());
+
+        // 남은 주문이 없으면 시작하지 않는다
+        mvc.perform(post("/api/admin/reports"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.msg").value("리포트로 내보낼 주문이 없습니다."));
+    }
+
+    private JsonNode waitForCompletion(long jobId) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (true) {
+            JsonNode job = data(mvc.perform(get("/api/admin/reports/" + jobId))
+                    .andExpect(status().isOk())
+                    .andReturn());
+            String status = job.get("status").asText();
+            if (status.equals("COMPLETED")) return job;
+
+            assertThat(status).isNotEqualTo("FAILED");
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+
+    private JsonNode data(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsByteArray()).get("data");
+    }
+}
@@ -0,0 +1,111 @@
+package com.back.domain.order.order.repository;
+
+import com.back.domain.customer.customer.entity.Customer;
+import com.back.domain.customer.customer.repository.CustomerRepository;
+import com.back.domain.order.order.entity.Order;
+import com.back.domain.order.order.entity.OrderItem;
+import com.back.domain.product.product.entity.Product;
+import com.back.domain.product.product.repository.ProductRepository;
+import com.back.global.jpa.SqlStatementCounter;
+import com.back.global.jpa.entity.BaseEntity;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 대량 주문 insert 비교
+ * - 배치 크기 1: IDENTITY 시절과 같은 행 단위 insert
+ * - 배치 크기 ALLOCATION_SIZE: pooled id + JDBC 배치
+ */
+@Slf4j
+@SpringBootTest(properties = SqlStatementCounter.PROPERTY)
+@ActiveProfiles("test")
+@Transactional
+class OrderBulkInsertBenchmarkTest {
+
+    private static final int ORDER_COUNT = 500;
+    private static final int ITEMS_PER_ORDER = 2;
+    private static final int ROW_COUNT = ORDER_COUNT * (1 + ITEMS_PER_ORDER);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Test
+    @DisplayName("pooled id 를 쓰면 대량 주문 insert 가 JDBC 배치로 묶인다")
+    void bulk_insert_is_batched() {
+        // given
+        Customer customer = customerRepository.save(new Customer("bench@test.com"));
+        Product product = productRepository.save(Product.create("벤치 원두", 3000, "벤치마크용"));
+        em.flush();
+
+        // 워밍업
+        run(customer.getId(), product.getId(), BaseEntity.ALLOCATION_SIZE);
+
+        // when
+        Result unbatched = run(customer.getId(), product.getId(), 1);
+        Result batched = run(customer.getId(), product.getId(), BaseEntity.ALLOCATION_SIZE);
+
+        log.info("대량 insert {}행 - 배치 없음: {}ms / {}문, 배치: {}ms / {}문",
+                ROW_COUNT, unbatched.millis(), unbatched.insertCount(), batched.millis(), batched.insertCount());
+
+        // then
+        assertThat(unbatched.insertCount()).isEqualTo(ROW_COUNT);
+        assertThat(batched.insertCount()).isLessThanOrEqualTo(ROW_COUNT / BaseEntity.ALLOCATION_SIZE + 2);
+    }
+
+    private Result run(Long customerId, Long productId, int batchSize) {
+        Session session = em.unwrap(Session.class);
+        session.setJdbcBatchSize(batchSize);
+
+        try {
+            Customer customer = em.find(Customer.class, customerId);
+            Product product = em.find(Product.class, productId);
+
+            List<Order> orders = IntStream.range(0, ORDER_COUNT)
+                    .mapToObj(i -> Order.create(
+                            customer,
+                            "서울시 강남구 " + i,
+                            "12345",
+                            IntStream.range(0, ITEMS_PER_ORDER)
+                                    .mapToObj(j -> OrderItem.create(product, j + 1))
+                                    .toList()
+                    ))
+                    .toList();
+
+            SqlStatementCounter.clear();
+            long start = System.nanoTime();
+
+            orderRepository.saveAll(orders);
+            em.flush();
+
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            return new Result(millis, SqlStatementCounter.insertCount());
+        } finally {
+            em.clear();
+            session.setJdbcBatchSize(null);
+        }
+    }
+
+    private record Result(long millis, int insertCount) {
+    }
+}
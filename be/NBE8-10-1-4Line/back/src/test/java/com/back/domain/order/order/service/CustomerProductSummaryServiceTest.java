@@ -0,0 +1,139 @@
+package com.back.domain.order.order.service;
+
+import com.back.domain.customer.customer.entity.Customer;
+import com.back.domain.customer.customer.repository.CustomerRepository;
+import com.back.domain.order.order.dto.CustomerProductSummaryCheckDto;
+import com.back.domain.order.order.dto.OrderCreateRequestDto;
+import com.back.domain.order.order.dto.OrderProductSummaryDto;
+import com.back.domain.order.order.entity.Order;
+import com.back.domain.order.order.repository.CustomerProductSummaryRepository;
+import com.back.domain.product.product.entity.Product;
+import com.back.domain.product.product.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class CustomerProductSummaryServiceTest {
+
+    private static final String EMAIL = "summary@test.com";
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CustomerProductSummaryService customerProductSummaryService;
+
+    @Autowired
+    private CustomerProductSummaryRepository customerProductSummaryRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    private Product coffee;
+    private Product cake;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository.save(new Customer(EMAIL));
+        coffee = productRepository.save(Product.create("커피", 5000, "아메리카노"));
+        cake = productRepository.save(Product.create("케이크", 6000, "치즈케이크"));
+    }
+
+    @Test
+    @DisplayName("주문을 만들면 (이메일, 상품) 요약 행에 수량 / 금액이 더해진다")
+    void create_addsToSummary() {
+        // when
+        createOrder(item(coffee, 2), item(cake, 1));
+        createOrder(item(coffee, 1));
+        em.clear();
+
+        // then
+        List<OrderProductSummaryDto> summaries = customerProductSummaryService.getSummaries(EMAIL);
+        assertThat(summaries).hasSize(2);
+        assertThat(find(summaries, coffee).totalQuantity()).isEqualTo(3);
+        assertThat(find(summaries, coffee).totalAmount()).isEqualTo(15000);
+        assertThat(find(summaries, cake).totalQuantity()).isEqualTo(1);
+        assertThat(find(summaries, cake).totalAmount()).isEqualTo(6000);
+        assertThat(customerProductSummaryService.check(EMAIL).mismatchCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("주문을 지우면 요약에서 빠지고, 주문 수가 0이 된 행은 지워진다")
+    void delete_subtractsFromSummary() {
+        // given
+        Order first = createOrder(item(coffee, 2), item(cake, 1));
+        Order second = createOrder(item(coffee, 1));
+
+        // when
+        orderService.delete(second.getId());
+        em.flush();
+        em.clear();
+
+        // then
+        List<OrderProductSummaryDto> summaries = customerProductSummaryService.getSummaries(EMAIL);
+        assertThat(find(summaries, coffee).totalQuantity()).isEqualTo(2);
+        assertThat(find(summaries, coffee).totalAmount()).isEqualTo(10000);
+
+        orderService.delete(first.getId());
+        em.flush();
+        em.clear();
+        assertThat(customerProductSummaryRepository.findAllByEmailIn(List.of(EMAIL))).isEmpty();
+        assertThat(customerProductSummaryService.check(EMAIL).mismatchCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("읽기 모델이 어긋나면 검사가 불일치를 보고하고, 재구성하면 맞춰진다")
+    void check_and_rebuild() {
+        // given: 주문 테이블과 다른 값을 직접 넣는다
+        createOrder(item(coffee, 2));
+        customerProductSummaryRepository.addTotals(EMAIL, coffee.getId(), "커피", 5, 25000, 0);
+        em.clear();
+
+        // when
+        CustomerProductSummaryCheckDto broken = customerProductSummaryService.check(EMAIL);
+        customerProductSummaryService.rebuild(EMAIL);
+        em.clear();
+
+        // then
+        assertThat(broken.mismatchCount()).isEqualTo(1);
+        assertThat(broken.mismatches().get(0).expectedQuantity()).isEqualTo(2);
+        assertThat(broken.mismatches().get(0).actualQuantity()).isEqualTo(7);
+        assertThat(customerProductSummaryService.check(EMAIL).mismatchCount()).isZero();
+        assertThat(find(customerProductSummaryService.getSummaries(EMAIL), coffee).totalQuantity()).isEqualTo(2);
+    }
+
+    private Order createOrder(OrderCreateRequestDto.OrderItemRequest... items) {
+        Order order = orderService.create(EMAIL, "서울시 강남구", "12345", List.of(items));
+        em.flush();
+        return order;
+    }
+
+    private OrderCreateRequestDto.OrderItemRequest item(Product product, int quantity) {
+        return new OrderCreateRequestDto.OrderItemRequest(product.getId(), quantity);
+    }
+
+    private OrderProductSummaryDto find(List<OrderProductSummaryDto> summaries, Product product) {
+        return summaries.stream()
+                .filter(summary -> summary.productId().equals(product.getId()))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,458 @@
+package com.back.domain.order.order.service;
+
+import com.back.domain.customer.customer.entity.Customer;
+import com.back.domain.customer.customer.repository.CustomerRepository;
+import com.back.domain.order.order.dto.OrderUpdateDto;
+import com.back.domain.order.order.entity.Order;
+import com.back.domain.order.order.entity.OrderBatchJob;
+import com.back.domain.order.order.entity.OrderBatchJobStatus;
+import com.back.domain.order.order.entity.OrderItem;
+import com.back.domain.order.order.entity.OrderStatus;
+import com.back.domain.order.order.repository.OrderBatchJobRepository;
+import com.back.domain.order.order.repository.OrderRepository;
+import com.back.domain.order.order.util.OrderFileHandler;
+import com.back.domain.order.order.util.OrderReport;
+import com.back.domain.order.order.util.OrderReportPart;
+import com.back.domain.product.product.entity.Product;
+import com.back.domain.product.product.repository.ProductRepository;
+import com.back.global.jpa.SqlStatementCounter;
+import com.back.global.lease.SchedulerLeaseService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 페이지 크기를 작게 해서 여러 청크에 걸쳐 처리되는지 확인
+@SpringBootTest(properties = {SqlStatementCounter.PROPERTY, "custom.order.batch.page-size=2"})
+@ActiveProfiles("test")
+@Transactional
+class OrderBatchServiceTest {
+
+    private static final int PAGE_SIZE = 2;
+
+    @TempDir
+    static Path outputDir;
+
+    @DynamicPropertySource
+    static void outputDir(DynamicPropertyRegistry registry) {
+        registry.add("custom.order.batch.output-dir", () -> outputDir.toString());
+    }
+
+    @Autowired
+    private OrderBatchService orderBatchService;
+
+    @Autowired
+    private OrderBatchStepService orderBatchStepService;
+
+    @Autowired
+    private OrderBatchJobRepository orderBatchJobRepository;
+
+    @Autowired
+    private OrderFileHandler orderFileHandler;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private SchedulerLeaseService schedulerLeaseService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManager em;
+
+    private final List<Long> targetIds = new ArrayList<>();
+    private Long lateOrderId;
+    private LocalDateTime cutoff;
+
+    @BeforeEach
+    void setUp() {
+        // 초기 데이터 주문이 대상에 섞이지 않도록 미리 다른 상태로 옮겨 둔다 (테스트 종료 시 롤백)
+        em.createQuery("update Order o set o.orderStatus = :paid where o.orderStatus = :ordered")
+                .setParameter("paid", OrderStatus.PAID)
+                .setParameter("ordered", OrderStatus.ORDERED)
+                .executeUpdate();
+
+        cutoff = LocalDate.now().atTime(14, 0);
+        Product beanA = productRepository.save(Product.create("배치 원두 A", 3000, "설명"));
+        Product beanB = productRepository.save(Product.create("배치 원두 B", 4000, "설명"));
+        LocalDateTime yesterday = LocalDateTime.now().minusDays(1);
+
+        // 주문 6건, 주문마다 품목 2개
+        for (String email : List.of("batch-b@test.com", "batch-a@test.com", "batch-c@test.com")) {
+            Customer customer = customerRepository.save(new Customer(email));
+            for (String address : List.of("서울시 마포구", "서울시 강남구")) {
+                Order order = Order.create(customer, address, "12345",
+                        List.of(OrderItem.create(beanA, 2), OrderItem.create(beanB, 1)));
+                order.setOrderTime(yesterday);
+                targetIds.add(orderRepository.save(order).getId());
+            }
+        }
+
+        // 기준 시간 이후 주문은 대상이 아님
+        Order lateOrder = Order.create(
+                customerRepository.findByEmail("batch-a@test.com").orElseThrow(),
+                "서울시 강남구",
+                "12345",
+                List.of(OrderItem.create(beanA, 1))
+        );
+        lateOrder.setOrderTime(LocalDateTime.now().plusDays(1));
+        lateOrderId = orderRepository.save(lateOrder).getId();
+
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    @DisplayName("기준 시간 이전 ORDERED 주문은 여러 청크에 걸쳐 모두 SHIPPING 으로 바뀌고 작업이 완료된다")
+    void processDailyOrderBatch_updatesAllPages() throws Exception {
+        // when
+        orderBatchService.processDailyOrderBatch();
+
+        // then
+        assertThat(orderRepository.findAllById(targetIds))
+                .hasSize(targetIds.size())
+                .allMatch(order -> order.getOrderStatus() == OrderStatus.SHIPPING);
+        assertThat(orderRepository.findById(lateOrderId).orElseThrow().getOrderStatus())
+                .isEqualTo(OrderStatus.ORDERED);
+
+        OrderBatchJob job = orderBatchJobRepository.findAll().get(0);
+        assertThat(job.getStatus()).isEqualTo(OrderBatchJobStatus.COMPLETED);
+        assertThat(job.getProcessedOrders()).isEqualTo(targetIds.size());
+        assertThat(job.getChunkCount()).isEqualTo((targetIds.size() + PAGE_SIZE - 1) / PAGE_SIZE);
+        assertThat(csvDataLines(job)).hasSize(targetIds.size() * 2);
+    }
+
+    @Test
+    @DisplayName("단계별 소요 시간 / 행 수 / 쿼리 수가 stage 태그로 기록되고, 매핑 단계에서는 쿼리가 나가지 않는다")
+    void processDailyOrderBatch_recordsStageMetrics() {
+        // given: 지표는 컨텍스트 안에서 누적되므로 차이로 확인
+        double queryCount = stageCounter("order.batch.stage.queries", "query");
+        double mappingQueries = stageCounter("order.batch.stage.queries", "mapping");
+        double writtenRows = stageCounter("order.batch.stage.rows", "csv_write");
+        double writtenBytes = stageCounter("order.batch.stage.bytes", "csv_write");
+        long flushCount = meterRegistry.get("order.batch.stage").tag("stage", "file_flush").timer().count();
+
+        // when
+        orderBatchService.processDailyOrderBatch();
+
+        // then
+        int chunks = (targetIds.size() + PAGE_SIZE - 1) / PAGE_SIZE;
+        assertThat(stageCounter("order.batch.stage.queries", "query") - queryCount).isGreaterThanOrEqualTo(chunks * 2);
+        assertThat(stageCounter("order.batch.stage.queries", "mapping") - mappingQueries).isZero();
+        assertThat(stageCounter("order.batch.stage.rows", "csv_write") - writtenRows).isEqualTo(targetIds.size() * 2);
+        assertThat(stageCounter("order.batch.stage.bytes", "csv_write") - writtenBytes).isPositive();
+        // 청크마다 한 번 + 마감 한 번
+        assertThat(meterRegistry.get("order.batch.stage").tag("stage", "file_flush").timer().count() - flushCount)
+                .isEqualTo(chunks + 1);
+        assertThat(meterRegistry.get("order.batch.stage").tag("stage", "status_update").timer().count()).isPositive();
+    }
+
+    @Test
+    @DisplayName("청크의 CSV 행은 키 조회 1번 + 조인 쿼리 1번으로 읽어 주문 / 품목 수만큼 추가 조회가 생기지 않는다")
+    void readChunk_noNPlusOne() {
+        // given
+        OrderBatchJob job = orderBatchStepService.startJob(cutoff, orderFileHandler.newReportBase(), lease(Duration.ofMinutes(1)));
+        SqlStatementCounter.clear();
+
+        // when
+        OrderBatchStepService.Chunk chunk = orderBatchStepService.readChunk(job.getId(), null, PAGE_SIZE);
+
+        // then
+        assertThat(chunk.keys()).hasSize(PAGE_SIZE);
+        assertThat(chunk.rows()).hasSize(PAGE_SIZE * 2);
+        assertThat(SqlStatementCounter.selectCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("중단된 작업은 마지막 체크포인트부터 재개해 CSV 에 중복 / 누락 없이 이어 쓴다")
+    void processDailyOrderBatch_resumesFromCheckpoint() throws Exception {
+        // given: 첫 청크는 커밋, 두 번째 청크는 파일에만 쓰고 커밋 전에 중단 (lease 는 만료된 상태로 남음)
+        SchedulerLeaseService.Lease crashed = lease(Duration.ZERO);
+        OrderBatchJob job = orderBatchStepService.startJob(cutoff, orderFileHandler.newReportBase(), crashed);
+
+        try (OrderReport report = orderFileHandler.openReport(job.getReportBase(), List.of())) {
+            OrderBatchStepService.Chunk first = orderBatchStepService.readChunk(job.getId(), null, PAGE_SIZE);
+            List<OrderReportPart> parts = report.write(first.rows());
+            orderBatchStepService.commitChunk(job.getId(), first, parts, crashed);
+
+            OrderBatchStepService.Chunk second = orderBatchStepService.readChunk(job.getId(), first.lastKey(), PAGE_SIZE);
+            report.write(second.rows());
+        }
+
+        // when
+        orderBatchService.processDailyOrderBatch();
+
+        // then
+        assertThat(orderRepository.findAllById(targetIds))
+                .allMatch(order -> order.getOrderStatus() == OrderStatus.SHIPPING);
+
+        OrderBatchJob resumed = orderBatchJobRepository.findById(job.getId()).orElseThrow();
+        assertThat(resumed.getStatus()).isEqualTo(OrderBatchJobStatus.COMPLETED);
+        assertThat(resumed.getProcessedOrders()).isEqualTo(targetIds.size());
+
+        // 주문 6건 x 품목 2개, 주문 / 상품 조합이 중복 없이 한 번씩
+        List<String> lines = csvDataLines(resumed);
+        assertThat(lines).hasSize(targetIds.size() * 2);
+        assertThat(lines.stream().map(line -> line.split(",")[1] + ":" + line.split(",")[5]).distinct())
+                .hasSize(targetIds.size() * 2);
+    }
+
+    @Test
+    @DisplayName("넘겨받은 노드에 체크포인트의 파일이 없으면 체크포인트 다음 주문부터 새 파일에 쓰고 작업을 끝낸다")
+    void resumeRunningJob_restartsReportWhenFilesMissing() throws Exception {
+        // given: 첫 청크를 커밋한 노드가 죽고, 그 노드의 파일은 이 노드에서 보이지 않음 (출력 디렉터리를 공유하지 않음)
+        SchedulerLeaseService.Lease crashed = lease(Duration.ZERO);
+        OrderBatchJob job = orderBatchStepService.startJob(cutoff, orderFileHandler.newReportBase(), crashed);
+
+        try (OrderReport report = orderFileHandler.openReport(job.getReportBase(), List.of())) {
+            OrderBatchStepService.Chunk first = orderBatchStepService.readChunk(job.getId(), null, PAGE_SIZE);
+            orderBatchStepService.commitChunk(job.getId(), first, report.write(first.rows()), crashed);
+        }
+        String crashedBase = job.getReportBase();
+        Files.delete(Path.of(crashedBase + ".csv"));
+
+        // when
+        orderBatchService.resumeRunningJob();
+
+        // then: 남은 주문 4건 x 품목 2개만 새 파일에
+        OrderBatchJob resumed = orderBatchJobRepository.findById(job.getId()).orElseThrow();
+        assertThat(resumed.getStatus()).isEqualTo(OrderBatchJobStatus.COMPLETED);
+        assertThat(resumed.getProcessedOrders()).isEqualTo(targetIds.size());
+        assertThat(resumed.getPreviousReportBase()).isEqualTo(crashedBase);
+        assertThat(resumed.getReportBase()).isEqualTo(crashedBase + "_resumed1");
+        assertThat(csvDataLines(resumed)).hasSize((targetIds.size() - PAGE_SIZE) * 2);
+        assertThat(orderRepository.findAllById(targetIds))
+                .allMatch(order -> order.getOrderStatus() == OrderStatus.SHIPPING);
+    }
+
+    @Test
+    @DisplayName("작업 시작 시 대상 주문만 PROCESSING 으로 선점하고, 선점된 주문은 배송 정보를 수정할 수 없다")
+    void startJob_claimsTargets() {
+        // when
+        OrderBatchJob job = orderBatchStepService.startJob(cutoff, orderFileHandler.newReportBase(), lease(Duration.ofMinutes(1)));
+
+        // then
+        assertThat(job.getClaimedOrders()).isEqualTo(targetIds.size());
+        assertThat(orderRepository.findAllById(targetIds))
+                .allMatch(order -> order.getOrderStatus() == OrderStatus.PROCESSING)
+                .allMatch(order -> job.getId().equals(order.getBatchJobId()));
+        assertThat(orderRepository.findById(lateOrderId).orElseThrow().getOrderStatus())
+                .isEqualTo(OrderStatus.ORDERED);
+
+        OrderUpdateDto request = new OrderUpdateDto();
+        request.setShippingAddress("부산시 해운대구");
+        request.setShippingCode("48000");
+        assertThatThrownBy(() -> orderService.updateOrderShippingInfo(targetIds.get(0), request))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("다른 작업이 배치 lease 를 갖고 있으면 14:00 실행은 미뤄지고 지표에 남는다")
+    void processDailyOrderBatch_defersWhenLeaseHeld() {
+        // given
+        lease(Duration.ofMinutes(1));
+        double deferredBefore = meterRegistry.get("order.batch.daily.deferred").counter().count();
+
+        // when
+        orderBatchService.processDailyOrderBatch();
+
+        // then
+        assertThat(orderBatchJobRepository.count()).isZero();
+        assertThat(orderRepository.findAllById(targetIds))
+                .allMatch(order -> order.getOrderStatus() == OrderStatus.ORDERED);
+        assertThat(meterRegistry.get("order.batch.daily.deferred").counter().count()).isEqualTo(deferredBefore + 1);
+    }
+
+    @Test
+    @DisplayName("미뤄진 일일 배치는 lease 가 풀린 뒤 재개 주기에 실행된다")
+    void resumeRunningJob_runsDeferredDailyBatch() {
+        // given: 14:00 실행 때 다른 작업이 lease 를 쥐고 있다가 끝남
+        SchedulerLeaseService.Lease held = lease(Duration.ofMinutes(1));
+        orderBatchService.processDailyOrderBatch();
+        schedulerLeaseService.release(held);
+
+        // when
+        orderBatchService.resumeRunningJob();
+
+        // then
+        assertThat(orderBatchJobRepository.findAll())
+                .singleElement()
+                .satisfies(job -> {
+                    assertThat(job.getStatus()).isEqualTo(OrderBatchJobStatus.COMPLETED);
+                    assertThat(job.getProcessedOrders()).isEqualTo(targetIds.size());
+                });
+        assertThat(orderRepository.findAllById(targetIds))
+                .allMatch(order -> order.getOrderStatus() == OrderStatus.SHIPPING);
+    }
+
+    @Test
+    @DisplayName("lease 가 만료되면 다른 노드가 RUNNING 작업을 넘겨받아 끝내고, 이전 소유 노드의 커밋은 거부된다")
+    void resumeRunningJob_takesOverExpiredLease() {
+        // given: 첫 노드가 작업을 시작한 뒤 응답이 없어 lease 가 만료됨
+        SchedulerLeaseService.Lease stale = lease(Duration.ZERO);
+        OrderBatchJob job = orderBatchStepService.startJob(cutoff, orderFileHandler.newReportBase(), stale);
+        OrderBatchStepService.Chunk first = orderBatchStepService.readChunk(job.getId(), null, PAGE_SIZE);
+
+        // when
+        orderBatchService.resumeRunningJob();
+
+        // then
+        OrderBatchJob resumed = orderBatchJobRepository.findById(job.getId()).orElseThrow();
+        assertThat(resumed.getStatus()).isEqualTo(OrderBatchJobStatus.COMPLETED);
+        assertThat(resumed.getProcessedOrders()).isEqualTo(targetIds.size());
+
+        assertThatThrownBy(() -> orderBatchStepService.commitChunk(job.getId(), first, List.of(), stale))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("실패한 작업은 재시도 대기 시간이 지나면 재개 주기에 이어서 처리되어 선점한 주문이 PROCESSING 으로 남지 않는다")
+    void resumeRunningJob_retriesFailedJob() {
+        // given: 작업이 실패한 지 재시도 대기 시간(기본 10분)이 지남
+        SchedulerLeaseService.Lease lease = lease(Duration.ZERO);
+        OrderBatchJob job = orderBatchStepService.startJob(cutoff, orderFileHandler.newReportBase(), lease);
+        orderBatchStepService.failJob(job.getId(), "DB 연결 실패", lease);
+        em.flush();
+        em.createNativeQuery("update order_batch_job set updated_at = :time where id = :id")
+                .setParameter("time", LocalDateTime.now().minusHours(1))
+                .setParameter("id", job.getId())
+                .executeUpdate();
+        em.clear();
+
+        // when
+        orderBatchService.resumeRunningJob();
+
+        // then
+        OrderBatchJob resumed = orderBatchJobRepository.findById(job.getId()).orElseThrow();
+        assertThat(resumed.getStatus()).isEqualTo(OrderBatchJobStatus.COMPLETED);
+        assertThat(resumed.getProcessedOrders()).isEqualTo(targetIds.size());
+        assertThat(orderRepository.findAllById(targetIds))
+                .allMatch(order -> order.getOrderStatus() == OrderStatus.SHIPPING);
+    }
+
+    @Test
+    @DisplayName("lease 를 잃은 노드는 넘겨받은 노드가 처리 중인 작업을 실패로 기록하지 못한다")
+    void failJob_rejectedAfterLeaseLost() {
+        // given: 첫 노드의 lease 가 만료된 뒤 다른 노드가 가져감
+        SchedulerLeaseService.Lease stale = lease(Duration.ZERO);
+        OrderBatchJob job = orderBatchStepService.startJob(cutoff, orderFileHandler.newReportBase(), stale);
+        lease(Duration.ofMinutes(1));
+
+        // when / then
+        assertThatThrownBy(() -> orderBatchStepService.failJob(job.getId(), "뒤늦은 실패", stale))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(orderBatchJobRepository.findById(job.getId()).orElseThrow().getStatus())
+                .isEqualTo(OrderBatchJobStatus.RUNNING);
+    }
+
+    @Test
+    @DisplayName("마이크로 배치는 주기마다 새 주문을 같은 리포트에 이어 쓰고, 14:00 실행에서 남은 주문을 내보낸 뒤 마감한다")
+    void exportNewOrders_appendsUntilSealed() throws Exception {
+        // given: 일일 배치 대상 주문은 빼고, 어제 14:00 마감 구간에 주문을 만든다
+        em.createQuery("update Order o set o.orderStatus = :paid where o.id in :ids")
+                .setParameter("paid", OrderStatus.PAID)
+                .setParameter("ids", targetIds)
+                .executeUpdate();
+
+        LocalDateTime yesterday = LocalDate.now().minusDays(1).atStartOfDay();
+        createOrder(yesterday.withHour(9));
+        createOrder(yesterday.withHour(10));
+
+        // when: 첫 주기 (11:00)
+        orderBatchService.exportNewOrders(yesterday.withHour(11));
+
+        // then: 마감 전이라 작업은 OPEN, manifest 는 아직 없다
+        OrderBatchJob job = orderBatchJobRepository.findAll().get(0);
+        assertThat(job.isMicro()).isTrue();
+        assertThat(job.getStatus()).isEqualTo(OrderBatchJobStatus.OPEN);
+        assertThat(job.getCutoff()).isEqualTo(yesterday.withHour(14));
+        assertThat(job.getClaimedUntil()).isEqualTo(yesterday.withHour(11));
+        assertThat(job.getProcessedOrders()).isEqualTo(2);
+        assertThat(csvDataLines(job)).hasSize(4);
+        assertThat(Path.of(job.getReportBase() + "_manifest.csv")).doesNotExist();
+
+        // when: 워터마크보다 이른 주문시간으로 늦게 들어온 주문 + 새 주문, 두 번째 주기 (13:00)
+        createOrder(yesterday.withHour(10).withMinute(30));
+        createOrder(yesterday.withHour(12));
+        orderBatchService.exportNewOrders(yesterday.withHour(13));
+
+        // then: 같은 작업 / 같은 파일에 이어 쓴다
+        assertThat(orderBatchJobRepository.count()).isEqualTo(1);
+        job = orderBatchJobRepository.findById(job.getId()).orElseThrow();
+        assertThat(job.getStatus()).isEqualTo(OrderBatchJobStatus.OPEN);
+        assertThat(job.getProcessedOrders()).isEqualTo(4);
+        assertThat(csvDataLines(job)).hasSize(8);
+
+        // when: 마지막 주기 이후 주문이 들어온 뒤 14:00 실행
+        createOrder(yesterday.withHour(13).withMinute(30));
+        orderBatchService.processDailyOrderBatch();
+
+        // then: 남은 주문까지 내보내고 마감
+        job = orderBatchJobRepository.findById(job.getId()).orElseThrow();
+        assertThat(job.getStatus()).isEqualTo(OrderBatchJobStatus.COMPLETED);
+        assertThat(job.getProcessedOrders()).isEqualTo(5);
+        assertThat(csvDataLines(job)).hasSize(10);
+        assertThat(Path.of(job.getReportBase() + "_manifest.csv")).exists();
+    }
+
+    // 품목 2개짜리 주문
+    private void createOrder(LocalDateTime orderTime) {
+        Product bean = productRepository.save(Product.create("마이크로 배치 원두", 3000, "설명"));
+        Order order = Order.create(
+                customerRepository.findByEmail("batch-a@test.com").orElseThrow(),
+                "서울시 중구",
+                "12345",
+                List.of(OrderItem.create(bean, 1), OrderItem.create(bean, 2))
+        );
+        order.setOrderTime(orderTime);
+        orderRepository.save(order);
+
+        em.flush();
+        em.clear();
+    }
+
+    private double stageCounter(String name, String stage) {
+        return meterRegistry.get(name).tag("stage", stage).counter().count();
+    }
+
+    private SchedulerLeaseService.Lease lease(Duration ttl) {
+        return schedulerLeaseService.tryAcquire(OrderBatchService.LEASE_NAME, ttl).orElseThrow();
+    }
+
+    // BOM + 헤더를 뺀 데이터 행
+    private List<String> csvDataLines(OrderBatchJob job) throws Exception {
+        List<String> lines = Files.readAllLines(Path.of(job.getReportBase() + ".csv"), StandardCharsets.UTF_8);
+        return lines.subList(1, lines.size());
+    }
+}
@@ -0,0 +1,85 @@
+package com.back.domain.order.order.service;
+
+import com.back.global.monitor.ApiLatencyMonitor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "custom.order.batch.throttle.enabled=true",
+        "custom.order.batch.throttle.min-chunks-per-second=5",
+        "custom.order.batch.throttle.max-chunks-per-second=20",
+        "custom.order.batch.throttle.target-latency-ms=100",
+        "custom.order.batch.throttle.increase-step=5",
+        "custom.order.batch.throttle.backoff-factor=0.5"
+})
+@ActiveProfiles("test")
+class OrderBatchThrottleTest {
+
+    @Autowired
+    private OrderBatchThrottle orderBatchThrottle;
+
+    @Autowired
+    private ApiLatencyMonitor apiLatencyMonitor;
+
+    @Test
+    @DisplayName("API 지연이 기준을 넘으면 속도를 절반씩 줄이되 최소 속도 아래로는 내려가지 않고, 지연이 풀리면 다시 올린다")
+    void beforeChunk_aimd() {
+        // given: 요청이 없는 구간을 거쳐 최대 속도까지 올린다
+        apiLatencyMonitor.drain();
+        for (int i = 0; i < 3; i++) orderBatchThrottle.beforeChunk();
+        assertThat(orderBatchThrottle.currentRate()).isEqualTo(20);
+
+        // when & then: 느린 요청 -> 20 -> 10 -> 5 -> 5
+        slowRequests();
+        orderBatchThrottle.beforeChunk();
+        assertThat(orderBatchThrottle.currentRate()).isEqualTo(10);
+
+        slowRequests();
+        orderBatchThrottle.beforeChunk();
+        assertThat(orderBatchThrottle.currentRate()).isEqualTo(5);
+
+        slowRequests();
+        orderBatchThrottle.beforeChunk();
+        assertThat(orderBatchThrottle.currentRate()).isEqualTo(5);
+
+        // 빠른 요청만 있으면 increase-step 씩 회복
+        apiLatencyMonitor.record(TimeUnit.MILLISECONDS.toNanos(10));
+        orderBatchThrottle.beforeChunk();
+        assertThat(orderBatchThrottle.currentRate()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("청크 시작 간격을 현재 속도에 맞춰 벌린다")
+    void beforeChunk_paces() {
+        // given: 최소 속도(초당 5 청크)까지 낮춘다
+        for (int i = 0; i < 3; i++) {
+            slowRequests();
+            orderBatchThrottle.beforeChunk();
+        }
+
+        // when
+        long start = System.nanoTime();
+        slowRequests();
+        orderBatchThrottle.beforeChunk();
+        slowRequests();
+        orderBatchThrottle.beforeChunk();
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // then: 앞선 청크부터 200ms 간격
+        assertThat(orderBatchThrottle.currentRate()).isEqualTo(5);
+        assertThat(elapsedMs).isGreaterThanOrEqualTo(350);
+    }
+
+    private void slowRequests() {
+        for (int i = 0; i < 5; i++) {
+            apiLatencyMonitor.record(TimeUnit.MILLISECONDS.toNanos(300));
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.back.domain.order.order.service;
+
+import com.back.domain.customer.customer.cache.CustomerIdCache;
+import com.back.domain.customer.customer.repository.CustomerRepository;
+import com.back.domain.order.order.dto.OrderCreateRequestDto;
+import com.back.domain.order.order.dto.OrderDto;
+import com.back.domain.order.order.repository.OrderRepository;
+import com.back.domain.product.product.entity.Product;
+import com.back.domain.product.product.repository.ProductRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 주문은 writer 스레드에서 실제로 커밋되므로 @Transactional 없이 실행하고 직접 정리한다
+@SpringBootTest(properties = {
+        "custom.order.group-commit.enabled=true",
+        "custom.order.group-commit.max-wait-ms=50"
+})
+@ActiveProfiles("test")
+class OrderGroupCommitWriterTest {
+
+    @Autowired
+    private OrderGroupCommitWriter orderGroupCommitWriter;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CustomerIdCache customerIdCache;
+
+    @Test
+    @DisplayName("동시에 들어온 주문은 여러 건이 한 트랜잭션으로 묶여 커밋되고, 실패한 주문만 예외를 받는다")
+    void concurrent_orders_are_group_committed() {
+        // given
+        Product product = productRepository.save(Product.create("그룹 커밋 원두", 2000, "설명"));
+        int orderCount = 20;
+        long batchesBefore = orderGroupCommitWriter.committedBatches();
+        List<Long> orderIds = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(orderCount + 1)) {
+            // when
+            List<CompletableFuture<OrderDto>> futures = new ArrayList<>();
+            for (int i = 0; i < orderCount; i++) {
+                OrderCreateRequestDto request = request("group" + i + "@test.com", product.getId());
+                futures.add(CompletableFuture.supplyAsync(() -> orderGroupCommitWriter.submit(request), executor));
+            }
+            CompletableFuture<OrderDto> invalid = CompletableFuture.supplyAsync(
+                    () -> orderGroupCommitWriter.submit(request("group-invalid@test.com", 99999L)), executor);
+
+            futures.forEach(future -> orderIds.add(future.join().id()));
+
+            // then
+            assertThat(orderIds).hasSize(orderCount);
+            assertThat(orderRepository.findAllById(orderIds)).hasSize(orderCount);
+            assertThat(orderGroupCommitWriter.committedBatches() - batchesBefore).isLessThan(orderCount);
+            assertThatThrownBy(invalid::join)
+                    .isInstanceOf(CompletionException.class)
+                    .hasCauseInstanceOf(IllegalArgumentException.class);
+        } finally {
+            orderRepository.deleteAllById(orderIds);
+            for (int i = 0; i < orderCount; i++) {
+                String email = "group" + i + "@test.com";
+                customerRepository.findByEmail(email).ifPresent(customerRepository::delete);
+                customerIdCache.evict(email);
+            }
+            customerRepository.findByEmail("group-invalid@test.com").ifPresent(customerRepository::delete);
+            productRepository.delete(product);
+        }
+    }
+
+    private OrderCreateRequestDto request(String email, Long productId) {
+        return new OrderCreateRequestDto(
+                email,
+                "서울시 강남구",
+                "12345",
+                List.of(new OrderCreateRequestDto.OrderItemRequest(productId, 1))
+        );
+    }
+}
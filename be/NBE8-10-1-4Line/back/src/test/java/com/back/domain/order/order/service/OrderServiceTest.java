@@ -1,22 +1,38 @@
 package com.back.domain.order.order.service;
 
+import com.back.domain.customer.customer.cache.CustomerIdCache;
 import com.back.domain.customer.customer.entity.Customer;
 import com.back.domain.customer.customer.repository.CustomerRepository;
+import com.back.domain.order.order.dto.OrderCreateRequestDto;
 import com.back.domain.order.order.entity.Order;
 import com.back.domain.order.order.entity.OrderStatus;
 import com.back.domain.order.order.repository.OrderRepository;
 import com.back.domain.order.order.repository.OrderItemRepository;
+import com.back.domain.product.product.entity.Product;
+import com.back.domain.product.product.repository.ProductRepository;
+import com.back.global.jpa.SqlStatementCounter;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.*;
 
-@SpringBootTest
+@SpringBootTest(properties = SqlStatementCounter.PROPERTY)
+@ActiveProfiles("test")
 @Transactional
 class OrderServiceTest {
 
@@ -32,6 +48,15 @@ class OrderServiceTest {
     @Autowired
     private CustomerRepository customerRepository;
 
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private CustomerIdCache customerIdCache;
+
     /**
      * 테스트용 주문 생성 헬퍼
      */
@@ -88,4 +113,112 @@ class OrderServiceTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("주문이 존재하지 않습니다");
     }
+
+    @Test
+    @DisplayName("주문 생성 시 상품은 품목 수와 관계없이 한 번의 쿼리로 조회된다")
+    void create_loads_products_with_single_query() {
+        // given
+        customerRepository.save(new Customer("bulk@test.com"));
+        List<Product> products = IntStream.rangeClosed(1, 30)
+                .mapToObj(i -> productRepository.save(Product.create("상품" + i, 1000 * i, "설명")))
+                .toList();
+        List<OrderCreateRequestDto.OrderItemRequest> items = products.stream()
+                .map(product -> new OrderCreateRequestDto.OrderItemRequest(product.getId(), 1))
+                .toList();
+        em.flush();
+        em.clear();
+        SqlStatementCounter.clear();
+
+        // when
+        Order order = orderService.create("bulk@test.com", "서울시 강남구", "12345", items);
+        em.flush();
+
+        // then: 기존 고객 조회 1 (캐시 미적중) + 상품 IN 조회 1
+        assertThat(SqlStatementCounter.selectCount()).isEqualTo(2);
+        assertThat(order.getOrderItems()).hasSize(30);
+        assertThat(order.getTotalAmount()).isEqualTo(1000 * (30 * 31 / 2));
+    }
+
+    @Test
+    @DisplayName("존재하지 않는 상품이 섞여 있으면 기존과 같은 예외가 발생한다")
+    void create_with_unknown_product_fail() {
+        // given
+        Product product = productRepository.save(Product.create("상품", 1000, "설명"));
+        List<OrderCreateRequestDto.OrderItemRequest> items = List.of(
+                new OrderCreateRequestDto.OrderItemRequest(product.getId(), 1),
+                new OrderCreateRequestDto.OrderItemRequest(99999L, 1)
+        );
+
+        // when & then
+        assertThatThrownBy(() -> orderService.create("bulk@test.com", "서울시 강남구", "12345", items))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Product not found: 99999");
+    }
+
+    @Test
+    @DisplayName("고객을 삭제하면 이메일 -> 고객 id 캐시에서도 빠진다")
+    void delete_customer_evicts_id_cache() {
+        // given
+        Product product = productRepository.save(Product.create("상품", 1000, "설명"));
+        orderService.create("evict@test.com", "서울시 강남구", "12345",
+                List.of(new OrderCreateRequestDto.OrderItemRequest(product.getId(), 1)));
+        Customer customer = customerRepository.findByEmail("evict@test.com").orElseThrow();
+        customerIdCache.put("evict@test.com", customer.getId()); // 테스트 트랜잭션은 커밋되지 않으므로 직접 넣는다
+
+        // when
+        orderRepository.deleteAll(orderRepository.findAll().stream()
+                .filter(order -> order.getCustomer().getEmail().equals("evict@test.com"))
+                .toList());
+        customerRepository.delete(customer);
+        em.flush();
+
+        // then
+        assertThat(customerIdCache.get("evict@test.com")).isEmpty();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // 스레드마다 실제로 커밋되어야 함
+    @DisplayName("같은 신규 이메일로 동시에 첫 주문이 들어와도 모두 성공하고 고객은 한 명만 생성된다")
+    void create_concurrent_first_orders_for_same_email() throws Exception {
+        // given
+        String email = "concurrent@test.com";
+        int threadCount = 10;
+        Product product = productRepository.save(Product.create("동시성 원두", 1000, "설명"));
+        List<OrderCreateRequestDto.OrderItemRequest> items =
+                List.of(new OrderCreateRequestDto.OrderItemRequest(product.getId(), 1));
+
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch ready = new CountDownLatch(threadCount);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Order>> futures = new ArrayList<>();
+        List<Long> orderIds = new ArrayList<>();
+
+        try {
+            // when
+            for (int i = 0; i < threadCount; i++) {
+                futures.add(executor.submit(() -> {
+                    ready.countDown();
+                    start.await();
+                    return orderService.create(email, "서울시 강남구", "12345", items);
+                }));
+            }
+            ready.await();
+            start.countDown();
+
+            for (Future<Order> future : futures) {
+                orderIds.add(future.get().getId());
+            }
+
+            // then
+            assertThat(orderIds).hasSize(threadCount);
+            assertThat(customerRepository.findAll().stream().filter(c -> c.getEmail().equals(email)))
+                    .hasSize(1);
+        } finally {
+            executor.shutdownNow();
+            orderRepository.deleteAllById(orderIds);
+            customerRepository.findByEmail(email).ifPresent(customerRepository::delete);
+            customerIdCache.evict(email);
+            productRepository.delete(product);
+        }
+    }
 }
@@ -0,0 +1,87 @@
+package com.back.domain.order.order.service;
+
+import com.back.domain.order.order.dto.OrderCreateRequestDto;
+import com.back.domain.product.product.entity.Product;
+import com.back.domain.product.product.repository.ProductRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "custom.order.spool.enabled=true",
+        "custom.order.spool.fsync=false",
+        "custom.order.spool.replay-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+@Transactional
+class OrderSpoolServiceTest {
+
+    @TempDir
+    static Path spoolDir;
+
+    @DynamicPropertySource
+    static void spoolPaths(DynamicPropertyRegistry registry) {
+        registry.add("custom.order.spool.path", () -> spoolDir.resolve("orders.spool").toString());
+        registry.add("custom.order.spool.dead-letter-path", () -> spoolDir.resolve("orders.dead.ndjson").toString());
+    }
+
+    @Autowired
+    private OrderSpoolService orderSpoolService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    @DisplayName("없는 상품이 든 주문은 spool 에 적재(202)하지 않고 거부한다")
+    void append_unknownProduct_rejected() {
+        orderSpoolService.refreshProductIds();
+
+        assertThatThrownBy(() -> orderSpoolService.append(request(Long.MAX_VALUE)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Product not found");
+        assertThat(orderSpoolService.pendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("DB 장애가 아닌 이유로 재처리에 실패한 주문은 dead-letter 파일로 옮겨진다")
+    void replay_failure_movesToDeadLetter() throws Exception {
+        // given: 적재 후 상품이 삭제됨
+        Product product = productRepository.save(Product.create("단종 원두", 3000, "설명"));
+        orderSpoolService.refreshProductIds();
+        orderSpoolService.append(request(product.getId()));
+        productRepository.delete(product);
+        productRepository.flush();
+
+        // when
+        int replayed = orderSpoolService.replay();
+
+        // then
+        assertThat(replayed).isZero();
+        assertThat(orderSpoolService.pendingCount()).isZero();
+        List<String> deadLetters = Files.readAllLines(spoolDir.resolve("orders.dead.ndjson"));
+        assertThat(deadLetters).hasSize(1);
+        assertThat(deadLetters.get(0)).contains("spool@test.com").contains("Product not found");
+    }
+
+    private OrderCreateRequestDto request(Long productId) {
+        return new OrderCreateRequestDto(
+                "spool@test.com",
+                "서울시 강남구",
+                "12345",
+                List.of(new OrderCreateRequestDto.OrderItemRequest(productId, 1))
+        );
+    }
+}
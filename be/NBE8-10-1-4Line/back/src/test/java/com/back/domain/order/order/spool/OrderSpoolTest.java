@@ -0,0 +1,110 @@
+package com.back.domain.order.order.spool;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderSpoolTest {
+
+    private static final int CAPACITY = 4096;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("적재한 레코드는 재시작 후에도 순서대로 읽히고, commit 한 곳부터 이어서 읽는다")
+    void records_survive_restart() throws Exception {
+        Path file = dir.resolve("orders.spool");
+
+        try (OrderSpool spool = new OrderSpool(file, CAPACITY, true)) {
+            spool.append(bytes("a"));
+            spool.append(bytes("b"));
+            spool.append(bytes("c"));
+
+            List<OrderSpool.SpoolRecord> records = spool.read(1);
+            spool.commit(records.get(0), 1);
+        }
+
+        try (OrderSpool spool = new OrderSpool(file, CAPACITY, true)) {
+            assertThat(spool.pendingCount()).isEqualTo(2);
+            assertThat(spool.read(10)).extracting(record -> text(record.payload()))
+                    .containsExactly("b", "c");
+        }
+    }
+
+    @Test
+    @DisplayName("쓰다 만(체크섬이 맞지 않는) 마지막 레코드는 복구 시 버려진다")
+    void torn_record_is_discarded() throws Exception {
+        Path file = dir.resolve("orders.spool");
+
+        try (OrderSpool spool = new OrderSpool(file, CAPACITY, true)) {
+            spool.append(bytes("first"));
+            spool.append(bytes("second"));
+        }
+
+        // 두 번째 레코드 payload 일부 손상 (헤더 32 + 첫 레코드 12 + 5 + 두 번째 레코드 헤더 12)
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(32 + 12 + 5 + 12);
+            raf.write('X');
+        }
+
+        try (OrderSpool spool = new OrderSpool(file, CAPACITY, true)) {
+            assertThat(spool.pendingCount()).isEqualTo(1);
+            assertThat(spool.read(10)).extracting(record -> text(record.payload()))
+                    .containsExactly("first");
+
+            // 손상된 자리부터 다시 쓸 수 있다
+            spool.append(bytes("third"));
+            assertThat(spool.read(10)).extracting(record -> text(record.payload()))
+                    .containsExactly("first", "third");
+        }
+    }
+
+    @Test
+    @DisplayName("모두 재처리되면 파일 처음부터 다시 쓰고, 이전 레코드는 다시 읽히지 않는다")
+    void drained_spool_is_reused() throws Exception {
+        Path file = dir.resolve("orders.spool");
+
+        try (OrderSpool spool = new OrderSpool(file, CAPACITY, true)) {
+            spool.append(bytes("old-1"));
+            spool.append(bytes("old-2"));
+            List<OrderSpool.SpoolRecord> records = spool.read(10);
+            spool.commit(records.get(1), 2);
+
+            spool.append(bytes("new"));
+        }
+
+        try (OrderSpool spool = new OrderSpool(file, CAPACITY, true)) {
+            assertThat(spool.read(10)).extracting(record -> text(record.payload()))
+                    .containsExactly("new");
+        }
+    }
+
+    @Test
+    @DisplayName("용량을 넘으면 명확한 예외가 발생한다")
+    void full_spool_fails() throws Exception {
+        try (OrderSpool spool = new OrderSpool(dir.resolve("orders.spool"), 64, true)) {
+            spool.append(bytes("x".repeat(10)));
+
+            assertThatThrownBy(() -> spool.append(bytes("y".repeat(10))))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("가득");
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(byte[] value) {
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
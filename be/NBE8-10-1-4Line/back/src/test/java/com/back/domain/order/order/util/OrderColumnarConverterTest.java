@@ -0,0 +1,117 @@
+package com.back.domain.order.order.util;
+
+import com.back.domain.order.order.dto.OrderExportRowDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderColumnarConverterTest {
+
+    private static final LocalDateTime ORDER_TIME = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    // 주문 3건, 품목 5행 (주문시간은 이메일 순이라 앞뒤로 오간다)
+    private static final List<OrderExportRowDto> ROWS = List.of(
+            row(7L, "a@test.com", "서울시 \"본점\", 1층", "06234", "원두 A", ORDER_TIME.plusHours(3)),
+            row(7L, "a@test.com", "서울시 \"본점\", 1층", "06234", "원두 B", ORDER_TIME.plusHours(3)),
+            row(2L, "b@test.com", "부산시", null, "원두 A", ORDER_TIME),
+            row(9L, "c@test.com", " 앞뒤 공백 ", "13500", "원두 C", ORDER_TIME.plusMinutes(5)),
+            row(9L, "c@test.com", " 앞뒤 공백 ", "13500", "원두 A", ORDER_TIME.plusMinutes(5))
+    );
+
+    @TempDir
+    Path outputDir;
+
+    @Test
+    @DisplayName("블록 여러 개로 쓴 행을 그대로 읽고, 사전은 블록을 넘어 이어진다")
+    void writeBlock_readBlock_roundTrip() throws IOException {
+        // given
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        OrderColumnarWriter writer = new OrderColumnarWriter(bytes);
+        writer.writeHeader();
+        writer.writeBlock(ROWS.subList(0, 3));
+        int firstBlockEnd = bytes.size();
+        writer.writeBlock(ROWS.subList(3, 5));
+        writer.close();
+
+        // when
+        List<OrderExportRowDto> read = new ArrayList<>();
+        OrderColumnarReader reader = new OrderColumnarReader(new ByteArrayInputStream(bytes.toByteArray()));
+        for (OrderColumnarReader.Block block; (block = reader.readBlock()) != null; ) {
+            for (int i = 0; i < block.size(); i++) read.add(block.row(i));
+        }
+
+        // then
+        assertThat(read).containsExactlyElementsOf(ROWS);
+        assertThat(reader.dictionary(OrderColumnarFormat.PRODUCT_NAME)).containsExactly(null, "원두 A", "원두 B", "원두 C");
+
+        // 두 번째 블록은 이미 나온 "원두 A" 를 다시 쓰지 않는다
+        byte[] secondBlock = Arrays.copyOfRange(bytes.toByteArray(), firstBlockEnd, bytes.size());
+        assertThat(new String(secondBlock, StandardCharsets.UTF_8)).doesNotContain("원두 A").contains("원두 C");
+    }
+
+    @Test
+    @DisplayName("블록 본문이 손상되면 CRC32 검사에서 실패한다")
+    void readBlock_corrupted() throws IOException {
+        // given
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        OrderColumnarWriter writer = new OrderColumnarWriter(bytes);
+        writer.writeHeader();
+        writer.writeBlock(ROWS);
+
+        byte[] corrupted = bytes.toByteArray();
+        corrupted[corrupted.length - 1] ^= 0x01;
+
+        // when & then
+        OrderColumnarReader reader = new OrderColumnarReader(new ByteArrayInputStream(corrupted));
+        assertThatThrownBy(reader::readBlock)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("컬럼형 리포트 파일이 손상되었습니다.");
+    }
+
+    @Test
+    @DisplayName("리포트와 함께 쓴 컬럼형 파일은 재개 후에도 CSV 로 변환하면 CSV 리포트와 바이트 단위로 같다")
+    void toCsv_sameAsCsvReport() throws IOException {
+        // given: 첫 청크까지 커밋, 두 번째 청크는 커밋 전에 중단된 뒤 재개
+        OrderReportOptions options = new OrderReportOptions(OrderPartitionKey.NONE, 4, 2, false, false, 0, 0, true);
+        String reportBase = outputDir.resolve("report").toString();
+        List<OrderReportPart> checkpoint;
+
+        try (OrderReport report = new OrderReport(reportBase, List.of(), options)) {
+            checkpoint = report.write(ROWS.subList(0, 3));
+            report.write(ROWS.subList(3, 5));
+        }
+        try (OrderReport report = new OrderReport(reportBase, checkpoint, options)) {
+            report.write(ROWS.subList(3, 5));
+            assertThat(report.finish()).isEqualTo(3);
+        }
+
+        // when
+        Path converted = outputDir.resolve("converted.csv");
+        long rowCount = OrderColumnarConverter.toCsv(Path.of(reportBase + ".ocol"), converted);
+
+        // then
+        assertThat(rowCount).isEqualTo(5);
+        assertThat(Files.readAllBytes(converted)).isEqualTo(Files.readAllBytes(Path.of(reportBase + ".csv")));
+        assertThat(Files.readAllLines(Path.of(reportBase + "_manifest.csv")))
+                .anyMatch(line -> line.startsWith("columnar,0,report.ocol,3,5,"));
+    }
+
+    private static OrderExportRowDto row(Long orderId, String email, String address, String shippingCode,
+                                         String productName, LocalDateTime orderTime) {
+        return new OrderExportRowDto(orderId, email, address, shippingCode, productName, 2, 3000, 6000L, orderTime);
+    }
+}
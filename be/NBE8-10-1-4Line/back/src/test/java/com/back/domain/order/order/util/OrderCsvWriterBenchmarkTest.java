@@ -0,0 +1,153 @@
+package com.back.domain.order.order.util;
+
+import com.back.domain.order.order.dto.OrderExportRowDto;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 리포트 CSV 인코딩 비교
+ * - commons-csv: 기존 구현 (printRecord varargs + 행마다 DateTimeFormatter 생성)
+ * - OrderCsvWriter: 재사용 버퍼 + 숫자 / 시간 직접 인코딩
+ * 빌드에 JMH 플러그인이 없어 OrderBulkInsertBenchmarkTest 처럼 테스트로 측정하고 로그로 남긴다.
+ */
+@Slf4j
+class OrderCsvWriterBenchmarkTest {
+
+    private static final String[] HEADERS = {"No", "주문ID", "이메일", "주소", "우편번호", "상품명", "수량", "단가", "소계", "주문시간"};
+    private static final int ROW_COUNT = 200_000;
+
+    // 따옴표가 필요한 값 / 필요 없는 값이 섞이도록 구성
+    private static final List<OrderExportRowDto> EDGE_ROWS = List.of(
+            row(1L, "plain@test.com", "서울시 강남구", "12345", "원두 A", LocalDateTime.of(2024, 1, 2, 3, 4, 5)),
+            row(2L, "comma@test.com", "서울시, 마포구", "12345", "원두 \"B\"", LocalDateTime.of(2024, 12, 31, 23, 59, 59)),
+            row(3L, "line@test.com", "1층\r\n2층", "04524", " 앞 공백", LocalDateTime.of(2024, 6, 7, 0, 0, 0)),
+            row(4L, "#hash@test.com", "뒤 공백 ", "00000", "", LocalDateTime.of(999, 1, 1, 1, 1, 1)),
+            row(5L, "!mark@test.com", "\"따옴표\"", "-1234", "탭\t", LocalDateTime.of(2024, 2, 29, 12, 30, 0)),
+            row(6L, "$dollar@test.com", "주소\n", "12345", "상품,명", LocalDateTime.of(10000, 1, 1, 0, 0, 0))
+    );
+
+    @Test
+    @DisplayName("OrderCsvWriter 출력은 commons-csv 기존 구현과 바이트 단위로 같다")
+    void output_isByteIdentical() throws IOException {
+        assertThat(encode(EDGE_ROWS, this::writeOrderCsvWriter))
+                .isEqualTo(encode(EDGE_ROWS, this::writeCommonsCsv));
+    }
+
+    @Test
+    @DisplayName("OrderCsvWriter 는 commons-csv 보다 행당 할당이 적다")
+    void allocation_isLowerThanCommonsCsv() throws IOException {
+        // given
+        List<OrderExportRowDto> rows = IntStream.range(0, 1_000)
+                .mapToObj(i -> row((long) i, "user" + (i % 50) + "@test.com", "서울시 강남구 " + (i % 20), "12345",
+                        "원두 " + (i % 10), LocalDateTime.of(2024, 1, 1, 10, 0).plusSeconds(i)))
+                .toList();
+
+        // 워밍업
+        run(rows, this::writeCommonsCsv);
+        run(rows, this::writeOrderCsvWriter);
+
+        // when
+        Result commons = run(rows, this::writeCommonsCsv);
+        Result custom = run(rows, this::writeOrderCsvWriter);
+
+        log.info("리포트 CSV 인코딩 {}행 - commons-csv: {}ms / {}KB, OrderCsvWriter: {}ms / {}KB",
+                ROW_COUNT, commons.millis(), commons.allocatedBytes() / 1024, custom.millis(), custom.allocatedBytes() / 1024);
+
+        // then
+        assertThat(custom.allocatedBytes()).isLessThan(commons.allocatedBytes() / 2);
+    }
+
+    private Result run(List<OrderExportRowDto> rows, Encoder encoder) throws IOException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+
+        try (Writer writer = new OutputStreamWriter(OutputStream.nullOutputStream(), StandardCharsets.UTF_8)) {
+            encoder.encode(writer, rows, ROW_COUNT);
+        }
+
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        return new Result(millis, threads.getThreadAllocatedBytes(threadId) - allocatedBefore);
+    }
+
+    private byte[] encode(List<OrderExportRowDto> rows, Encoder encoder) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8)) {
+            encoder.encode(writer, rows, rows.size());
+        }
+        return out.toByteArray();
+    }
+
+    // 기존 OrderFileHandler 의 행 기록 방식
+    private void writeCommonsCsv(Writer writer, List<OrderExportRowDto> rows, int count) throws IOException {
+        CSVPrinter csvPrinter = new CSVPrinter(writer, CSVFormat.DEFAULT.builder().setHeader(HEADERS).build());
+        for (int i = 0; i < count; i++) {
+            OrderExportRowDto row = rows.get(i % rows.size());
+            csvPrinter.printRecord(
+                    i + 1,
+                    row.orderId(),
+                    row.email(),
+                    row.shippingAddress(),
+                    row.shippingCode(),
+                    row.productName(),
+                    row.quantity(),
+                    row.pricePerItem(),
+                    row.subTotal(),
+                    row.orderTime().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"))
+            );
+        }
+        csvPrinter.flush();
+    }
+
+    private void writeOrderCsvWriter(Writer writer, List<OrderExportRowDto> rows, int count) throws IOException {
+        OrderCsvWriter csvWriter = new OrderCsvWriter(writer);
+        csvWriter.writeHeader(HEADERS);
+        for (int i = 0; i < count; i++) {
+            OrderExportRowDto row = rows.get(i % rows.size());
+            csvWriter.field(i + 1)
+                    .field(row.orderId())
+                    .field(row.email())
+                    .field(row.shippingAddress())
+                    .field(row.shippingCode())
+                    .field(row.productName())
+                    .field(row.quantity())
+                    .field(row.pricePerItem())
+                    .field(row.subTotal())
+                    .field(row.orderTime())
+                    .endRecord();
+        }
+        csvWriter.flush();
+    }
+
+    private static OrderExportRowDto row(Long orderId, String email, String address, String shippingCode,
+                                         String productName, LocalDateTime orderTime) {
+        return new OrderExportRowDto(orderId, email, address, shippingCode, productName, 2, 3000, 6000L, orderTime);
+    }
+
+    @FunctionalInterface
+    private interface Encoder {
+        void encode(Writer writer, List<OrderExportRowDto> rows, int count) throws IOException;
+    }
+
+    private record Result(long millis, long allocatedBytes) {
+    }
+}
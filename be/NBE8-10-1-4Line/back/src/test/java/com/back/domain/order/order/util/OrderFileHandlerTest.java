@@ -0,0 +1,246 @@
+package com.back.domain.order.order.util;
+
+import com.back.domain.order.order.dto.OrderExportRowDto;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest(properties = {
+        "custom.order.batch.partition.key=SHIPPING_CODE_PREFIX",
+        "custom.order.batch.partition.prefix-length=2",
+        "custom.order.batch.partition.concat=true"
+})
+@ActiveProfiles("test")
+class OrderFileHandlerTest {
+
+    private static final LocalDateTime ORDER_TIME = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    // 주문 3건 (06xxx 2건, 13xxx 1건), 품목 5행
+    private static final List<OrderExportRowDto> ROWS = List.of(
+            row(1L, "a@test.com", "06234", "원두 A"),
+            row(1L, "a@test.com", "06234", "원두 B"),
+            row(2L, "b@test.com", "13500", "원두 A"),
+            row(3L, "c@test.com", "06111", "원두 C"),
+            row(3L, "c@test.com", "06111", "원두 A")
+    );
+
+    @TempDir
+    Path outputDir;
+
+    @Autowired
+    private OrderFileHandler orderFileHandler;
+
+    @Test
+    @DisplayName("우편번호 앞자리별로 파티션 파일을 만들고 manifest 의 행 수 / 체크섬이 파일과 일치한다")
+    void openReport_partitioned() throws Exception {
+        // given: 주문 3건 (06xxx 2건, 13xxx 1건), 품목 5행을 청크 2개로 나눠 기록
+        String reportBase = outputDir.resolve("partitioned").toString();
+
+        // when
+        int orderCount;
+        try (OrderReport report = orderFileHandler.openReport(reportBase, List.of())) {
+            report.write(ROWS.subList(0, 3));
+            report.write(ROWS.subList(3, 5));
+            orderCount = report.finish();
+        }
+
+        // then
+        assertThat(orderCount).isEqualTo(3);
+
+        Map<String, CSVRecord> entries = readManifest(reportBase);
+        assertThat(entries).containsOnlyKeys("zip06", "zip13", "merged");
+
+        assertThat(entries.get("zip06").get("orders")).isEqualTo("2");
+        assertThat(entries.get("zip06").get("rows")).isEqualTo("4");
+        assertThat(entries.get("zip13").get("rows")).isEqualTo("1");
+        assertThat(entries.get("merged").get("rows")).isEqualTo("5");
+
+        for (CSVRecord entry : entries.values()) {
+            Path file = outputDir.resolve(entry.get("file"));
+            assertThat(sha256(file)).isEqualTo(entry.get("sha256"));
+            assertThat(crc32(file)).isEqualTo(entry.get("crc32"));
+            assertThat(Files.size(file)).isEqualTo(Long.parseLong(entry.get("bytes")));
+            assertThat(readCsv(file)).hasSize(Integer.parseInt(entry.get("rows")));
+        }
+
+        // 같은 주문의 품목은 같은 파티션에 순서대로 들어간다
+        assertThat(readCsv(outputDir.resolve(entries.get("zip06").get("file"))))
+                .extracting(record -> record.get("주문ID"))
+                .containsExactly("1", "1", "3", "3");
+    }
+
+    @Test
+    @DisplayName("리포트 파일 목록에는 이름이 같은 접두사로 시작하는 이어 쓴 리포트(_resumedN)의 파일이 섞이지 않는다")
+    void reportFiles_excludesResumedReport() throws Exception {
+        // given: 원래 리포트와, 다른 노드에서 이어 쓴 리포트
+        String reportBase = outputDir.resolve("report").toString();
+        String resumedBase = reportBase + "_resumed1";
+        for (String base : List.of(reportBase, resumedBase)) {
+            try (OrderReport report = orderFileHandler.openReport(base, List.of())) {
+                report.write(ROWS);
+                report.finish();
+            }
+        }
+
+        // when
+        List<Path> files = orderFileHandler.reportFiles(reportBase);
+        List<Path> resumedFiles = orderFileHandler.reportFiles(resumedBase);
+
+        // then
+        assertThat(files).isNotEmpty()
+                .allMatch(file -> !file.getFileName().toString().contains("_resumed"))
+                .contains(Path.of(reportBase + "_manifest.csv").toAbsolutePath());
+        assertThat(resumedFiles).hasSameSizeAs(files)
+                .allMatch(file -> file.getFileName().toString().startsWith("report_resumed1"));
+    }
+
+    @Test
+    @DisplayName("체크포인트로 다시 열면 그 뒤에 기록된 내용은 잘리고 이어서 쓴 결과는 한 번에 쓴 것과 같다")
+    void openReport_resumeFromCheckpoint() throws Exception {
+        // given: 첫 청크는 체크포인트까지 커밋, 두 번째 청크는 기록 후 커밋 전에 중단된 상황
+        String reportBase = outputDir.resolve("resumed").toString();
+        List<OrderReportPart> checkpoint;
+
+        try (OrderReport report = orderFileHandler.openReport(reportBase, List.of())) {
+            checkpoint = report.write(ROWS.subList(0, 3));
+            report.write(ROWS.subList(3, 5));
+        }
+
+        // when: 체크포인트부터 재개해서 두 번째 청크를 다시 기록
+        try (OrderReport report = orderFileHandler.openReport(reportBase, checkpoint)) {
+            report.write(ROWS.subList(3, 5));
+            assertThat(report.finish()).isEqualTo(3);
+        }
+
+        // then: 중복 없이 한 번에 쓴 결과와 같다
+        String onceBase = outputDir.resolve("once").toString();
+        try (OrderReport report = orderFileHandler.openReport(onceBase, List.of())) {
+            report.write(ROWS);
+            report.finish();
+        }
+
+        Map<String, CSVRecord> resumed = readManifest(reportBase);
+        Map<String, CSVRecord> once = readManifest(onceBase);
+        for (String partition : once.keySet()) {
+            assertThat(resumed.get(partition).get("sha256")).isEqualTo(once.get(partition).get("sha256"));
+        }
+        assertThat(readCsv(outputDir.resolve(resumed.get("merged").get("file"))))
+                .extracting(record -> record.get("상품명"))
+                .hasSize(5);
+    }
+
+    @Test
+    @DisplayName("gzip 으로 압축하고 행 수 기준으로 주문 경계에서 파일을 회전한다, 재개해도 결과가 같다")
+    void openReport_gzipRotation() throws Exception {
+        // given: 파일당 2행, 청크 2개 (체크포인트 후 두 번째 청크를 쓰다 중단된 뒤 재개)
+        OrderReportOptions options = new OrderReportOptions(OrderPartitionKey.NONE, 4, 2, true, true, 2, 0, false);
+        String reportBase = outputDir.resolve("rotated").toString();
+        List<OrderReportPart> checkpoint;
+
+        try (OrderReport report = new OrderReport(reportBase, List.of(), options)) {
+            checkpoint = report.write(ROWS.subList(0, 3));
+            report.write(ROWS.subList(3, 5));
+        }
+
+        // when
+        try (OrderReport report = new OrderReport(reportBase, checkpoint, options)) {
+            report.write(ROWS.subList(3, 5));
+            assertThat(report.finish()).isEqualTo(3);
+        }
+
+        // then: 주문 1 (2행) 뒤에서 회전, 주문 2 / 3 은 한 파일 (회전은 주문이 바뀔 때만)
+        List<CSVRecord> manifest = readCsv(Path.of(reportBase + "_manifest.csv"));
+        assertThat(manifest)
+                .extracting(entry -> entry.get("file"), entry -> entry.get("rows"))
+                .containsExactly(
+                        tuple("rotated_part001.csv.gz", "2"),
+                        tuple("rotated_part002.csv.gz", "3"),
+                        tuple("rotated.csv.gz", "5")
+                );
+
+        for (CSVRecord entry : manifest) {
+            Path file = outputDir.resolve(entry.get("file"));
+            assertThat(sha256(file)).isEqualTo(entry.get("sha256"));
+            assertThat(crc32(file)).isEqualTo(entry.get("crc32"));
+            assertThat(Files.size(file)).isEqualTo(Long.parseLong(entry.get("bytes")));
+        }
+
+        // 청크마다 끝낸 gzip 멤버가 이어진 파일도 한 번에 풀리고, No 는 파일이 바뀌어도 이어진다
+        assertThat(readGzipCsv(outputDir.resolve("rotated_part002.csv.gz")))
+                .extracting(record -> record.get("No"))
+                .containsExactly("3", "4", "5");
+        assertThat(readGzipCsv(outputDir.resolve("rotated.csv.gz")))
+                .extracting(record -> record.get("주문ID"))
+                .containsExactly("1", "1", "2", "3", "3");
+    }
+
+    private static OrderExportRowDto row(Long orderId, String email, String shippingCode, String productName) {
+        return new OrderExportRowDto(orderId, email, "서울시", shippingCode, productName, 2, 3000, 6000L, ORDER_TIME);
+    }
+
+    private Map<String, CSVRecord> readManifest(String reportBase) throws IOException {
+        return readCsv(Path.of(reportBase + "_manifest.csv")).stream()
+                .collect(Collectors.toMap(record -> record.get("partition"), Function.identity()));
+    }
+
+    private List<CSVRecord> readCsv(Path file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return parseCsv(reader);
+        }
+    }
+
+    private List<CSVRecord> readGzipCsv(Path file) throws IOException {
+        try (Reader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            return parseCsv(reader);
+        }
+    }
+
+    private List<CSVRecord> parseCsv(Reader reader) throws IOException {
+        // 리포트 파일은 UTF-8 BOM 으로 시작
+        reader.mark(1);
+        if (reader.read() != '\uFEFF') reader.reset();
+
+        return CSVFormat.DEFAULT.builder()
+                .setHeader()
+                .setSkipHeaderRecord(true)
+                .build()
+                .parse(reader)
+                .getRecords();
+    }
+
+    private String crc32(Path file) throws IOException {
+        CRC32 crc32 = new CRC32();
+        crc32.update(Files.readAllBytes(file));
+        return String.format("%08x", crc32.getValue());
+    }
+
+    private String sha256(Path file) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(file)));
+    }
+}
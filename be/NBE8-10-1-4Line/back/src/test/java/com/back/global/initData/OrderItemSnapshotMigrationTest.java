@@ -0,0 +1,75 @@
+package com.back.global.initData;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 스냅숏 컬럼이 생기기 전의 스키마를 직접 만들어야 하므로 스프링 컨텍스트 없이 별도 H2 DB 에서 실행한다
+class OrderItemSnapshotMigrationTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private OrderItemSnapshotMigration migration;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:snapshot_migration;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", ""));
+        migration = new OrderItemSnapshotMigration(jdbcTemplate);
+
+        jdbcTemplate.execute("CREATE TABLE product (id BIGINT PRIMARY KEY, name VARCHAR(100) NOT NULL, price INT NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE order_item (id BIGINT PRIMARY KEY, product_id BIGINT NOT NULL, quantity INT NOT NULL)");
+        jdbcTemplate.update("INSERT INTO product VALUES (1, '커피', 5000), (2, '케이크', 6000)");
+        jdbcTemplate.update("INSERT INTO order_item VALUES (1, 1, 2), (2, 2, 1), (20001, 1, 3)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    @DisplayName("스냅숏 컬럼이 없는 기존 품목은 상품 값으로 채운 뒤 NOT NULL 로 바뀐다")
+    void migrate_addsAndBackfillsColumns() {
+        // when
+        migration.migrate();
+
+        // then: id 범위가 여러 개여도 모두 채워진다
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT id, unit_price, product_name FROM order_item ORDER BY id");
+        assertThat(rows).extracting(row -> row.get("UNIT_PRICE")).containsExactly(5000, 6000, 5000);
+        assertThat(rows).extracting(row -> row.get("PRODUCT_NAME")).containsExactly("커피", "케이크", "커피");
+
+        assertThatThrownBy(() -> jdbcTemplate.update("INSERT INTO order_item (id, product_id, quantity) VALUES (3, 1, 1)"))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    @DisplayName("이미 저장된 주문 시점 값은 그대로 두고 비어 있는 행만 채운다")
+    void migrate_keepsExistingSnapshot() {
+        // given: 컬럼은 nullable 로 추가됐고 일부 행만 주문 시점 값이 있음
+        jdbcTemplate.execute("ALTER TABLE order_item ADD COLUMN unit_price INT NULL");
+        jdbcTemplate.execute("ALTER TABLE order_item ADD COLUMN product_name VARCHAR(100) NULL");
+        jdbcTemplate.update("UPDATE order_item SET unit_price = 4500, product_name = '옛 커피' WHERE id = 1");
+
+        // when
+        migration.migrate();
+        migration.migrate();
+
+        // then
+        assertThat(jdbcTemplate.queryForMap("SELECT unit_price, product_name FROM order_item WHERE id = 1"))
+                .containsEntry("UNIT_PRICE", 4500)
+                .containsEntry("PRODUCT_NAME", "옛 커피");
+        assertThat(jdbcTemplate.queryForObject("SELECT unit_price FROM order_item WHERE id = 2", Integer.class))
+                .isEqualTo(6000);
+    }
+}
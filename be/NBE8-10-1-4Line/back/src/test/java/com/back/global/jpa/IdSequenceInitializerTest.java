@@ -0,0 +1,50 @@
+package com.back.global.jpa;
+
+import com.back.global.jpa.entity.BaseEntity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class IdSequenceInitializerTest {
+
+    @Autowired
+    private IdSequenceInitializer idSequenceInitializer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("기존 행의 max(id) 가 id_sequence 보다 크면 시작 시 next_val 을 그 위로 올린다")
+    void afterSingletonsInstantiated_raisesAboveMaxId() {
+        long legacyId = 1_000_000L;
+        jdbcTemplate.update("INSERT INTO product (id, name, price, description, created_at, updated_at)"
+                + " VALUES (?, '기존 상품', 1000, NULL, NOW(), NOW())", legacyId);
+
+        idSequenceInitializer.afterSingletonsInstantiated();
+
+        // pooled 옵티마이저가 나눠주는 구간의 시작 (next_val - ALLOCATION_SIZE + 1) 이 기존 id 보다 커야 한다
+        Long nextVal = jdbcTemplate.queryForObject("SELECT MAX(next_val) FROM id_sequence", Long.class);
+        assertThat(nextVal - BaseEntity.ALLOCATION_SIZE + 1).isGreaterThan(legacyId);
+    }
+
+    @Test
+    @DisplayName("이미 max(id) 위에 있는 next_val 은 낮추지 않는다")
+    void afterSingletonsInstantiated_neverLowers() {
+        idSequenceInitializer.afterSingletonsInstantiated();
+        Long before = jdbcTemplate.queryForObject("SELECT MAX(next_val) FROM id_sequence", Long.class);
+
+        idSequenceInitializer.afterSingletonsInstantiated();
+        Long after = jdbcTemplate.queryForObject("SELECT MAX(next_val) FROM id_sequence", Long.class);
+
+        assertThat(after).isEqualTo(before);
+    }
+}
@@ -0,0 +1,72 @@
+package com.back.global.jpa;
+
+import java.util.Locale;
+
+/**
+ * 테스트에서 실행된 SQL 개수를 세기 위한 StatementInspector
+ * spring.jpa.properties.hibernate.session_factory.statement_inspector 로 등록해서 사용
+ * (비동기 스레드의 쿼리가 섞이지 않도록 스레드별로 센다)
+ * 배치 단계 계측이 계속 동작하도록 QueryCountInspector 를 상속한다.
+ */
+public class SqlStatementCounter extends QueryCountInspector {
+
+    private static final ThreadLocal<Counts> COUNTS = ThreadLocal.withInitial(Counts::new);
+
+    public static final String PROPERTY =
+            "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.back.global.jpa.SqlStatementCounter";
+
+    @Override
+    public String inspect(String sql) {
+        super.inspect(sql);
+        Counts counts = COUNTS.get();
+        String trimmed = sql.stripLeading();
+
+        // use_sql_comments 로 붙는 /* ... */ 주석은 건너뛴다
+        if (trimmed.startsWith("/*")) {
+            int end = trimmed.indexOf("*/");
+            trimmed = end < 0 ? trimmed : trimmed.substring(end + 2).stripLeading();
+        }
+
+        String lower = trimmed.toLowerCase(Locale.ROOT);
+        if (lower.startsWith("select")) counts.select++;
+        else if (lower.startsWith("insert")) counts.insert++;
+        else if (lower.startsWith("update")) counts.update++;
+        else if (lower.startsWith("delete")) counts.delete++;
+        else counts.other++;
+
+        return sql;
+    }
+
+    public static void clear() {
+        COUNTS.remove();
+    }
+
+    public static int selectCount() {
+        return COUNTS.get().select;
+    }
+
+    public static int insertCount() {
+        return COUNTS.get().insert;
+    }
+
+    public static int updateCount() {
+        return COUNTS.get().update;
+    }
+
+    public static int deleteCount() {
+        return COUNTS.get().delete;
+    }
+
+    public static int totalCount() {
+        Counts counts = COUNTS.get();
+        return counts.select + counts.insert + counts.update + counts.delete + counts.other;
+    }
+
+    private static class Counts {
+        int select;
+        int insert;
+        int update;
+        int delete;
+        int other;
+    }
+}
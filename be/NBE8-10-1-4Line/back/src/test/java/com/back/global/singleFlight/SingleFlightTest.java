@@ -0,0 +1,133 @@
+package com.back.global.singleFlight;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight<String, Integer> singleFlight = new SingleFlight<>("test", meterRegistry);
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Test
+    @DisplayName("같은 키의 동시 호출은 조회 한 번의 결과를 함께 받는다")
+    void run_sharesOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<Integer> leader = executor.submit(() -> singleFlight.run("key", () -> {
+            loads.incrementAndGet();
+            await(release);
+            return 42;
+        }));
+        awaitInFlight(1);
+
+        List<Future<Integer>> followers = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            followers.add(executor.submit(() -> singleFlight.run("key", () -> {
+                loads.incrementAndGet();
+                return -1;
+            })));
+        }
+        awaitFollowers(10);
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo(42);
+        for (Future<Integer> follower : followers) {
+            assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo(42);
+        }
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(singleFlight.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("조회 예외는 기다리던 호출 모두에 전달되고, 다음 호출은 새로 조회한다")
+    void run_sharesErrorThenRetries() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<Integer> leader = executor.submit(() -> singleFlight.run("key", () -> {
+            await(release);
+            throw new IllegalStateException("DB 오류");
+        }));
+        awaitInFlight(1);
+        Future<Integer> follower = executor.submit(() -> singleFlight.run("key", () -> -1));
+        awaitFollowers(1);
+        release.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasRootCauseMessage("DB 오류");
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasRootCauseMessage("DB 오류");
+        assertThat(singleFlight.run("key", () -> 7)).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("leader 가 중단되면 follower 는 실패를 물려받지 않고 다시 조회한다")
+    void run_leaderInterrupted_followerRetries() throws Exception {
+        Future<Integer> leader = executor.submit(() -> singleFlight.run("key", () -> {
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("중단됨", e);
+            }
+            return -1;
+        }));
+        awaitInFlight(1);
+        Future<Integer> follower = executor.submit(() -> singleFlight.run("key", () -> 7));
+        awaitFollowers(1);
+
+        leader.cancel(true);
+
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("forget 이후 호출은 진행 중인 조회에 붙지 않고 새로 조회한다")
+    void forget_startsNewFlight() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<Integer> leader = executor.submit(() -> singleFlight.run("key", () -> {
+            await(release);
+            return 1;
+        }));
+        awaitInFlight(1);
+
+        singleFlight.forget("key");
+        assertThat(singleFlight.run("key", () -> 2)).isEqualTo(2);
+
+        release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+    }
+
+    private void awaitInFlight(int count) throws InterruptedException {
+        for (int i = 0; i < 500 && singleFlight.inFlight() < count; i++) Thread.sleep(10);
+        assertThat(singleFlight.inFlight()).isEqualTo(count);
+    }
+
+    private void awaitFollowers(int count) throws InterruptedException {
+        for (int i = 0; i < 500 && followers() < count; i++) Thread.sleep(10);
+        assertThat(followers()).isEqualTo(count);
+    }
+
+    private double followers() {
+        return meterRegistry.get("single.flight.calls").tag("role", "follower").counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
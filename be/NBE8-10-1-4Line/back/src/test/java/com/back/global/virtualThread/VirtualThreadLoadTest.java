@@ -0,0 +1,136 @@
+package com.back.global.virtualThread;
+
+import com.back.BackApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 가상 스레드 on/off 부하 비교 (처리량, p99 지연)
+ * 오래 걸리므로 기본 실행에서는 제외: ./gradlew test --tests '*VirtualThreadLoadTest' -DloadTest=true
+ * 동시 클라이언트 수 / 클라이언트당 요청 수는 -DloadTest.concurrency, -DloadTest.requests 로 조절
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "loadTest", matches = "true")
+class VirtualThreadLoadTest {
+    private static final int CONCURRENCY = Integer.getInteger("loadTest.concurrency", 400);
+    private static final int REQUESTS_PER_CLIENT = Integer.getInteger("loadTest.requests", 50);
+    private static final int WARM_UP_REQUESTS = 5;
+
+    private static final List<String> PATHS = List.of(
+            "/api/products",
+            "/api/orders/summary?email=test1@example.com"
+    );
+
+    @Test
+    @DisplayName("가상 스레드 사용 여부에 따른 처리량과 p99 지연 비교")
+    void compare_platform_and_virtual_threads() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        log.info("플랫폼 스레드: {}", platform);
+        log.info("가상 스레드  : {}", virtual);
+
+        assertThat(platform.errors()).isZero();
+        assertThat(virtual.errors()).isZero();
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        String profiles = virtualThreads ? "test,virtual" : "test";
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BackApplication.class).run(
+                "--spring.profiles.active=" + profiles,
+                "--server.port=0",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.org.hibernate.orm.jdbc.bind=INFO",
+                "--logging.level.org.hibernate.orm.jdbc.extract=INFO",
+                "--logging.level.org.springframework.transaction.interceptor=INFO"
+        )) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String baseUrl = "http://localhost:" + port;
+
+            fire(baseUrl, WARM_UP_REQUESTS);
+            return fire(baseUrl, REQUESTS_PER_CLIENT);
+        }
+    }
+
+    private Result fire(String baseUrl, int requestsPerClient) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        List<Future<long[]>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CONCURRENCY; c++) {
+                int clientNo = c;
+                futures.add(executor.submit(() -> {
+                    // [0..n) 지연(ns), 음수면 실패
+                    long[] latencies = new long[requestsPerClient];
+                    for (int i = 0; i < requestsPerClient; i++) {
+                        String path = PATHS.get((clientNo + i) % PATHS.size());
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+
+                        long requestStart = System.nanoTime();
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        long elapsed = System.nanoTime() - requestStart;
+
+                        latencies[i] = response.statusCode() == 200 ? elapsed : -1;
+                    }
+                    return latencies;
+                }));
+            }
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+
+        List<Long> succeeded = new ArrayList<>();
+        int errors = 0;
+        for (Future<long[]> future : futures) {
+            for (long latency : future.get()) {
+                if (latency < 0) errors++;
+                else succeeded.add(latency);
+            }
+        }
+
+        long[] sorted = succeeded.stream().mapToLong(Long::longValue).sorted().toArray();
+        long p50 = percentile(sorted, 0.50);
+        long p99 = percentile(sorted, 0.99);
+        double throughput = (sorted.length + errors) / (elapsedNanos / 1_000_000_000.0);
+
+        return new Result(sorted.length + errors, errors, throughput, p50 / 1_000_000.0, p99 / 1_000_000.0,
+                Arrays.stream(sorted).max().orElse(0) / 1_000_000.0);
+    }
+
+    private long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private record Result(int requests, int errors, double throughputPerSec, double p50Ms, double p99Ms, double maxMs) {
+        @Override
+        public String toString() {
+            return "요청 %d건 (실패 %d건), 처리량 %.1f req/s, p50 %.1fms, p99 %.1fms, max %.1fms"
+                    .formatted(requests, errors, throughputPerSec, p50Ms, p99Ms, maxMs);
+        }
+    }
+}
@@ -10,13 +10,6 @@ import { apiGet, apiPut } from "@/lib/api";
 
 const s = { ...orderCreateStyles, ...ordersEditStyles } as const;
 
-type Summary = {
-  productId: number;
-  productName: string;
-  totalQuantity: number;
-  totalAmount: number;
-};
-
 type OrderStatus =
   | "ORDERED"
   | "PAID"
@@ -25,15 +18,22 @@ type OrderStatus =
   | "DELIVERED"
   | "CANCELED";
 
-type Detail = {
-  orderId: number;
+type OrderItem = {
+  productId: number;
+  productName: string;
+  quantity: number;
+  pricePerItem: number;
+  subTotal: number;
+};
+
+type Order = {
+  id: number;
   orderTime: string;
   orderStatus: OrderStatus;
+  totalAmount: number;
   shippingAddress: string;
   shippingCode: string;
-  quantity: number;
-  pricePerItem: number;
-  subTotal: number;
+  orderItems: OrderItem[];
 };
 
 type EditItem = {
@@ -87,61 +87,34 @@ export default function OrderEditPage() {
         }
         setEmail(savedEmail);
 
-        // 1) summaries 로드
-        const sumRes = await apiGet<Summary[]>(
-          `${API_BASE}/api/orders/summary?email=${encodeURIComponent(savedEmail)}`
-        );
-        const summaries = sumRes.data ?? [];
-
-        if (summaries.length === 0) {
-          setPageError("주문 내역이 없습니다.");
-          return;
-        }
-
-        // 2) 각 productId detail 로드 후 orderId 매칭
-        const detailResults = await Promise.all(
-          summaries.map(async (s) => {
-            const dRes = await apiGet<Detail[]>(
-              `${API_BASE}/api/orders/summary/${s.productId}?email=${encodeURIComponent(savedEmail)}`
-            );
-            return { productId: s.productId, details: dRes.data ?? [] };
-          })
-        );
-
-        const productNameById = new Map<number, string>(
-          summaries.map((x) => [x.productId, x.productName])
+        // 주문 id 로 바로 조회 (상품별 상세 페이지를 훑으면 최근 몇 건만 보인다)
+        const res = await apiGet<Order>(
+          `${API_BASE}/api/orders/${orderId}?email=${encodeURIComponent(savedEmail)}`
         );
+        const order = res.data;
 
-        const matchedRows: { productId: number; d: Detail }[] = [];
-        for (const r of detailResults) {
-          for (const d of r.details) {
-            if (Number(d.orderId) === orderId) matchedRows.push({ productId: r.productId, d });
-          }
-        }
-
-        if (matchedRows.length === 0) {
+        if (!order) {
           setPageError("해당 주문을 찾을 수 없습니다. 주문 내역에서 다시 진입해주세요.");
           return;
         }
 
-        // 3) items 구성
-        const nextItems: EditItem[] = matchedRows.map(({ productId, d }) => ({
-          productId,
-          productName: productNameById.get(productId) ?? `상품 #${productId}`,
-          quantity: Number(d.quantity),
-          pricePerItem: Number(d.pricePerItem),
-          subTotal: Number(d.subTotal),
+        // items 구성
+        const nextItems: EditItem[] = (order.orderItems ?? []).map((x) => ({
+          productId: x.productId,
+          productName: x.productName ?? `상품 #${x.productId}`,
+          quantity: Number(x.quantity),
+          pricePerItem: Number(x.pricePerItem),
+          subTotal: Number(x.subTotal),
         }));
 
         setItems(nextItems);
 
-        // 4) 배송 정보
-        const first = matchedRows[0].d;
-        setShippingAddress(first.shippingAddress ?? "");
-        setShippingCode(first.shippingCode ?? "");
+        // 배송 정보
+        setShippingAddress(order.shippingAddress ?? "");
+        setShippingCode(order.shippingCode ?? "");
 
-        // 5) 총 금액
-        setTotalAmount(nextItems.reduce((acc, x) => acc + Number(x.subTotal), 0));
+        // 총 금액
+        setTotalAmount(Number(order.totalAmount));
       } catch (e: any) {
         setPageError(e?.message ?? "주문 정보를 불러오지 못했습니다.");
       } finally {
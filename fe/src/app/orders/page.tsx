@@ -39,6 +39,12 @@ type Detail = {
   subTotal: number;
 };
 
+// 상세는 최근 주문부터 페이지 단위 (nextCursor 가 null 이면 마지막 페이지)
+type DetailPage = {
+  items: Detail[];
+  nextCursor: string | null;
+};
+
 type RsData<T> = {
   resultCode: string;
   msg: string;
@@ -136,6 +142,9 @@ export default function OrdersPage() {
   const [detailErrorByProductId, setDetailErrorByProductId] =
     useState<Record<number, string | null>>({});
 
+  const [nextCursorByProductId, setNextCursorByProductId] =
+    useState<Record<number, string | null>>({});
+
   /* =======================
      요약 재조회 함수
   ======================= */
@@ -147,19 +156,25 @@ export default function OrdersPage() {
   };
 
   /* =======================
-     상세 조회 함수
+     상세 조회 함수 (cursor 가 있으면 다음 페이지를 이어 붙임)
   ======================= */
-  const fetchDetails = async (productId: number, targetEmail: string) => {
+  const fetchDetails = async (productId: number, targetEmail: string, cursor?: string) => {
     setDetailLoadingByProductId((p) => ({ ...p, [productId]: true }));
     setDetailErrorByProductId((p) => ({ ...p, [productId]: null }));
 
     try {
-      const res = await apiGet<Detail[]>(
+      const cursorParam = cursor ? `&cursor=${encodeURIComponent(cursor)}` : "";
+      const res = await apiGet<DetailPage>(
         `${API_BASE}/api/orders/summary/${productId}?email=${encodeURIComponent(
           targetEmail
-        )}`
+        )}${cursorParam}`
       );
-      setDetailsByProductId((p) => ({ ...p, [productId]: res.data ?? [] }));
+      const items = res.data?.items ?? [];
+      setDetailsByProductId((p) => ({
+        ...p,
+        [productId]: cursor ? [...(p[productId] ?? []), ...items] : items,
+      }));
+      setNextCursorByProductId((p) => ({ ...p, [productId]: res.data?.nextCursor ?? null }));
     } catch (e: any) {
       setDetailErrorByProductId((p) => ({
         ...p,
@@ -206,6 +221,7 @@ export default function OrdersPage() {
       setDetailsByProductId({});
       setDetailErrorByProductId({});
       setDetailLoadingByProductId({});
+      setNextCursorByProductId({});
       setOpenProductId(null);
 
       if (!email) return;
@@ -371,6 +387,7 @@ export default function OrdersPage() {
               const isOpen = openProductId === item.productId;
               const isDetailLoading = !!detailLoadingByProductId[item.productId];
               const detailErr = detailErrorByProductId[item.productId];
+              const nextCursor = nextCursorByProductId[item.productId];
 
               return (
                 <div key={item.productId} className={s.stack2}>
@@ -403,7 +420,7 @@ export default function OrdersPage() {
                         <div>관리</div>
                       </div>
 
-                      {isDetailLoading && (
+                      {isDetailLoading && details.length === 0 && (
                         <div className={s.detailEmpty}>상세 불러오는 중...</div>
                       )}
 
@@ -417,8 +434,7 @@ export default function OrdersPage() {
                         <div className={s.detailEmpty}>상세 내역이 없습니다.</div>
                       )}
 
-                      {!isDetailLoading &&
-                        !detailErr &&
+                      {!detailErr &&
                         details.map((d) => (
                           <div
                             key={`${d.orderId}-${d.orderTime}`}
@@ -461,6 +477,18 @@ export default function OrdersPage() {
                             </div>
                           </div>
                         ))}
+
+                      {!detailErr && nextCursor && (
+                        <div className={s.detailEmpty}>
+                          <button
+                            className={s.btnEdit}
+                            disabled={isDetailLoading}
+                            onClick={() => fetchDetails(item.productId, email, nextCursor)}
+                          >
+                            {isDetailLoading ? "불러오는 중..." : "이전 주문 더 보기"}
+                          </button>
+                        </div>
+                      )}
                     </div>
                   )}
                 </div>